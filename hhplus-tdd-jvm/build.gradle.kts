@@ -5,6 +5,7 @@ plugins {
     alias(libs.plugins.kotlin.spring)
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -22,8 +23,14 @@ dependencies {
     implementation("org.jetbrains.kotlin:kotlin-reflect")
     implementation("org.jetbrains.kotlin:kotlin-stdlib-jdk8")
     implementation(libs.spring.boot.starter.web)
+    // reactive API(Mono/Flux) 용, 기본은 서블릿(Tomcat) 서버로 기동되고 reactive 프로필에서만 WebFlux(Netty) 서버로 기동된다.
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.micrometer.registry.prometheus)
+    implementation(libs.caffeine)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.hdrhistogram)
 }
 
 // about source and compilation
@@ -52,11 +59,44 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+// 성능 측정 테스트는 기본 test 태스크에서 제외하고 별도 태스크로 실행
+tasks.register<Test>("benchmark") {
+    group = "verification"
+    description = "Runs tests tagged as benchmark."
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+    outputs.upToDateWhen { false }
 }
 
 // Java 소스 디렉토리 추가
 sourceSets {
     getByName("main").java.srcDirs("src/main/kotlin", "src/main/java")
     getByName("test").java.srcDirs("src/test/kotlin", "src/test/java")
+    getByName("jmh").java.srcDirs("src/jmh/kotlin", "src/jmh/java")
+}
+
+// JMH 벤치마크, 결과는 회귀 추적을 위해 JSON 으로 저장
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    // 벤치마크에서 테스트 소스의 키 분포 생성기를 사용
+    includeTests.set(true)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    warmupIterations.set(2)
+    warmup.set("2s")
+    iterations.set(3)
+    timeOnIteration.set("2s")
+    fork.set(1)
+    // 연산당 할당량(gc.alloc.rate.norm) 비교를 위해 gc 프로파일러를 항상 사용
+    profilers.set(listOf("gc"))
 }
\ No newline at end of file
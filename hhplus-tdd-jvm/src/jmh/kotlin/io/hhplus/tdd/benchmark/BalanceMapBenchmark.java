@@ -0,0 +1,91 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.LongBalanceMap;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔고 저장소 벤치마크.
+ * 기존 ConcurrentHashMap<Long, UserPoint> 와 LongBalanceMap 의 조회/저장 처리량을 유저 수를 바꿔가며 비교한다.
+ * 할당량은 gc 프로파일러(gc.alloc.rate.norm, 연산당 byte)로 함께 출력된다.
+ * UserPointTable 의 sleep 호출을 제외하기 위해 저장소를 직접 측정한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public abstract class BalanceMapBenchmark {
+
+    public enum Implementation {
+        CONCURRENT_HASH_MAP, LONG_BALANCE_MAP
+    }
+
+    @Param({"10000000", "30000000"})
+    public int userCount;
+
+    @Param({"CONCURRENT_HASH_MAP", "LONG_BALANCE_MAP"})
+    public Implementation implementation;
+
+    private ConcurrentHashMap<Long, UserPoint> concurrentHashMap;
+    private LongBalanceMap longBalanceMap;
+
+    // 크기 확장까지 포함한 실제 사용과 같도록 초기 용량 없이 채운다.
+    @Setup(Level.Trial)
+    public void setUp() {
+        concurrentHashMap = null;
+        longBalanceMap = null;
+        if (implementation == Implementation.CONCURRENT_HASH_MAP) {
+            concurrentHashMap = new ConcurrentHashMap<>();
+            for (long userId=0; userId<userCount; userId++) {
+                concurrentHashMap.put(userId, new UserPoint(userId, userId, 0L));
+            }
+        } else {
+            longBalanceMap = new LongBalanceMap();
+            for (long userId=0; userId<userCount; userId++) {
+                longBalanceMap.put(userId, userId, 0L);
+            }
+        }
+    }
+
+    @Benchmark
+    public UserPoint get() {
+        long userId = ThreadLocalRandom.current().nextLong(userCount);
+        return implementation == Implementation.CONCURRENT_HASH_MAP ? concurrentHashMap.get(userId) : longBalanceMap.get(userId);
+    }
+
+    // UserPointTable.insertOrUpdate 와 같이 저장 후 반환할 UserPoint 를 만든다.
+    @Benchmark
+    public UserPoint put() {
+        long userId = ThreadLocalRandom.current().nextLong(userCount);
+        long updateMillis = System.currentTimeMillis();
+        if (implementation == Implementation.CONCURRENT_HASH_MAP) {
+            UserPoint userPoint = new UserPoint(userId, userId, updateMillis);
+            concurrentHashMap.put(userId, userPoint);
+            return userPoint;
+        }
+        longBalanceMap.put(userId, userId, updateMillis);
+        return new UserPoint(userId, userId, updateMillis);
+    }
+
+    @Threads(1)
+    public static class OneThread extends BalanceMapBenchmark {
+    }
+
+    @Threads(8)
+    public static class EightThreads extends BalanceMapBenchmark {
+    }
+}
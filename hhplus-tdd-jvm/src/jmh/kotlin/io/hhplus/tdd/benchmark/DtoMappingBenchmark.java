@@ -0,0 +1,64 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 도메인 객체에서 응답 DTO 로의 변환 벤치마크.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class DtoMappingBenchmark {
+
+    @Param({"20", "100"})
+    public int historySize;
+
+    private UserPoint userPoint;
+    private PointHistory pointHistory;
+    private List<PointHistory> pointHistories;
+
+    @Setup
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        userPoint = new UserPoint(1L, 10_000L, now);
+        pointHistory = new PointHistory(1L, 1L, TransactionType.CHARGE, 10_000L, now);
+        pointHistories = new ArrayList<>(historySize);
+        for (long id=1; id<=historySize; id++) {
+            pointHistories.add(new PointHistory(id, 1L, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id * 100L, now));
+        }
+    }
+
+    @Benchmark
+    public UserPointDto userPointDto() {
+        return new UserPointDto(userPoint);
+    }
+
+    @Benchmark
+    public PointHistoryDto pointHistoryDto() {
+        return new PointHistoryDto(pointHistory);
+    }
+
+    @Benchmark
+    public List<PointHistoryDto> pointHistoryDtoList() {
+        return pointHistories.stream()
+                .map(PointHistoryDto::new)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.CasPointEngine;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.engine.PointEngine;
+import io.hhplus.tdd.engine.ShardedPointEngine;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 락 엔진, CAS 엔진, 샤드 엔진의 처리량 벤치마크.
+ * mixed 는 keys 명의 유저에 조회 70%, 충전 15%, 사용 15% 비율로, write 는 충전/사용만 반반으로 요청한다.
+ * keys 가 작으면 소수의 hot key 에 요청이 몰린다.
+ * 샤드 수에 따른 처리량은 -p engine=SHARDED -p keys=100000 -p shardCount=1,2,4,8,16 으로 write 를 측정한다.
+ * 모든 코어 수만큼의 쓰레드가 같은 엔진에 요청하며, 내역이 계속 쌓이지 않도록 iteration 마다 엔진을 새로 만든다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class PointEngineBenchmark {
+
+    @Param({"LOCK", "CAS", "SHARDED"})
+    public String engine;
+
+    @Param({"1", "16", "256", "100000"})
+    public long keys;
+
+    // 샤드 엔진의 샤드 수, 0 이면 CPU 코어 수
+    @Param({"0"})
+    public int shardCount;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private UserPointTable userPointTable;
+    private PointHistoryWriter pointHistoryWriter;
+    private ShardedPointEngine shardedPointEngine;
+    private PointEngine pointEngine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryWriter = new PointHistoryWriter(new PointHistoryRepository(new PointHistoryTable(), pointMetrics), 256, 0);
+        switch (engine) {
+            case "LOCK" -> pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+            case "CAS" -> pointEngine = new CasPointEngine(userPointTable, pointHistoryWriter, pointMetrics);
+            case "SHARDED" -> {
+                shardedPointEngine = new ShardedPointEngine(userPointTable, pointHistoryWriter, pointMetrics, shardCount, 1024);
+                pointEngine = shardedPointEngine;
+            }
+            default -> throw new IllegalArgumentException("unknown engine: " + engine);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        if (shardedPointEngine != null) {
+            shardedPointEngine.close();
+            shardedPointEngine = null;
+        }
+        pointHistoryWriter.close();
+    }
+
+    @Benchmark
+    public UserPoint mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = random.nextLong(keys);
+        int dice = random.nextInt(100);
+        if (dice < 70) {
+            return userPointTable.selectById(userId);
+        }
+        return dice < 85 ? charge(userId) : use(userId);
+    }
+
+    @Benchmark
+    public UserPoint write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = random.nextLong(keys);
+        return random.nextBoolean() ? charge(userId) : use(userId);
+    }
+
+    private UserPoint charge(long userId) {
+        return pointEngine.charge(userId, 1000L);
+    }
+
+    // 잔고 부족도 처리된 요청으로 집계
+    private UserPoint use(long userId) {
+        try {
+            return pointEngine.use(userId, 100L);
+        } catch (CustomException e) {
+            return null;
+        }
+    }
+}
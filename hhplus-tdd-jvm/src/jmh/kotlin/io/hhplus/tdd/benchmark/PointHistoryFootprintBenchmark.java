@@ -0,0 +1,60 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내역 저장 방식별 메모리 사용량 벤치마크.
+ * 같은 건수를 객체 목록(ArrayList<PointHistory>)과 컬럼형 저장소(PointHistoryStore)에 저장한다.
+ * 연산 1회를 내역 1건으로 세므로 gc 프로파일러의 gc.alloc.rate.norm 이 행당 할당 byte 이다.
+ * 목록은 확장 중 버려지는 배열이 없도록 초기 용량을 지정하여, 할당량이 저장 후 남는 크기와 같도록 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PointHistoryFootprintBenchmark {
+
+    private static final int RECORDS = 1_000_000;
+    private static final int USER_COUNT = 100_000;
+
+    @Param({"OBJECTS", "COLUMNAR"})
+    public String storage;
+
+    private long now;
+
+    @Setup
+    public void setUp() {
+        now = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public Object store() {
+        if ("OBJECTS".equals(storage)) {
+            List<PointHistory> objects = new ArrayList<>(RECORDS);
+            for (int i=0; i<RECORDS; i++) {
+                objects.add(new PointHistory(i + 1L, i % USER_COUNT, TransactionType.CHARGE, 1000L + i, now + i));
+            }
+            return objects;
+        }
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        for (int i=0; i<RECORDS; i++) {
+            pointHistoryStore.append(i + 1L, i % USER_COUNT, TransactionType.CHARGE, 1000L + i, now + i);
+        }
+        return pointHistoryStore;
+    }
+}
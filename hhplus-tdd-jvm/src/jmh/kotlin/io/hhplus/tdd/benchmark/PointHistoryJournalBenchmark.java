@@ -0,0 +1,124 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryJournal;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 내역 저널의 기록과 복구 시간 벤치마크.
+ * 저장 파이프라인과 같이 batchSize 건마다 force 하며 records 건을 기록하는 시간,
+ * 저널 순차 스캔 시간과 저장소까지 다시 채우는 전체 복구 시간을 측정한다.
+ * 한 번의 측정이 records 건 전체를 처리하므로 SingleShotTime 으로 측정하고, 기록은 매번 빈 디렉토리에서 시작한다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class PointHistoryJournalBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int USER_COUNT = 100_000;
+
+    // 복구는 힙에 모든 내역을 올리므로 힙 크기에 맞춰 건수를 정한다.
+    @Param({"1000000", "10000000"})
+    public long records;
+
+    @Param({"256"})
+    public int batchSize;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private Path directory;
+    private Path written;
+    private Path appended;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-history-journal");
+        written = directory.resolve("written");
+        append(written).close();
+        appended = directory.resolve("appended");
+    }
+
+    @Setup(Level.Invocation)
+    public void clearAppended() throws IOException {
+        delete(appended);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(directory);
+    }
+
+    @Benchmark
+    public PointHistoryJournal append() throws IOException {
+        PointHistoryJournal pointHistoryJournal = append(appended);
+        pointHistoryJournal.close();
+        return pointHistoryJournal;
+    }
+
+    @Benchmark
+    public long scan(Blackhole blackhole) throws IOException {
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(written, SEGMENT_SIZE);
+        long recovered = pointHistoryJournal.recover(blackhole::consume);
+        pointHistoryJournal.close();
+        return recovered;
+    }
+
+    // 기동시와 같이 저장 파이프라인 생성 과정에서 저장소를 다시 채운다.
+    @Benchmark
+    public PointHistoryRepository rebuild() throws IOException, InterruptedException {
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(written, SEGMENT_SIZE);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, batchSize, 0, Optional.of(pointHistoryJournal));
+        pointHistoryWriter.close();
+        pointHistoryJournal.close();
+        return pointHistoryRepository;
+    }
+
+    private PointHistoryJournal append(Path segments) throws IOException {
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(segments, SEGMENT_SIZE);
+        pointHistoryJournal.recover(pointHistory -> {});
+        for (long id=1; id<=records; id++) {
+            pointHistoryJournal.append(new PointHistory(id, id % USER_COUNT, TransactionType.CHARGE, 1000L, id));
+            if (id % batchSize == 0) {
+                pointHistoryJournal.flush();
+            }
+        }
+        pointHistoryJournal.flush();
+        return pointHistoryJournal;
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
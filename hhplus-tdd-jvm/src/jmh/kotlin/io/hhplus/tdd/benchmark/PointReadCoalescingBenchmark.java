@@ -0,0 +1,98 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.cache.SingleFlight;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.PointService;
+import io.hhplus.tdd.support.KeyDistribution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔고 조회 합치기 벤치마크.
+ * 조회 지연(1ms)이 있는 테이블로 캐시 없이 PointService.point 를 64 쓰레드에서 호출하고,
+ * 합치기 사용 여부와 유저 id 분포(hot key 가 몰리는 ZIPFIAN)에 따른 처리량을 비교한다.
+ * iteration 이 끝나면 합치기 비율(follower / 전체 요청)을 출력한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+public class PointReadCoalescingBenchmark {
+
+    private static final long TABLE_LATENCY_MILLIS = 1L;
+
+    @Param({"10000"})
+    public long userCount;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public KeyDistribution.Type distribution;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private KeyDistribution keys;
+    private SingleFlight<Long, UserPoint> singleFlight;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        UserPointTable userPointTable = new SlowUserPointTable();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        singleFlight = new SingleFlight<>(Duration.ofMillis(500));
+        pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1,
+                Optional.empty(), coalescing ? Optional.of(singleFlight) : Optional.empty(), Optional.empty(), Optional.empty());
+        keys = KeyDistribution.of(distribution, userCount);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        if (coalescing) {
+            System.out.printf("%n coalescing ratio %.3f (leader %d, follower %d, timeout %d)%n", singleFlight.getCoalescingRatio(),
+                    singleFlight.getLeaderCount(), singleFlight.getFollowerCount(), singleFlight.getTimeoutCount());
+        }
+        pointHistoryWriter.close();
+    }
+
+    @Benchmark
+    public UserPointDto point() {
+        return pointService.point(keys.next());
+    }
+
+    private static class SlowUserPointTable extends UserPointTable {
+        @Override
+        public UserPoint selectById(long id) {
+            try {
+                Thread.sleep(TABLE_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.selectById(id);
+        }
+    }
+}
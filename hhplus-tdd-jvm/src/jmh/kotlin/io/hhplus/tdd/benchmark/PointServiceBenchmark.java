@@ -0,0 +1,102 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.service.PointService;
+import io.hhplus.tdd.support.KeyDistribution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 의 충전/사용/조회/내역 조회 벤치마크.
+ * 쓰레드 수는 하위 클래스(@Threads)로, 유저 id 분포는 @Param 으로 바꿔가며 측정한다.
+ * 내역이 계속 쌓이지 않도록 iteration 마다 테이블을 새로 만든다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public abstract class PointServiceBenchmark {
+
+    private static final long INITIAL_POINT = 1_000_000_000L;
+
+    @Param({"10000"})
+    public long userCount;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public KeyDistribution.Type distribution;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private KeyDistribution keys;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        UserPointTable userPointTable = new UserPointTable();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        // 일괄 처리는 측정하지 않으므로 호출 쓰레드에서 실행
+        pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1);
+        keys = KeyDistribution.of(distribution, userCount);
+        for (long userId=0; userId<userCount; userId++) {
+            pointService.charge(userId, INITIAL_POINT);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    @Benchmark
+    public UserPointDto charge() {
+        return pointService.charge(keys.next(), INITIAL_POINT);
+    }
+
+    @Benchmark
+    public UserPointDto use() {
+        return pointService.use(keys.next(), 1L);
+    }
+
+    @Benchmark
+    public UserPointDto point() {
+        return pointService.point(keys.next());
+    }
+
+    @Benchmark
+    public PointHistoryPageDto history() {
+        return pointService.history(keys.next(), null, null);
+    }
+
+    @Threads(1)
+    public static class OneThread extends PointServiceBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends PointServiceBenchmark {
+    }
+
+    @Threads(16)
+    public static class SixteenThreads extends PointServiceBenchmark {
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.converter.PointBinaryFormat;
+import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 직렬화 벤치마크.
+ * Jackson JSON 과 바이너리 형식(PointBinaryFormat)의 잔고, 내역 페이지 인코딩 시간과 할당량을 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PointWireFormatBenchmark {
+
+    @Param({"20", "100"})
+    public int historySize;
+
+    private ObjectMapper objectMapper;
+    private UserPointDto userPointDto;
+    private PointHistoryPageDto pointHistoryPageDto;
+
+    @Setup
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        objectMapper = new ObjectMapper();
+        userPointDto = new UserPointDto(new UserPoint(1L, 10_000L, now));
+        List<PointHistoryDto> histories = new ArrayList<>(historySize);
+        for (long id=1; id<=historySize; id++) {
+            histories.add(new PointHistoryDto(new PointHistory(id, 1L, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id * 100L, now + id)));
+        }
+        pointHistoryPageDto = new PointHistoryPageDto(histories, (long) historySize);
+    }
+
+    @Benchmark
+    public byte[] userPointJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userPointDto);
+    }
+
+    @Benchmark
+    public PointBinaryFormat.Writer userPointBinary() {
+        return PointBinaryFormat.write(userPointDto);
+    }
+
+    @Benchmark
+    public byte[] historyPageJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pointHistoryPageDto);
+    }
+
+    @Benchmark
+    public PointBinaryFormat.Writer historyPageBinary() {
+        return PointBinaryFormat.write(pointHistoryPageDto);
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPoint.usePoint 단독 벤치마크.
+ * 잔고 부족 경로는 예외 생성 비용이 포함된다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class UserPointBenchmark {
+
+    private UserPoint userPoint = new UserPoint(1L, 1_000_000L, System.currentTimeMillis());
+    private long amount = 1L;
+    private long shortageAmount = 2_000_000L;
+
+    @Benchmark
+    public UserPoint usePoint() {
+        return userPoint.usePoint(amount);
+    }
+
+    @Benchmark
+    public void usePointShortage(Blackhole blackhole) {
+        try {
+            blackhole.consume(userPoint.usePoint(shortageAmount));
+        } catch (CustomException e) {
+            blackhole.consume(e);
+        }
+    }
+}
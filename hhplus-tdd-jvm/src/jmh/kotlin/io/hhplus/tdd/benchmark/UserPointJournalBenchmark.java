@@ -0,0 +1,106 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.UserPointJournal;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 잔고 복구 시간 벤치마크.
+ * 같은 변경 이력(updates 건)에 대해 로그 전체를 다시 적용하는 경우와
+ * 스냅샷 + 이후 로그(TAIL_UPDATES 건)만 적용하는 경우의 기동시 복구 시간, 스냅샷 저장 시간을 측정한다.
+ * 한 번의 측정이 복구 또는 스냅샷 전체이므로 SingleShotTime 으로 측정한다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class UserPointJournalBenchmark {
+
+    private static final int USER_COUNT = 1_000_000;
+    private static final long TAIL_UPDATES = 100_000L;
+
+    @Param({"1000000", "10000000"})
+    public long updates;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private Path directory;
+    private Path logOnly;
+    private Path withSnapshot;
+    private UserPointJournal snapshotJournal;
+
+    // 비정상 종료를 흉내내기 위해 기록한 저널은 close 하지 않는다. close 하면 스냅샷을 남긴다.
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("user-point-journal");
+        logOnly = directory.resolve("log");
+        UserPointTable logOnlyTable = new UserPointTable();
+        write(new UserPointJournal(logOnlyTable, logOnly, 0, 0), logOnlyTable, updates);
+
+        withSnapshot = directory.resolve("snapshot");
+        UserPointTable userPointTable = new UserPointTable();
+        UserPointJournal userPointJournal = new UserPointJournal(userPointTable, withSnapshot, 0, 0);
+        write(userPointJournal, userPointTable, updates - TAIL_UPDATES);
+        userPointJournal.snapshot();
+        write(userPointJournal, userPointTable, TAIL_UPDATES);
+
+        UserPointTable snapshotTable = new UserPointTable();
+        snapshotJournal = new UserPointJournal(snapshotTable, directory.resolve("write"), 0, 0);
+        write(snapshotJournal, snapshotTable, updates);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        snapshotJournal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public UserPointTable recoverLogOnly() throws IOException {
+        return recover(logOnly);
+    }
+
+    @Benchmark
+    public UserPointTable recoverWithSnapshot() throws IOException {
+        return recover(withSnapshot);
+    }
+
+    @Benchmark
+    public UserPointJournal writeSnapshot() {
+        snapshotJournal.snapshot();
+        return snapshotJournal;
+    }
+
+    // 복구는 생성자에서 하며, 복구한 저널은 스냅샷을 남기지 않도록 close 하지 않는다.
+    private UserPointTable recover(Path path) throws IOException {
+        UserPointTable userPointTable = new UserPointTable();
+        new UserPointJournal(userPointTable, path, 0, 0);
+        return userPointTable;
+    }
+
+    private void write(UserPointJournal userPointJournal, UserPointTable userPointTable, long count) {
+        for (long i=0; i<count; i++) {
+            userPointJournal.append(userPointTable.insertOrUpdate(random.nextLong(USER_COUNT), random.nextLong(1_000_000)));
+        }
+        userPointJournal.flush();
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.CustomException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * reactive 프로필(WebFlux)에서 ApiControllerAdvice 와 같은 에러 응답을 반환한다.
+ * ApiControllerAdvice 는 서블릿용 ResponseEntityExceptionHandler 를 상속하므로 WebFlux 용을 따로 둔다.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleException(Exception e) {
+        return new ResponseEntity<>(new ErrorResponse("500", "에러가 발생했습니다."), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(CustomException.class)
+    public ResponseEntity<ErrorResponse> handleException(CustomException e) {
+        return new ResponseEntity<>(new ErrorResponse(e.getErrorCode().getCode(), e.getErrorCode().getMessage()), e.getErrorCode().getStatus());
+    }
+}
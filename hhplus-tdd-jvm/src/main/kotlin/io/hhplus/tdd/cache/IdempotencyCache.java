@@ -0,0 +1,146 @@
+package io.hhplus.tdd.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청의 멱등 키 저장소.
+ * 처음 보는 키는 요청을 실행하고 결과를 키와 함께 저장하며, 같은 키로 다시 들어온 요청은 테이블을 거치지 않고 저장된 결과를 반환한다.
+ * 처음 요청이 아직 처리중이면 새로 실행하지 않고 그 결과를 기다린다.
+ * 반영 전에 실패한 요청(잔고 부족, 잘못된 입력 등 CustomException)은 저장하지 않으므로 같은 키로 다시 시도할 수 있다.
+ * 그 외의 실패는 반영 여부를 알 수 없으므로 키를 남겨두고, 같은 키로 다시 들어온 요청은 IDEMPOTENCY_RESULT_UNKNOWN 으로 실패시켜 두 번 반영되지 않도록 한다.
+ * 키는 유저, 거래 종류, 금액과 함께 저장하여 같은 키로 다른 요청이 들어오면 IDEMPOTENCY_KEY_MISMATCH 예외를 발생시킨다.
+ * 최대 건수와 저장 후 경과 시간으로 만료시키며, 엔트리 하나가 결과 future 를 겸하도록 하여 키당 객체 수를 줄인다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyCache {
+
+    public static final String CACHE_NAME = "idempotency";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private Cache<String, Entry> cache;
+    private ConcurrentMap<String, Entry> entries;
+    private final LongAdder replays = new LongAdder();
+
+    @Autowired
+    public IdempotencyCache(PointMetrics pointMetrics,
+                            @Value("${point.idempotency.maximum-size:1000000}") long maximumSize,
+                            @Value("${point.idempotency.expire-after-write-millis:3600000}") long expireAfterWriteMillis) {
+        this(pointMetrics, maximumSize, expireAfterWriteMillis, Ticker.systemTicker());
+    }
+
+    // 테스트에서 만료 시간을 제어하기 위해 시계를 주입
+    public IdempotencyCache(PointMetrics pointMetrics, long maximumSize, long expireAfterWriteMillis, Ticker ticker) {
+        this.cache = CaffeineCacheMetrics.monitor(pointMetrics.getMeterRegistry(), Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .ticker(ticker)
+                .recordStats()
+                .<String, Entry>build(), CACHE_NAME);
+        this.entries = cache.asMap();
+        FunctionCounter.builder("point.idempotency.replays", replays, LongAdder::sum)
+                .description("저장된 결과를 반환한 요청 수")
+                .register(pointMetrics.getMeterRegistry());
+    }
+
+    // 키가 없으면 바로 실행
+    public UserPointDto execute(String key, long userId, TransactionType type, long amount, Supplier<UserPointDto> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CustomException(ErrorCode.INVALID_PARAMETER);
+        }
+        Entry entry = new Entry(userId, type, amount);
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing == null) {
+            return run(key, entry, action);
+        }
+        if (!existing.matches(userId, type, amount)) {
+            throw new CustomException(ErrorCode.IDEMPOTENCY_KEY_MISMATCH);
+        }
+        replays.increment();
+        return await(existing);
+    }
+
+    public long getReplayCount() {
+        return replays.sum();
+    }
+
+    // 만료/제거는 비동기로 처리되므로 정확한 건수가 필요하면 cleanUp 이후 조회
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    // 반영 전에 실패하면 키를 지워 재시도할 수 있게 하고, 함께 기다리던 요청에는 같은 예외를 전달
+    private UserPointDto run(String key, Entry entry, Supplier<UserPointDto> action) {
+        try {
+            UserPointDto userPointDto = action.get();
+            entry.complete(userPointDto);
+            return userPointDto;
+        } catch (Throwable e) {
+            if (notApplied(e)) {
+                entries.remove(key, entry);
+            }
+            entry.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 내역 저장 지연(HISTORY_PENDING)은 잔고가 반영된 뒤에 발생하므로 제외
+    private static boolean notApplied(Throwable e) {
+        return e instanceof CustomException customException && customException.getErrorCode() != ErrorCode.HISTORY_PENDING;
+    }
+
+    private UserPointDto await(Entry entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            // 처음 요청의 예외가 CustomException 이 아니면 반영 여부를 알 수 없으므로 다시 실행하지 않고 실패로 응답
+            if (e.getCause() instanceof CustomException customException) {
+                throw customException;
+            }
+            throw new CustomException(ErrorCode.IDEMPOTENCY_RESULT_UNKNOWN);
+        }
+    }
+
+    private static final class Entry extends CompletableFuture<UserPointDto> {
+        private final long userId;
+        private final TransactionType type;
+        private final long amount;
+
+        private Entry(long userId, TransactionType type, long amount) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        private boolean matches(long userId, TransactionType type, long amount) {
+            return this.userId == userId && this.type == type && this.amount == amount;
+        }
+    }
+}
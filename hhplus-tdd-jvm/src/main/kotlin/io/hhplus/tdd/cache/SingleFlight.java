@@ -0,0 +1,122 @@
+package io.hhplus.tdd.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 조회를 하나로 합친다.
+ * 먼저 도착한 요청(leader)이 조회하는 동안 같은 키로 들어온 요청(follower)은 새로 조회하지 않고 그 결과를 기다려 함께 반환한다.
+ * follower 는 최대 maxWait 까지만 기다리고, 넘으면 직접 조회한다.
+ * 값이 바뀐 뒤에는 forget 으로 진행중인 조회를 분리하여, 이후 요청이 변경 전에 시작된 조회 결과를 받지 않도록 한다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private long maxWaitNanos;
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            leaders.increment();
+            return lead(key, flight, loader);
+        }
+        followers.increment();
+        return follow(existing, loader);
+    }
+
+    // 이후 요청은 진행중인 조회에 합류하지 않고 새로 조회한다.
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    public long getFollowerCount() {
+        return followers.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    // 전체 요청 중 다른 요청의 조회 결과를 받은 요청의 비율
+    public double getCoalescingRatio() {
+        long followerCount = followers.sum();
+        long total = leaders.sum() + followerCount;
+        return total == 0 ? 0.0 : followerCount / (double) total;
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".coalescing.requests", leaders, LongAdder::sum)
+                .tag("role", "leader")
+                .description("직접 조회한 요청 수")
+                .register(registry);
+        FunctionCounter.builder(name + ".coalescing.requests", followers, LongAdder::sum)
+                .tag("role", "follower")
+                .description("진행중인 조회 결과를 받은 요청 수")
+                .register(registry);
+        FunctionCounter.builder(name + ".coalescing.timeouts", timeouts, LongAdder::sum)
+                .description("대기 시간을 넘어 직접 조회한 요청 수")
+                .register(registry);
+        Gauge.builder(name + ".coalescing.ratio", this, SingleFlight::getCoalescingRatio)
+                .register(registry);
+        Gauge.builder(name + ".coalescing.in.flight", inFlight, ConcurrentHashMap::size)
+                .register(registry);
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // leader 의 예외는 그대로 전달하고, 대기 시간을 넘기면 직접 조회
+    private V follow(CompletableFuture<V> flight, Supplier<V> loader) {
+        try {
+            return flight.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for in-flight lookup", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.hhplus.tdd.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 잔고 조회 캐시.
+ * 캐시에 없으면 UserPointTable 에서 읽어 저장(read-through)하고, 최대 건수와 저장 후 경과 시간으로 만료시킨다.
+ * 충전/사용으로 잔고가 바뀌면 테이블 저장이 끝난 뒤 해당 유저를 무효화한다.
+ * 테이블 조회는 캐시의 compute 밖에서 하여 느린 조회가 같은 구간의 다른 키 적재와 무효화를 막지 않도록 한다.
+ * 대신 무효화마다 유저 id 로 나눈 구간의 세대를 올리고, 조회 전에 읽은 세대가 그대로일 때만 저장하여
+ * 무효화 전에 읽은 이전 잔고가 무효화 이후에 다시 저장되지 않도록 한다.
+ * 적중/미적중/만료 통계는 cache.gets, cache.evictions 등의 메트릭(cache=userPoint)으로 등록한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class UserPointCache {
+
+    public static final String CACHE_NAME = "userPoint";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private Cache<Long, UserPoint> cache;
+    private UserPointTable userPointTable;
+    private PointMetrics pointMetrics;
+    // 유저 id 구간별 무효화 세대, 다른 유저의 무효화로 저장을 건너뛰어도 다음 조회에서 다시 적재된다.
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Autowired
+    public UserPointCache(UserPointTable userPointTable, PointMetrics pointMetrics,
+                          @Value("${point.cache.maximum-size:100000}") long maximumSize,
+                          @Value("${point.cache.expire-after-write-millis:10000}") long expireAfterWriteMillis) {
+        this(userPointTable, pointMetrics, maximumSize, expireAfterWriteMillis, Ticker.systemTicker());
+    }
+
+    // 테스트에서 만료 시간을 제어하기 위해 시계를 주입
+    public UserPointCache(UserPointTable userPointTable, PointMetrics pointMetrics, long maximumSize, long expireAfterWriteMillis, Ticker ticker) {
+        this.userPointTable = userPointTable;
+        this.pointMetrics = pointMetrics;
+        this.cache = CaffeineCacheMetrics.monitor(pointMetrics.getMeterRegistry(), Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .ticker(ticker)
+                .recordStats()
+                .<Long, UserPoint>build(), CACHE_NAME);
+    }
+
+    public UserPoint get(long id) {
+        UserPoint cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(id);
+        long generation = generations.get(stripe);
+        UserPoint loaded = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(id));
+        // 무효화는 세대를 올린 뒤 제거하므로, 세대 확인과 저장을 같은 키의 compute 안에서 하면 무효화 이후에 이전 잔고가 남지 않는다.
+        cache.asMap().compute(id, (key, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return generations.get(stripe) == generation ? loaded : null;
+        });
+        return loaded;
+    }
+
+    public void invalidate(long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // 만료/제거는 비동기로 처리되므로 정확한 건수가 필요하면 cleanUp 이후 조회
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static int stripe(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 54) & (GENERATION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PointExecutorConfig {
+
+    public static final String BULK_EXECUTOR = "pointBulkExecutor";
+
+    // 일괄 처리 작업은 내역 저장 완료를 기다리며 블로킹되므로 코어 수와 별개로 크기를 설정한다.
+    @Bean(name = BULK_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService pointBulkExecutor(@Value("${point.bulk.parallelism:16}") int parallelism) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "point-bulk-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * reactive 프로필(WebFlux) 설정. 서블릿 서버로 기동되면 등록하지 않는다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class PointReactiveConfig {
+
+    public static final String BLOCKING_SCHEDULER = "pointBlockingScheduler";
+
+    // 테이블 호출과 유저 락 대기는 블로킹이므로 이벤트 루프가 아닌 별도 쓰레드에서 실행한다.
+    // 쓰레드 수를 넘는 작업은 큐에서 대기하고, 큐가 가득 차면 즉시 실패시킨다.
+    @Bean(name = BLOCKING_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler pointBlockingScheduler(@Value("${point.reactive.thread-cap:64}") int threadCap,
+                                            @Value("${point.reactive.queued-task-cap:100000}") int queuedTaskCap) {
+        return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "point-blocking");
+    }
+
+    // starter-web 의 Tomcat 이 함께 있으면 reactive 서버도 Tomcat 으로 기동되므로 Netty 를 직접 지정한다.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
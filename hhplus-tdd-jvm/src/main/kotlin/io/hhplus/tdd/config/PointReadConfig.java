@@ -0,0 +1,28 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.cache.SingleFlight;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 잔고 조회 설정.
+ * 같은 유저의 동시 잔고 조회를 하나로 합치는 SingleFlight 를 등록하고 point.read.coalescing.* 메트릭을 등록한다.
+ */
+@Configuration
+public class PointReadConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "point.read.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+    public SingleFlight<Long, UserPoint> userPointSingleFlight(PointMetrics pointMetrics,
+                                                               @Value("${point.read.coalescing.max-wait-millis:500}") long maxWaitMillis) {
+        SingleFlight<Long, UserPoint> singleFlight = new SingleFlight<>(Duration.ofMillis(maxWaitMillis));
+        singleFlight.bindTo(pointMetrics.getMeterRegistry(), "point.read");
+        return singleFlight;
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.converter.PointBinaryHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * MVC 응답 형식 설정.
+ * 바이너리 converter 는 기본 converter 들 뒤에 추가하여 Accept 가 없거나 *&#47;* 인 요청은 계속 JSON 으로 응답한다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PointWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PointBinaryHttpMessageConverter());
+    }
+}
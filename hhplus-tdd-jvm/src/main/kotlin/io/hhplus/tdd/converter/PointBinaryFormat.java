@@ -0,0 +1,138 @@
+package io.hhplus.tdd.converter;
+
+import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.PointHistorySummaryDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * 포인트 API 의 바이너리 응답 형식 (application/x-hhplus-point).
+ * JSON 과 달리 필드명 없이 정해진 순서로 값만 쓰고, long 은 varint(7bit 단위, 작은 값일수록 짧게)로 쓴다.
+ * 음수가 될 수 있는 차이값은 zigzag 로 바꿔 varint 로 쓰고, TransactionType 은 ordinal 1 byte 로 쓴다.
+ *
+ * 잔고 : [version][id][point][updateMillis]
+ * 내역 페이지 : [version][건수] 건수 x ([id - 이전 id][userId][type][amount][timeMillis - 이전 timeMillis])
+ *              [nextCursor 유무][nextCursor] [요약 유무][충전 건수][사용 건수][lastId][lastTimeMillis]
+ * 내역의 id, timeMillis 는 이전 내역과의 차이로 쓰며 첫 내역의 이전 값은 0 이다. 유무는 0/1 1 byte 이다.
+ */
+public final class PointBinaryFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-hhplus-point";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int VERSION = 1;
+
+    // varint 로 쓴 long 의 최대 길이
+    private static final int MAX_VARLONG_BYTES = 10;
+    private static final int HISTORY_MAX_BYTES = MAX_VARLONG_BYTES * 4 + 1;
+    private static final int SUMMARY_MAX_BYTES = MAX_VARLONG_BYTES * 6 + 1;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryFormat() {
+    }
+
+    public static Writer write(UserPointDto userPoint) {
+        Writer writer = new Writer(1 + MAX_VARLONG_BYTES * 3);
+        writer.writeByte(VERSION);
+        writer.writeVarLong(userPoint.getId());
+        writer.writeVarLong(userPoint.getPoint());
+        writer.writeVarLong(userPoint.getUpdateMillis());
+        return writer;
+    }
+
+    // 응답 크기의 상한으로 버퍼를 한 번만 할당한다.
+    public static Writer write(PointHistoryPageDto page) {
+        List<PointHistoryDto> histories = page.getHistories();
+        Writer writer = new Writer(1 + MAX_VARLONG_BYTES + histories.size() * HISTORY_MAX_BYTES + 1 + MAX_VARLONG_BYTES + SUMMARY_MAX_BYTES);
+        writer.writeByte(VERSION);
+        writer.writeVarLong(histories.size());
+        long previousId = 0;
+        long previousTimeMillis = 0;
+        for (PointHistoryDto history : histories) {
+            writer.writeVarLong(history.getId() - previousId);
+            writer.writeVarLong(history.getUserId());
+            writer.writeByte(history.getType().ordinal());
+            writer.writeVarLong(history.getAmount());
+            writer.writeZigZag(history.getTimeMillis() - previousTimeMillis);
+            previousId = history.getId();
+            previousTimeMillis = history.getTimeMillis();
+        }
+        Long nextCursor = page.getNextCursor();
+        writer.writeByte(nextCursor == null ? 0 : 1);
+        if (nextCursor != null) {
+            writer.writeVarLong(nextCursor);
+        }
+        PointHistorySummaryDto summary = page.getSummary();
+        writer.writeByte(summary == null ? 0 : 1);
+        if (summary != null) {
+            writer.writeVarLong(summary.getChargeCount());
+            writer.writeVarLong(summary.getUseCount());
+            writer.writeVarLong(summary.getLastId());
+            writer.writeVarLong(summary.getLastTimeMillis());
+        }
+        return writer;
+    }
+
+    // 클라이언트에서 응답을 읽기 위한 함수들
+    public static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift=0; shift<64; shift+=7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    public static long readZigZag(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static TransactionType readType(ByteBuffer buffer) {
+        return TYPES[buffer.get()];
+    }
+
+    /**
+     * 미리 할당한 버퍼에 값을 쓴다.
+     */
+    public static final class Writer {
+        private final byte[] buffer;
+        private int size;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        public byte[] getBuffer() {
+            return buffer;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        private void writeByte(int value) {
+            buffer[size++] = (byte) value;
+        }
+
+        // 음수는 10 byte 로 쓰인다.
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.converter;
+
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * 잔고와 내역 페이지 응답을 PointBinaryFormat 으로 쓰는 converter.
+ * Accept 헤더에 application/x-hhplus-point 를 지정한 요청에만 사용되며, 요청 본문은 읽지 않는다.
+ * Jackson 의 리플렉션과 필드명 인코딩 없이 응답 DTO 에서 바로 버퍼에 쓰고 한 번에 내보낸다.
+ * 에러 응답은 JSON 으로만 쓰므로 클라이언트는 Accept 에 application/json 도 함께 지정한다.
+ */
+public class PointBinaryHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public PointBinaryHttpMessageConverter() {
+        super(PointBinaryFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserPointDto.class == clazz || PointHistoryPageDto.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("point binary format is write only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        PointBinaryFormat.Writer writer = body instanceof UserPointDto
+                ? PointBinaryFormat.write((UserPointDto) body)
+                : PointBinaryFormat.write((PointHistoryPageDto) body);
+        outputMessage.getHeaders().setContentLength(writer.getSize());
+        outputMessage.getBody().write(writer.getBuffer(), 0, writer.getSize());
+    }
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 유저 id(long) 를 키로 하는 잔고 저장소.
+ * 키와 값(잔고, 수정 시각, 버전)을 하나의 long 배열에 [id, point, updateMillis, version] 순서로 나란히 저장하는
+ * open addressing(linear probing) 해시 테이블이다. 저장시 id boxing, 엔트리 노드, 값 객체를 만들지 않고
+ * 조회시에만 UserPoint 를 만든다.
+ * 전체를 고정 개수의 segment 로 나누고 segment 마다 StampedLock 으로 보호한다.
+ * 조회는 낙관적 읽기로 락 없이 읽은 뒤 검증하고, 검증에 실패할 때만 읽기 락을 잡는다.
+ * 버전은 저장할 때마다 1씩 증가하며, 저장된 적 없는 잔고의 버전은 0 이다.
+ * putIfVersion 은 현재 버전이 기대한 버전과 같을 때만 저장하여 동시에 저장한 값을 덮어쓰지 않도록 한다.
+ * 삭제는 지원하지 않는다.
+ */
+public class LongBalanceMap {
+
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_SHIFT;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 28;
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final int SLOT_WIDTH = 4;
+    // 빈 슬롯 표시, 0 번 유저는 segment 의 별도 필드에 저장
+    private static final long EMPTY = 0L;
+
+    // putIfVersion 에서 버전이 달라 저장하지 않은 경우의 반환값
+    public static final long VERSION_CONFLICT = -1L;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public LongBalanceMap() {
+        this(0);
+    }
+
+    // 예상 유저 수만큼 미리 할당하여 크기 확장을 줄인다.
+    public LongBalanceMap(int expectedSize) {
+        int capacity = segmentCapacity((long) Math.ceil(expectedSize / (double) SEGMENT_COUNT / LOAD_FACTOR));
+        for (int i=0; i<SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    // 저장된 잔고가 없으면 null 반환
+    public UserPoint get(long id) {
+        long hash = hash(id);
+        Segment segment = segmentFor(hash);
+        StampedLock lock = segment.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            UserPoint userPoint = segment.read(id, hash);
+            if (lock.validate(stamp)) {
+                return userPoint;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return segment.read(id, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // 저장 후 증가한 버전 반환
+    public long put(long id, long point, long updateMillis) {
+        long hash = hash(id);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            return segment.put(id, hash, point, updateMillis);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    // 현재 버전이 expectedVersion 과 같을 때만 저장하고 증가한 버전을, 다르면 VERSION_CONFLICT 반환
+    public long putIfVersion(long id, long expectedVersion, long point, long updateMillis) {
+        long hash = hash(id);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            if (segment.version(id, hash) != expectedVersion) {
+                return VERSION_CONFLICT;
+            }
+            return segment.put(id, hash, point, updateMillis);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    // 할당된 슬롯 배열 크기 합 (헤더 제외)
+    public long allocatedBytes() {
+        long allocated = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                allocated += (long) segment.slots.length * Long.BYTES;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return allocated;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_SHIFT))];
+    }
+
+    // 상위 비트로 segment 를, 하위 비트로 슬롯을 고르므로 곱셈 후 상위 비트를 하위로 섞는다.
+    private static long hash(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static int segmentCapacity(long required) {
+        long capacity = MIN_SEGMENT_CAPACITY;
+        while (capacity < required && capacity < MAX_SEGMENT_CAPACITY) {
+            capacity <<= 1;
+        }
+        return (int) capacity;
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private long[] slots;
+        private int size;
+        private int threshold;
+        private boolean hasZeroKey;
+        private long zeroPoint;
+        private long zeroUpdateMillis;
+        private long zeroVersion;
+
+        private Segment(int capacity) {
+            this.slots = new long[capacity * SLOT_WIDTH];
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        // 락 없이 호출될 수 있으므로 배열 참조는 한 번만 읽고, 탐색 횟수는 용량으로 제한한다.
+        private UserPoint read(long id, long hash) {
+            if (id == EMPTY) {
+                return hasZeroKey ? new UserPoint(id, zeroPoint, zeroUpdateMillis, zeroVersion) : null;
+            }
+            long[] current = slots;
+            int index = indexOf(current, id, hash);
+            if (index < 0 || current[index] != id) {
+                return null;
+            }
+            return new UserPoint(id, current[index + 1], current[index + 2], current[index + 3]);
+        }
+
+        // 쓰기 락 안에서 호출
+        private long version(long id, long hash) {
+            if (id == EMPTY) {
+                return zeroVersion;
+            }
+            int index = indexOf(slots, id, hash);
+            return slots[index] == id ? slots[index + 3] : 0L;
+        }
+
+        private long put(long id, long hash, long point, long updateMillis) {
+            if (id == EMPTY) {
+                size += hasZeroKey ? 0 : 1;
+                hasZeroKey = true;
+                zeroPoint = point;
+                zeroUpdateMillis = updateMillis;
+                return ++zeroVersion;
+            }
+            int index = indexOf(slots, id, hash);
+            if (slots[index] == EMPTY) {
+                if (size >= threshold) {
+                    resize();
+                    index = indexOf(slots, id, hash);
+                }
+                size++;
+            }
+            // 키를 먼저 쓰더라도 낙관적 읽기는 stamp 검증에서 걸러진다.
+            slots[index] = id;
+            slots[index + 1] = point;
+            slots[index + 2] = updateMillis;
+            return ++slots[index + 3];
+        }
+
+        // 새 배열을 다 채운 뒤 교체하므로 이전 배열을 읽던 낙관적 읽기는 검증에서 걸러진다.
+        private void resize() {
+            long[] current = slots;
+            int capacity = current.length / SLOT_WIDTH;
+            if (capacity >= MAX_SEGMENT_CAPACITY) {
+                throw new IllegalStateException("balance map segment is full");
+            }
+            long[] resized = new long[capacity * 2 * SLOT_WIDTH];
+            for (int index=0; index<current.length; index+=SLOT_WIDTH) {
+                long id = current[index];
+                if (id != EMPTY) {
+                    int target = indexOf(resized, id, hash(id));
+                    resized[target] = id;
+                    resized[target + 1] = current[index + 1];
+                    resized[target + 2] = current[index + 2];
+                    resized[target + 3] = current[index + 3];
+                }
+            }
+            slots = resized;
+            threshold = (int) (capacity * 2 * LOAD_FACTOR);
+        }
+
+        // id 가 있는 슬롯 또는 처음 만난 빈 슬롯의 배열 위치, 한 바퀴를 돌아도 없으면 -1
+        private static int indexOf(long[] slots, long id, long hash) {
+            int capacity = slots.length / SLOT_WIDTH;
+            int mask = capacity - 1;
+            int slot = (int) hash & mask;
+            for (int probe=0; probe<capacity; probe++) {
+                int index = slot * SLOT_WIDTH;
+                long key = slots[index];
+                if (key == id || key == EMPTY) {
+                    return index;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+    }
+}
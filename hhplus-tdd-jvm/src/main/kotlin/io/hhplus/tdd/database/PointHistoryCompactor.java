@@ -0,0 +1,111 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 내역 보관 기간 관리.
+ * 주기적으로 보관 기간(retention)이 지난 내역을 유저별 요약으로 합치고 저장소에서 해제한다.
+ * 한 번에 batch-size 건씩 나눠 요약하고 사이마다 락을 놓으므로, 요약 중에도 조회가 오래 막히지 않는다.
+ * 저널을 사용하면 요약할 때마다 요약 스냅샷을 저널의 새 세대로 남기고 모든 레코드가 요약된 세그먼트를 삭제하므로,
+ * 기동시에는 요약과 요약되지 않은 내역만 복구한다.
+ * 요약된 내역 수는 point.history.compacted 메트릭으로 등록한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history.retention.enabled", havingValue = "true")
+public class PointHistoryCompactor {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ScheduledExecutorService scheduler;
+
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryJournal pointHistoryJournal;
+    private long retentionMillis;
+    private int batchSize;
+    private LongSupplier clock;
+
+    @Autowired
+    public PointHistoryCompactor(PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics,
+                                 @Value("${point.history.retention.retention-millis:604800000}") long retentionMillis,
+                                 @Value("${point.history.retention.interval-millis:60000}") long intervalMillis,
+                                 @Value("${point.history.retention.batch-size:10000}") int batchSize,
+                                 Optional<PointHistoryJournal> pointHistoryJournal) {
+        this(pointHistoryRepository, pointMetrics, retentionMillis, intervalMillis, batchSize, System::currentTimeMillis, pointHistoryJournal);
+    }
+
+    // 테스트에서 보관 기간 경과를 제어하기 위해 시계를 주입, intervalMillis 가 0 이면 주기적으로 실행하지 않음
+    public PointHistoryCompactor(PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics,
+                                 long retentionMillis, long intervalMillis, int batchSize, LongSupplier clock) {
+        this(pointHistoryRepository, pointMetrics, retentionMillis, intervalMillis, batchSize, clock, Optional.empty());
+    }
+
+    public PointHistoryCompactor(PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics,
+                                 long retentionMillis, long intervalMillis, int batchSize, LongSupplier clock,
+                                 Optional<PointHistoryJournal> pointHistoryJournal) {
+        if (retentionMillis <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("retentionMillis and batchSize must be positive");
+        }
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointHistoryJournal = pointHistoryJournal.orElse(null);
+        this.retentionMillis = retentionMillis;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        FunctionCounter.builder("point.history.compacted", pointHistoryRepository, PointHistoryRepository::compactedCount)
+                .description("요약되어 해제된 내역 수")
+                .register(pointMetrics.getMeterRegistry());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-history-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::scheduledCompact, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 보관 기간이 지난 내역을 모두 요약하고 요약한 건수를 반환, 저널을 사용하면 요약을 저널에도 반영한다.
+    public long compact() {
+        long cutoffMillis = clock.getAsLong() - retentionMillis;
+        long compacted = 0;
+        int batch;
+        do {
+            batch = pointHistoryRepository.compact(cutoffMillis, batchSize);
+            compacted += batch;
+        } while (batch == batchSize);
+        if (compacted > 0 && pointHistoryJournal != null) {
+            pointHistoryJournal.compact(pointHistoryRepository.selectAllSummaries());
+        }
+        return compacted;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void scheduledCompact() {
+        try {
+            long start = System.nanoTime();
+            long compacted = compact();
+            if (compacted > 0) {
+                logger.info("{} point histories compacted in {} ms", compacted, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } catch (RuntimeException e) {
+            logger.error("point history compaction failed", e);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 내역 영속화를 위한 메모리 맵 append-only 저널.
+ * 내역 1건을 고정 길이(37 byte) 레코드로 기록하고, 세그먼트 파일이 가득 차면 다음 세그먼트로 넘어간다.
+ * 레코드 : type(1) | id(8) | userId(8) | amount(8) | timeMillis(8) | crc32c(4)
+ * type 이 0 이면 기록되지 않은 영역이고, crc 가 맞지 않는 레코드는 기록 도중 중단된 레코드로 보고 버린다.
+ * 내역 저장 파이프라인의 단일 쓰레드에서만 호출되며, 기록 전에 반드시 recover 를 먼저 호출해야 한다.
+ * 보관 기간이 지나 요약된 내역은 compact 로 요약 스냅샷(summary-{요약되지 않은 첫 id}.snap)을 새 세대로 남기고,
+ * 모든 레코드가 요약된 세그먼트와 이전 세대의 스냅샷을 삭제한다. compact 는 요약 쓰레드에서 호출된다.
+ * 요약 스냅샷 : (userId | 거래 종류별 건수 | lastId | lastTimeMillis) 반복 | 요약되지 않은 첫 id | 유저 수 | crc32c
+ * 복구시에는 마지막 스냅샷의 요약을 먼저 전달하고, 세그먼트에서는 요약되지 않은 id 의 레코드만 전달한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.history.journal.enabled", havingValue = "true")
+public class PointHistoryJournal {
+
+    public static final int RECORD_SIZE = 37;
+    private static final int PAYLOAD_SIZE = RECORD_SIZE - Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String SUMMARY_PREFIX = "summary-";
+    private static final String SUMMARY_SUFFIX = ".snap";
+    private static final int SUMMARY_SIZE = Long.BYTES * (TransactionType.values().length + 3);
+    private static final int SUMMARY_TRAILER_SIZE = Long.BYTES * 2 + Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final CRC32C crc = new CRC32C();
+
+    // 세그먼트 번호별 첫 레코드의 id, 요약 쓰레드가 모든 레코드가 요약된 세그먼트를 찾는 데 사용
+    private final ConcurrentSkipListMap<Long, Long> segmentFirstIds = new ConcurrentSkipListMap<>();
+
+    private Path directory;
+    private int segmentCapacity;
+    private volatile long segmentIndex;
+    // 마지막 요약 스냅샷 기준 요약되지 않은 첫 id, 요약 쓰레드만 갱신한다.
+    private volatile long compactedBefore = 1L;
+    private MappedByteBuffer segment;
+    // 마지막 force 이후 기록이 시작된 위치
+    private int flushedPosition;
+
+    public PointHistoryJournal(@Value("${point.history.journal.directory:./data/journal}") Path directory,
+                               @Value("${point.history.journal.segment-size:67108864}") int segmentSize) throws IOException {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be at least " + RECORD_SIZE);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentCapacity = segmentSize / RECORD_SIZE * RECORD_SIZE;
+    }
+
+    // 요약 스냅샷 없이 기록한 저널을 복구한다. 요약 스냅샷이 있으면 요약은 전달하지 않는다.
+    public long recover(Consumer<PointHistory> consumer) {
+        return recover(summary -> {}, consumer);
+    }
+
+    // 마지막 요약 스냅샷의 요약을 먼저 전달한 뒤 세그먼트를 순서대로 읽어 요약되지 않은 내역을 전달하고,
+    // 마지막 레코드 뒤에서 기록을 이어간다. 전달한 내역 수를 반환한다.
+    public long recover(Consumer<PointHistorySummary> summaryConsumer, Consumer<PointHistory> consumer) {
+        List<Long> snapshots = summaryGenerations();
+        if (!snapshots.isEmpty()) {
+            compactedBefore = readSummaries(snapshots.get(snapshots.size() - 1), summaryConsumer);
+        }
+        List<Path> segments = segments();
+        long recovered = 0;
+        for (int i=0; i<segments.size(); i++) {
+            Path path = segments.get(i);
+            MappedByteBuffer buffer = map(path, (int) Math.max(segmentCapacity, size(path)));
+            int position = 0;
+            PointHistory pointHistory;
+            while (position + RECORD_SIZE <= buffer.capacity() && (pointHistory = read(buffer, position)) != null) {
+                if (position == 0) {
+                    segmentFirstIds.put(index(path), pointHistory.getId());
+                }
+                if (pointHistory.getId() >= compactedBefore) {
+                    consumer.accept(pointHistory);
+                    recovered++;
+                }
+                position += RECORD_SIZE;
+            }
+            boolean last = i == segments.size() - 1;
+            if (position + RECORD_SIZE <= buffer.capacity() && buffer.get(position) != 0) {
+                if (!last) {
+                    throw new IllegalStateException("corrupted point history journal segment " + path);
+                }
+                logger.warn("discard torn point history record at {}:{}", path, position);
+                truncate(buffer, position);
+            }
+            if (last) {
+                segmentIndex = index(path);
+                open(buffer, position);
+            }
+        }
+        if (segment == null) {
+            open(map(segmentPath(0), segmentCapacity), 0);
+        }
+        return recovered;
+    }
+
+    public void append(PointHistory pointHistory) {
+        if (segment.remaining() < RECORD_SIZE) {
+            roll();
+        }
+        int position = segment.position();
+        if (position == 0) {
+            segmentFirstIds.put(segmentIndex, pointHistory.getId());
+        }
+        segment.put(position, (byte) (pointHistory.getType().ordinal() + 1));
+        segment.putLong(position + 1, pointHistory.getId());
+        segment.putLong(position + 9, pointHistory.getUserId());
+        segment.putLong(position + 17, pointHistory.getAmount());
+        segment.putLong(position + 25, pointHistory.getTimeMillis());
+        segment.putInt(position + PAYLOAD_SIZE, checksum(segment, position));
+        segment.position(position + RECORD_SIZE);
+    }
+
+    // 배치를 한 세그먼트 안에 기록하도록, 현재 세그먼트에 records 건이 들어갈 공간이 없으면 미리 다음 세그먼트로 넘어간다.
+    // 세그먼트 하나보다 큰 배치는 나누어 기록되며, 앞 세그먼트에 기록된 부분은 discard 로 되돌리지 못한다.
+    public void reserve(int records) {
+        long size = (long) records * RECORD_SIZE;
+        if (segment.remaining() < size && size <= segmentCapacity) {
+            roll();
+        }
+    }
+
+    // 마지막 force 이후 기록한 영역을 비우고 그 위치부터 다시 기록한다.
+    public void discard() {
+        int position = segment.position();
+        if (position > flushedPosition) {
+            for (int i=flushedPosition; i<position; i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.force(flushedPosition, position - flushedPosition);
+        }
+        segment.position(flushedPosition);
+    }
+
+    // 마지막 force 이후 기록한 영역만 디스크에 반영
+    public void flush() {
+        int position = segment.position();
+        if (position > flushedPosition) {
+            segment.force(flushedPosition, position - flushedPosition);
+            flushedPosition = position;
+        }
+    }
+
+    /**
+     * 요약된 내역을 새 세대의 요약 스냅샷으로 저장한 뒤, 모든 레코드가 요약된 세그먼트와 이전 세대의 스냅샷을 삭제한다.
+     * summaries 는 저장소의 모든 요약을 같은 시점에 읽은 것이어야 하며, 요약은 id 순서대로 하므로
+     * 마지막으로 요약된 id 다음 id 부터가 요약되지 않은 내역이다. 기록 중인 세그먼트는 삭제하지 않는다.
+     */
+    public void compact(Collection<PointHistorySummary> summaries) {
+        long boundary = compactedBefore;
+        for (PointHistorySummary summary : summaries) {
+            boundary = Math.max(boundary, summary.getLastId() + 1);
+        }
+        if (boundary == compactedBefore) {
+            return;
+        }
+        try {
+            writeSummaries(boundary, summaries);
+            compactedBefore = boundary;
+            deleteCompacted(boundary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (segment != null) {
+            flush();
+            segment = null;
+        }
+    }
+
+    private void roll() {
+        flush();
+        segmentIndex = segmentIndex + 1;
+        open(map(segmentPath(segmentIndex), segmentCapacity), 0);
+    }
+
+    private void open(MappedByteBuffer buffer, int position) {
+        buffer.position(position);
+        segment = buffer;
+        flushedPosition = position;
+    }
+
+    private PointHistory read(MappedByteBuffer buffer, int position) {
+        byte type = buffer.get(position);
+        if (type <= 0 || type > TransactionType.values().length || buffer.getInt(position + PAYLOAD_SIZE) != checksum(buffer, position)) {
+            return null;
+        }
+        return new PointHistory(
+                buffer.getLong(position + 1),
+                buffer.getLong(position + 9),
+                TransactionType.values()[type - 1],
+                buffer.getLong(position + 17),
+                buffer.getLong(position + 25));
+    }
+
+    private int checksum(MappedByteBuffer buffer, int position) {
+        crc.reset();
+        crc.update(buffer.slice(position, PAYLOAD_SIZE));
+        return (int) crc.getValue();
+    }
+
+    // 중단된 레코드 이후 영역을 비워 다음 복구시 잘못 읽지 않도록 한다.
+    private void truncate(MappedByteBuffer buffer, int position) {
+        for (int i=position; i<buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+    }
+
+    // 유저별 요약을 기록하고 마지막에 요약되지 않은 첫 id, 유저 수, crc 를 기록한 뒤 이름을 바꿔 공개한다.
+    private void writeSummaries(long boundary, Collection<PointHistorySummary> summaries) throws IOException {
+        Path temporary = directory.resolve(SUMMARY_PREFIX + boundary + ".tmp");
+        CRC32C summaryCrc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long users = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (PointHistorySummary summary : summaries) {
+                if (buffer.remaining() < SUMMARY_SIZE) {
+                    write(channel, buffer, summaryCrc);
+                }
+                buffer.putLong(summary.getUserId());
+                for (TransactionType type : TransactionType.values()) {
+                    buffer.putLong(summary.getCount(type));
+                }
+                buffer.putLong(summary.getLastId()).putLong(summary.getLastTimeMillis());
+                users++;
+            }
+            write(channel, buffer, summaryCrc);
+            buffer.putLong(boundary).putLong(users).putInt((int) summaryCrc.getValue());
+            write(channel, buffer, null);
+            channel.force(true);
+        }
+        Files.move(temporary, summaryPath(boundary), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 스냅샷의 요약을 전달하고 요약되지 않은 첫 id 를 반환
+    private long readSummaries(long generation, Consumer<PointHistorySummary> summaryConsumer) {
+        Path path = summaryPath(generation);
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int trailer = buffer.capacity() - SUMMARY_TRAILER_SIZE;
+        long users = trailer / SUMMARY_SIZE;
+        CRC32C summaryCrc = new CRC32C();
+        if (trailer < 0 || trailer % SUMMARY_SIZE != 0) {
+            throw new IllegalStateException("corrupted point history summary " + path);
+        }
+        summaryCrc.update(buffer.slice(0, trailer));
+        if (buffer.getLong(trailer) != generation || buffer.getLong(trailer + Long.BYTES) != users
+                || buffer.getInt(trailer + Long.BYTES * 2) != (int) summaryCrc.getValue()) {
+            throw new IllegalStateException("corrupted point history summary " + path);
+        }
+        for (int position=0; position<trailer; position+=SUMMARY_SIZE) {
+            long[] counts = new long[TransactionType.values().length];
+            for (int type=0; type<counts.length; type++) {
+                counts[type] = buffer.getLong(position + Long.BYTES * (type + 1));
+            }
+            int last = position + Long.BYTES * (counts.length + 1);
+            summaryConsumer.accept(PointHistorySummary.restored(buffer.getLong(position), counts, buffer.getLong(last), buffer.getLong(last + Long.BYTES)));
+        }
+        return generation;
+    }
+
+    // 다음 세그먼트의 첫 id 가 boundary 이하면 그 세그먼트의 모든 레코드는 요약되었다.
+    private void deleteCompacted(long boundary) throws IOException {
+        long active = segmentIndex;
+        Map.Entry<Long, Long> current = segmentFirstIds.firstEntry();
+        while (current != null && current.getKey() < active) {
+            Map.Entry<Long, Long> next = segmentFirstIds.higherEntry(current.getKey());
+            if (next == null || next.getValue() > boundary) {
+                break;
+            }
+            Files.deleteIfExists(segmentPath(current.getKey()));
+            segmentFirstIds.remove(current.getKey());
+            current = next;
+        }
+        for (long previous : summaryGenerations()) {
+            if (previous < boundary) {
+                Files.deleteIfExists(summaryPath(previous));
+            }
+        }
+    }
+
+    private List<Long> summaryGenerations() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(fileName -> fileName.startsWith(SUMMARY_PREFIX) && fileName.endsWith(SUMMARY_SUFFIX))
+                    .map(fileName -> Long.parseLong(fileName.substring(SUMMARY_PREFIX.length(), fileName.length() - SUMMARY_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path summaryPath(long generation) {
+        return directory.resolve(String.format("%s%020d%s", SUMMARY_PREFIX, generation, SUMMARY_SUFFIX));
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+
+    private static long index(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // 매핑은 채널을 닫은 뒤에도 유지된다.
+    private static MappedByteBuffer map(Path path, int size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * PointHistoryTable 앞단의 내역 저장소.
+ * 저장은 PointHistoryTable 의 공개 API 로 하고, 조회는 유저별 인덱스로 처리하여
+ * 전체 내역이 아닌 해당 유저의 내역 수에 비례하는 비용으로 조회한다.
+ * 유저별 인덱스는 내역 객체 대신 PointHistoryStore 의 행 handle(행 번호의 하위 32 bit, int)만 보관한다.
+ * 보관 기간이 지난 앞부분 내역은 compact 로 유저별 요약(PointHistorySummary)에 합친 뒤 저장소에서 해제한다.
+ * 조회는 요약과 남은 내역을 같은 시점 기준으로 읽도록 읽기 락을 잡고, 요약은 쓰기 락을 잡는다.
+ * 저장은 이 락을 잡지 않으므로 요약 도중에도 충전/사용이 멈추지 않는다.
+ */
+@Component
+public class PointHistoryRepository {
+
+    private final ConcurrentHashMap<Long, UserHistoryLog> index = new ConcurrentHashMap<>();
+    private final LongAdder count = new LongAdder();
+    private final LongAdder compactedCount = new LongAdder();
+    private final ReentrantReadWriteLock compactionLock = new ReentrantReadWriteLock();
+
+    private PointHistoryTable pointHistoryTable;
+    private PointHistoryStore pointHistoryStore;
+    private PointMetrics pointMetrics;
+
+    public PointHistoryRepository(PointHistoryTable pointHistoryTable, PointMetrics pointMetrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryStore = pointHistoryTable.getStore();
+        this.pointMetrics = pointMetrics;
+    }
+
+    public PointMetrics getPointMetrics() {
+        return pointMetrics;
+    }
+
+    public PointHistory insert(Long userId, Long amount, TransactionType transactionType, Long updateMillis) {
+        PointHistory pointHistory = index.computeIfAbsent(userId, key -> new UserHistoryLog(key, pointHistoryStore))
+                .append(() -> pointMetrics.recordTable(PointMetrics.POINT_HISTORY_TABLE, "insert",
+                        () -> pointHistoryTable.insert(userId, amount, transactionType, updateMillis)));
+        count.increment();
+        return pointHistory;
+    }
+
+    /**
+     * 여러 내역을 테이블에 한 번에 저장하고 저장된 순서대로 반환한다. 입력 내역의 id 는 무시하고 연속된 id 를 발급한다.
+     * 배치에 포함된 유저의 인덱스 락을 유저 id 순서로 모두 잡은 뒤 저장하여, 단건 저장과 섞여도 유저별 id 순서와 저장 순서가 일치한다.
+     */
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        if (histories.isEmpty()) {
+            return Collections.emptyList();
+        }
+        TreeMap<Long, UserHistoryLog> logs = new TreeMap<>();
+        for (PointHistory history : histories) {
+            logs.computeIfAbsent(history.getUserId(), userId -> index.computeIfAbsent(userId, key -> new UserHistoryLog(key, pointHistoryStore)));
+        }
+        List<UserHistoryLog> locked = new ArrayList<>(logs.size());
+        try {
+            for (UserHistoryLog userHistoryLog : logs.values()) {
+                userHistoryLog.lock.lock();
+                locked.add(userHistoryLog);
+            }
+            List<PointHistory> saved = pointMetrics.recordTable(PointMetrics.POINT_HISTORY_TABLE, "insertAll",
+                    () -> pointHistoryTable.insertAll(histories));
+            for (PointHistory pointHistory : saved) {
+                logs.get(pointHistory.getUserId()).add(pointHistory);
+            }
+            count.add(saved.size());
+            return saved;
+        } finally {
+            for (UserHistoryLog userHistoryLog : locked) {
+                userHistoryLog.lock.unlock();
+            }
+        }
+    }
+
+    // 다음에 저장할 내역의 id
+    public long nextId() {
+        return pointHistoryTable.nextId();
+    }
+
+    // 저장된 전체 내역 수
+    public long count() {
+        return count.sum();
+    }
+
+    // 요약되어 해제된 내역 수
+    public long compactedCount() {
+        return compactedCount.sum();
+    }
+
+    // 내역이 있는 유저 수
+    public int userCount() {
+        return index.size();
+    }
+
+    // 요약되지 않은 내역을 id 오름차순(저장 순서)으로 반환
+    public List<PointHistory> selectAllByUserId(Long userId) {
+        UserHistoryLog userHistoryLog = index.get(userId);
+        if (userHistoryLog == null) {
+            return Collections.emptyList();
+        }
+        return read(userHistoryLog::snapshot);
+    }
+
+    // cursor(내역 id) 이후의 내역을 id 오름차순으로 최대 limit 건 반환, cursor 가 없으면 처음부터 반환
+    public List<PointHistory> selectPageByUserId(Long userId, Long cursor, int limit) {
+        UserHistoryLog userHistoryLog = index.get(userId);
+        if (userHistoryLog == null) {
+            return Collections.emptyList();
+        }
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, userHistoryLog.size));
+        read(() -> userHistoryLog.visitPage(cursor, limit, view -> page.add(view.toPointHistory())));
+        return Collections.unmodifiableList(page);
+    }
+
+    // selectPageByUserId 와 같은 범위를 객체 생성 없이 view 로 전달하고 전달한 건수를 반환
+    public int visitPageByUserId(Long userId, Long cursor, int limit, Consumer<PointHistoryView> visitor) {
+        UserHistoryLog userHistoryLog = index.get(userId);
+        if (userHistoryLog == null) {
+            return 0;
+        }
+        return read(() -> userHistoryLog.visitPage(cursor, limit, visitor));
+    }
+
+    // visitPageByUserId 와 같은 범위를 전달하고 같은 시점의 요약을 반환, 요약된 내역이 없으면 null
+    public PointHistorySummary visitPageWithSummaryByUserId(Long userId, Long cursor, int limit, Consumer<PointHistoryView> visitor) {
+        UserHistoryLog userHistoryLog = index.get(userId);
+        if (userHistoryLog == null) {
+            return null;
+        }
+        return read(() -> {
+            userHistoryLog.visitPage(cursor, limit, visitor);
+            return userHistoryLog.summary;
+        });
+    }
+
+    // 요약된 내역이 없으면 null
+    public PointHistorySummary selectSummaryByUserId(Long userId) {
+        UserHistoryLog userHistoryLog = index.get(userId);
+        return userHistoryLog == null ? null : userHistoryLog.summary;
+    }
+
+    // 모든 유저의 요약을 같은 시점 기준으로 반환, 저널의 요약 스냅샷으로 저장하는 데 사용
+    public List<PointHistorySummary> selectAllSummaries() {
+        return read(() -> {
+            List<PointHistorySummary> summaries = new ArrayList<>();
+            for (UserHistoryLog userHistoryLog : index.values()) {
+                PointHistorySummary summary = userHistoryLog.summary;
+                if (summary != null) {
+                    summaries.add(summary);
+                }
+            }
+            return summaries;
+        });
+    }
+
+    /**
+     * 저널의 요약 스냅샷으로 유저의 요약을 복원한다. 기동시 내역을 다시 저장하기 전에만 호출한다.
+     * 요약된 내역은 저장소에 다시 저장하지 않으므로, 테이블이 요약된 마지막 내역 다음 id 부터 발급하도록 옮긴다.
+     */
+    public void restoreSummary(PointHistorySummary summary) {
+        UserHistoryLog userHistoryLog = index.computeIfAbsent(summary.getUserId(), key -> new UserHistoryLog(key, pointHistoryStore));
+        userHistoryLog.lock.lock();
+        try {
+            userHistoryLog.summary = summary;
+        } finally {
+            userHistoryLog.lock.unlock();
+        }
+        pointHistoryTable.skipTo(summary.getLastId() + 1);
+        count.add(summary.getTotalCount());
+        compactedCount.add(summary.getTotalCount());
+    }
+
+    /**
+     * 저장소 앞부분부터 cutoffMillis 이전에 저장된 내역을 최대 maxRows 건 유저별 요약에 합치고 저장소에서 해제한다.
+     * 처음 만난 cutoffMillis 이후 내역에서 멈추므로 그 뒤의 내역은 보관 기간이 지났더라도 다음 요약까지 남는다.
+     * 요약한 건수를 반환하며, maxRows 보다 작으면 남은 요약 대상이 없다.
+     */
+    public int compact(long cutoffMillis, int maxRows) {
+        Lock writeLock = compactionLock.writeLock();
+        writeLock.lock();
+        try {
+            long from = pointHistoryStore.firstRow();
+            long size = pointHistoryStore.size();
+            PointHistoryStore.Cursor row = pointHistoryStore.cursor();
+            Set<Long> userIds = new HashSet<>();
+            long to = from;
+            while (to < size && to - from < maxRows && row.at(to).getTimeMillis() < cutoffMillis) {
+                userIds.add(row.getUserId());
+                to++;
+            }
+            if (to == from) {
+                return 0;
+            }
+            for (Long userId : userIds) {
+                index.get(userId).compactBefore(to);
+            }
+            pointHistoryStore.releaseBefore(to);
+            compactedCount.add(to - from);
+            return (int) (to - from);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        Lock readLock = compactionLock.readLock();
+        readLock.lock();
+        try {
+            return reader.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 유저 한 명의 내역 행 handle 목록과 요약.
+     * 저장은 락으로 순차 처리하고, 조회는 락 없이 volatile 로 공개된 크기까지만 읽는다.
+     * 요약된 행은 head 앞에 두고 읽지 않으며, 절반 이상이 요약되면 배열을 줄인다.
+     */
+    private static class UserHistoryLog {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long userId;
+        private final PointHistoryStore pointHistoryStore;
+        private volatile int[] rows = new int[INITIAL_CAPACITY];
+        private volatile int size;
+        private volatile int head;
+        private volatile PointHistorySummary summary;
+
+        private UserHistoryLog(long userId, PointHistoryStore pointHistoryStore) {
+            this.userId = userId;
+            this.pointHistoryStore = pointHistoryStore;
+        }
+
+        // 테이블 저장까지 락 안에서 수행하여 유저별 id 순서와 저장 순서를 일치시킨다.
+        private PointHistory append(Supplier<PointHistory> insert) {
+            lock.lock();
+            try {
+                PointHistory pointHistory = insert.get();
+                add(pointHistory);
+                return pointHistory;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 락을 잡은 상태에서 저장된 내역의 행 handle 을 추가
+        private void add(PointHistory pointHistory) {
+            int[] current = rows;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                rows = current;
+            }
+            current[size] = PointHistoryStore.handleOf(pointHistoryStore.rowOf(pointHistory.getId()));
+            size = size + 1;
+        }
+
+        // head 와 배열 교체는 요약(쓰기 락) 중에만 바뀌므로 조회(읽기 락)에서는 고정된 값이다.
+        private List<PointHistory> snapshot() {
+            int length = size;
+            int[] current = rows;
+            int first = head;
+            PointHistoryStore.Cursor row = pointHistoryStore.cursor();
+            PointHistory[] histories = new PointHistory[length - first];
+            for (int i=first; i<length; i++) {
+                histories[i - first] = row.atHandle(current[i]).toPointHistory();
+            }
+            return Collections.unmodifiableList(Arrays.asList(histories));
+        }
+
+        // 유저별 내역은 id 오름차순이므로 이진 탐색으로 시작 위치를 찾고 해당 페이지만 읽는다.
+        private int visitPage(Long cursor, int limit, Consumer<PointHistoryView> visitor) {
+            int length = size;
+            int[] current = rows;
+            int first = head;
+            PointHistoryStore.Cursor row = pointHistoryStore.cursor();
+            int from = cursor == null ? first : indexAfter(current, first, length, cursor, row);
+            int to = (int) Math.min(length, (long) from + limit);
+            for (int i=from; i<to; i++) {
+                visitor.accept(row.atHandle(current[i]));
+            }
+            return to - from;
+        }
+
+        // 행 번호가 storeRow 보다 작은 내역을 요약에 합친다. 저장 중인 내역이 있으면 끝날 때까지 기다린다.
+        // 저장소에서 해제하기 전에 호출되므로 handle 을 행 번호로 복원할 수 있다.
+        private void compactBefore(long storeRow) {
+            lock.lock();
+            try {
+                int[] current = rows;
+                int length = size;
+                int first = head;
+                int end = first;
+                while (end < length && pointHistoryStore.rowOfHandle(current[end]) < storeRow) {
+                    end++;
+                }
+                PointHistorySummary base = summary == null ? PointHistorySummary.empty(userId) : summary;
+                summary = base.plus(pointHistoryStore.cursor(), current, first, end);
+                if (end >= INITIAL_CAPACITY && end >= current.length / 2) {
+                    int remaining = length - end;
+                    rows = Arrays.copyOfRange(current, end, end + Math.max(INITIAL_CAPACITY, remaining * 2));
+                    size = remaining;
+                    head = 0;
+                } else {
+                    head = end;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static int indexAfter(int[] current, int first, int length, long cursor, PointHistoryStore.Cursor row) {
+            int low = first;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (row.atHandle(current[mid]).getId() <= cursor) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
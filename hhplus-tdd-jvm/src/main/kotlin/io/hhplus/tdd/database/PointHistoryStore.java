@@ -0,0 +1,256 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 내역의 컬럼형 저장소.
+ * 내역 객체 대신 컬럼별 primitive 배열(id, userId, type, amount, timeMillis)에 저장하여
+ * 객체 헤더와 참조, boxing 비용 없이 행당 33 byte 만 사용한다.
+ * 배열은 고정 크기 chunk 단위로 늘어나므로 기존 데이터를 복사하지 않는다.
+ * 기록은 단일 쓰레드(PointHistoryTable 의 락 안)에서만 하고, 조회는 volatile 로 공개된 행 수까지 락 없이 읽는다.
+ * 행 번호는 처음부터 센 long 이며, 요약된 앞부분 행은 releaseBefore 로 chunk 단위로 해제한다.
+ * chunk 목록은 해제되지 않은 chunk 부터의 구간만 보관하므로, 해제를 계속하면 저장한 전체 건수에 제한이 없다.
+ * 유저별 인덱스에는 행 번호의 하위 32 bit(handle)만 보관하고, 해제되지 않은 첫 행을 기준으로 행 번호를 복원한다.
+ * 따라서 해제되지 않은 행은 최대 Integer.MAX_VALUE 건까지 저장한다.
+ */
+public class PointHistoryStore {
+
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CHUNKS = 16;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    // chunk 목록의 교체와 해제를 보호한다. 행 기록은 이 락 없이 한다.
+    private final Object chunksLock = new Object();
+    private final long startRow;
+    private volatile Chunks chunks;
+    private volatile long size;
+    private volatile long firstRow;
+    // 행 번호 0 에 해당하는 id, 해제된 뒤에도 id 로 행 번호를 바로 찾는 데 사용
+    private long baseId;
+
+    public PointHistoryStore() {
+        this(0L);
+    }
+
+    // 행 번호가 startRow 부터 시작하는 저장소, handle 이 한 바퀴 도는 경우를 테스트하는 데 사용
+    PointHistoryStore(long startRow) {
+        this.startRow = startRow;
+        this.chunks = new Chunks(startRow >>> CHUNK_SHIFT, new Chunk[INITIAL_CHUNKS]);
+        this.size = startRow;
+        this.firstRow = startRow;
+    }
+
+    // 저장된 행 번호 반환
+    public long append(long id, long userId, TransactionType type, long amount, long timeMillis) {
+        long row = size;
+        if (row - firstRow >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("point history store is full");
+        }
+        long chunkIndex = row >>> CHUNK_SHIFT;
+        Chunks current = chunks;
+        int slot = (int) (chunkIndex - current.base);
+        if (slot == current.array.length) {
+            synchronized (chunksLock) {
+                current = chunks.extend(firstRow >>> CHUNK_SHIFT, chunkIndex);
+                chunks = current;
+            }
+            slot = (int) (chunkIndex - current.base);
+        }
+        if (current.array[slot] == null) {
+            current.array[slot] = new Chunk();
+            chunks = current;
+        }
+        if (row == startRow) {
+            baseId = id - row;
+        }
+        Chunk chunk = current.array[slot];
+        int offset = (int) row & CHUNK_MASK;
+        chunk.ids[offset] = id;
+        chunk.userIds[offset] = userId;
+        chunk.types[offset] = (byte) type.ordinal();
+        chunk.amounts[offset] = amount;
+        chunk.timeMillis[offset] = timeMillis;
+        size = row + 1;
+        return row;
+    }
+
+    // 다음에 저장할 행 번호
+    public long size() {
+        return size;
+    }
+
+    // 해제되지 않은 첫 행 번호
+    public long firstRow() {
+        return firstRow;
+    }
+
+    // 유저별 인덱스에 보관할 행 번호의 하위 32 bit
+    public static int handleOf(long row) {
+        return (int) row;
+    }
+
+    // 해제되지 않은 행의 handle 을 행 번호로 복원한다. 해제된 행의 handle 은 잘못된 행 번호가 된다.
+    public long rowOfHandle(int handle) {
+        long first = firstRow;
+        return first + Integer.toUnsignedLong(handle - (int) first);
+    }
+
+    // row 이전의 행을 더 이상 읽지 않도록 하고, 모든 행이 row 이전인 chunk 를 해제한다.
+    // 해제 도중 같은 행을 읽는 쪽이 없도록 호출하는 쪽에서 보장해야 한다.
+    public void releaseBefore(long row) {
+        if (row <= firstRow) {
+            return;
+        }
+        if (row > size) {
+            throw new IndexOutOfBoundsException("row " + row);
+        }
+        firstRow = row;
+        synchronized (chunksLock) {
+            Chunks current = chunks;
+            long end = Math.min(row >>> CHUNK_SHIFT, current.base + current.array.length);
+            for (long chunkIndex=current.base; chunkIndex<end; chunkIndex++) {
+                current.array[(int) (chunkIndex - current.base)] = null;
+            }
+        }
+    }
+
+    // id 는 행 순서대로 증가하므로 연속된 id 라면 바로 찾고, 아니면 이진 탐색, 없으면 -1
+    public long rowOf(long id) {
+        long length = size;
+        long first = firstRow;
+        Chunks current = chunks;
+        if (length == first) {
+            return -1;
+        }
+        long guess = id - baseId;
+        if (guess >= first && guess < length && idAt(current, guess) == id) {
+            return guess;
+        }
+        long low = first;
+        long high = length - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long midId = idAt(current, mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // 행 마다 새 객체를 만들지 않도록 위치만 옮겨가며 재사용하는 커서, 쓰레드 간 공유하지 않는다.
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // 할당된 chunk 의 배열 크기 합 (헤더 제외)
+    public long allocatedBytes() {
+        long allocated = 0;
+        for (Chunk chunk : chunks.array) {
+            if (chunk != null) {
+                allocated += (long) CHUNK_SIZE * Chunk.ROW_BYTES;
+            }
+        }
+        return allocated;
+    }
+
+    // 탐색 도중 해제된 행은 남은 어떤 행보다 id 가 작다.
+    private static long idAt(Chunks current, long row) {
+        Chunk chunk = current.get(row >>> CHUNK_SHIFT);
+        return chunk == null ? Long.MIN_VALUE : chunk.ids[(int) row & CHUNK_MASK];
+    }
+
+    /**
+     * base 번째 chunk 부터의 chunk 목록.
+     * 배열이 가득 차면 해제된 앞부분을 빼고 새 목록으로 교체하므로 배열 크기는 해제되지 않은 chunk 수에 비례한다.
+     */
+    private static class Chunks {
+        private final long base;
+        private final Chunk[] array;
+
+        private Chunks(long base, Chunk[] array) {
+            this.base = base;
+            this.array = array;
+        }
+
+        private Chunk get(long chunkIndex) {
+            long slot = chunkIndex - base;
+            return slot < 0 || slot >= array.length ? null : array[(int) slot];
+        }
+
+        // firstChunk 부터 nextChunk 까지 담을 수 있는 새 목록
+        private Chunks extend(long firstChunk, long nextChunk) {
+            int live = (int) (nextChunk - firstChunk);
+            Chunk[] extended = new Chunk[Math.max(INITIAL_CHUNKS, (live + 1) * 2)];
+            System.arraycopy(array, (int) (firstChunk - base), extended, 0, live);
+            return new Chunks(firstChunk, extended);
+        }
+    }
+
+    private static class Chunk {
+        private static final int ROW_BYTES = Long.BYTES * 4 + Byte.BYTES;
+
+        private final long[] ids = new long[CHUNK_SIZE];
+        private final long[] userIds = new long[CHUNK_SIZE];
+        private final byte[] types = new byte[CHUNK_SIZE];
+        private final long[] amounts = new long[CHUNK_SIZE];
+        private final long[] timeMillis = new long[CHUNK_SIZE];
+    }
+
+    public class Cursor implements PointHistoryView {
+        private Chunk chunk;
+        private int offset;
+
+        private Cursor() {
+        }
+
+        public Cursor at(long row) {
+            if (row < firstRow || row >= size) {
+                throw new IndexOutOfBoundsException("row " + row);
+            }
+            Chunk target = chunks.get(row >>> CHUNK_SHIFT);
+            if (target == null) {
+                throw new IndexOutOfBoundsException("row " + row + " is released");
+            }
+            this.chunk = target;
+            this.offset = (int) row & CHUNK_MASK;
+            return this;
+        }
+
+        // 유저별 인덱스에 보관한 handle 의 행으로 이동
+        public Cursor atHandle(int handle) {
+            return at(rowOfHandle(handle));
+        }
+
+        @Override
+        public long getId() {
+            return chunk.ids[offset];
+        }
+
+        @Override
+        public long getUserId() {
+            return chunk.userIds[offset];
+        }
+
+        @Override
+        public TransactionType getType() {
+            return TYPES[chunk.types[offset]];
+        }
+
+        @Override
+        public long getAmount() {
+            return chunk.amounts[offset];
+        }
+
+        @Override
+        public long getTimeMillis() {
+            return chunk.timeMillis[offset];
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+
+/**
+ * 보관 기간이 지나 요약된 유저 한 명의 내역.
+ * 거래 종류별 건수와 마지막으로 요약된 내역의 id, 시각을 가진다.
+ * 내역의 amount 는 거래 금액이 아닌 변경된 잔고이므로 금액 합계는 집계하지 않는다.
+ * 변경하지 않고 요약할 때마다 새로 만들어 교체한다.
+ */
+public class PointHistorySummary {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long userId;
+    private final long[] counts;
+    private final long lastId;
+    private final long lastTimeMillis;
+
+    private PointHistorySummary(long userId, long[] counts, long lastId, long lastTimeMillis) {
+        this.userId = userId;
+        this.counts = counts;
+        this.lastId = lastId;
+        this.lastTimeMillis = lastTimeMillis;
+    }
+
+    public static PointHistorySummary empty(long userId) {
+        return new PointHistorySummary(userId, new long[TYPES.length], 0L, 0L);
+    }
+
+    // 저널의 요약 스냅샷에서 읽은 값으로 복원, counts 는 거래 종류 순서
+    static PointHistorySummary restored(long userId, long[] counts, long lastId, long lastTimeMillis) {
+        if (counts.length != TYPES.length) {
+            throw new IllegalArgumentException("counts must have " + TYPES.length + " types");
+        }
+        return new PointHistorySummary(userId, counts, lastId, lastTimeMillis);
+    }
+
+    // 이 요약 이후의 내역 handle rows[from, to) 를 더한 새 요약 반환
+    PointHistorySummary plus(PointHistoryStore.Cursor row, int[] rows, int from, int to) {
+        if (from == to) {
+            return this;
+        }
+        long[] nextCounts = Arrays.copyOf(counts, counts.length);
+        for (int i=from; i<to; i++) {
+            nextCounts[row.atHandle(rows[i]).getType().ordinal()]++;
+        }
+        return new PointHistorySummary(userId, nextCounts, row.getId(), row.getTimeMillis());
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getCount(TransactionType type) {
+        return counts[type.ordinal()];
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public long getLastTimeMillis() {
+        return lastTimeMillis;
+    }
+}
@@ -3,14 +3,20 @@ package io.hhplus.tdd.database
 import io.hhplus.tdd.point.PointHistory
 import io.hhplus.tdd.point.TransactionType
 import org.springframework.stereotype.Component
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
 
 /**
- * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ * 내역 id 발급과 저장만 담당하며, 조회는 PointHistoryRepository 를 통해서만 합니다.
+ * 유저 단위 락으로 서로 다른 유저가 동시에 접근하므로 id 발급과 저장은 락으로 보호합니다.
+ * 내역은 객체 대신 컬럼형 저장소(PointHistoryStore)에 저장하고, 조회시에만 객체로 만듭니다.
+ * 저장소의 앞부분은 요약(compact)으로 해제되므로, 요약과 같은 락을 잡는 PointHistoryRepository 의 조회만 안전합니다.
  */
 @Component
 class PointHistoryTable {
-    private val table = mutableListOf<PointHistory>()
+    val store = PointHistoryStore()
     private var cursor: Long = 1L
+    private val lock = ReentrantLock()
 
     fun insert(
         id: Long,
@@ -19,18 +25,40 @@ class PointHistoryTable {
         updateMillis: Long,
     ): PointHistory {
         Thread.sleep(Math.random().toLong() * 300L)
-        val history = PointHistory(
-            id = cursor++,
-            userId = id,
-            amount = amount,
-            type = transactionType,
-            timeMillis = updateMillis,
-        )
-        table.add(history)
-        return history
+        return lock.withLock {
+            val history = PointHistory(
+                id = cursor++,
+                userId = id,
+                amount = amount,
+                type = transactionType,
+                timeMillis = updateMillis,
+            )
+            store.append(history.id, history.userId, history.type, history.amount, history.timeMillis)
+            history
+        }
     }
 
-    fun selectAllByUserId(userId: Long): List<PointHistory> {
-        return table.filter { it.userId == userId }
+    // 한 번의 락으로 연속된 id 를 발급하여 저장합니다. 입력 내역의 id 는 무시합니다.
+    fun insertAll(histories: List<PointHistory>): List<PointHistory> {
+        Thread.sleep(Math.random().toLong() * 300L)
+        return lock.withLock {
+            histories.map { pending ->
+                val history = pending.copy(id = cursor++)
+                store.append(history.id, history.userId, history.type, history.amount, history.timeMillis)
+                history
+            }
+        }
+    }
+
+    // 다음에 발급할 id
+    fun nextId(): Long = lock.withLock { cursor }
+
+    // 요약되어 저장하지 않는 내역의 id 를 건너뛰어 nextId 부터 발급합니다.
+    fun skipTo(nextId: Long) {
+        lock.withLock {
+            if (nextId > cursor) {
+                cursor = nextId
+            }
+        }
     }
 }
\ No newline at end of file
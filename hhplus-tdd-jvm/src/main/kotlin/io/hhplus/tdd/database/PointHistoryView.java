@@ -0,0 +1,60 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 내역 1건의 읽기 전용 view.
+ * PointHistoryStore 의 커서는 행을 옮겨가며 같은 view 를 재사용하므로,
+ * 전달받은 view 를 보관해야 한다면 toPointHistory 로 복사해야 한다.
+ */
+public interface PointHistoryView {
+
+    long getId();
+
+    long getUserId();
+
+    TransactionType getType();
+
+    long getAmount();
+
+    long getTimeMillis();
+
+    default PointHistory toPointHistory() {
+        return new PointHistory(getId(), getUserId(), getType(), getAmount(), getTimeMillis());
+    }
+
+    static PointHistoryView of(PointHistory pointHistory) {
+        return new PointHistoryView() {
+            @Override
+            public long getId() {
+                return pointHistory.getId();
+            }
+
+            @Override
+            public long getUserId() {
+                return pointHistory.getUserId();
+            }
+
+            @Override
+            public TransactionType getType() {
+                return pointHistory.getType();
+            }
+
+            @Override
+            public long getAmount() {
+                return pointHistory.getAmount();
+            }
+
+            @Override
+            public long getTimeMillis() {
+                return pointHistory.getTimeMillis();
+            }
+
+            @Override
+            public PointHistory toPointHistory() {
+                return pointHistory;
+            }
+        };
+    }
+}
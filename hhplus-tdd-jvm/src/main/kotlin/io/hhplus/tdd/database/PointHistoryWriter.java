@@ -0,0 +1,336 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 내역 저장 파이프라인 (group commit).
+ * 동시에 들어온 내역 저장 요청을 큐에 모아 하나의 배치로 저장하고,
+ * 저장이 끝나면 각 요청의 CompletableFuture 를 완료시킨다.
+ * 큐는 단일 쓰레드가 FIFO 로 처리하므로 같은 유저의 내역은 요청 순서대로 저장된다.
+ * 저널이 설정되어 있으면 기동시 저널로 저장소를 복구하고, 배치마다 저널에 먼저 기록하여 한 번 force 한 뒤에 저장소에 반영한다.
+ * 저장 완료는 await 로 최대 await-timeout-millis 동안 기다린다.
+ * await 는 잔고가 이미 반영된 뒤에 호출되므로, 시간을 넘기면 요청 실패가 아닌 "반영됨, 내역 저장 지연"(HISTORY_PENDING)으로 알린다.
+ */
+@Component
+public class PointHistoryWriter {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+    private static final long DEFAULT_AWAIT_TIMEOUT_MILLIS = 10_000L;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final BlockingQueue<PendingHistory> queue = new LinkedBlockingQueue<>();
+    private final BatchStatistics statistics;
+    private final Thread committer;
+    // 저장 요청(읽기 락)과 종료(쓰기 락)를 나누어, 종료 이후에는 큐에 들어가는 요청이 없도록 한다.
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryJournal pointHistoryJournal;
+    private int maxBatchSize;
+    private long lingerNanos;
+    private long awaitTimeoutMillis;
+
+    public PointHistoryWriter(PointHistoryRepository pointHistoryRepository, int maxBatchSize, long lingerMillis) {
+        this(pointHistoryRepository, maxBatchSize, lingerMillis, Optional.empty());
+    }
+
+    public PointHistoryWriter(PointHistoryRepository pointHistoryRepository, int maxBatchSize, long lingerMillis,
+                              Optional<PointHistoryJournal> pointHistoryJournal) {
+        this(pointHistoryRepository, maxBatchSize, lingerMillis, DEFAULT_AWAIT_TIMEOUT_MILLIS, pointHistoryJournal);
+    }
+
+    @Autowired
+    public PointHistoryWriter(PointHistoryRepository pointHistoryRepository,
+                              @Value("${point.history.batch.max-size:256}") int maxBatchSize,
+                              @Value("${point.history.batch.linger-millis:0}") long lingerMillis,
+                              @Value("${point.history.await-timeout-millis:10000}") long awaitTimeoutMillis,
+                              Optional<PointHistoryJournal> pointHistoryJournal) {
+        if (maxBatchSize <= 0 || lingerMillis < 0 || awaitTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("maxBatchSize and awaitTimeoutMillis must be positive and lingerMillis must not be negative");
+        }
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.statistics = new BatchStatistics(pointHistoryRepository.getPointMetrics());
+        this.pointHistoryJournal = pointHistoryJournal.orElse(null);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        recover();
+        this.committer = new Thread(this::run, "point-history-writer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    // 저장이 끝나면 완료되는 future 반환
+    public CompletableFuture<PointHistory> append(Long userId, Long amount, TransactionType transactionType, Long updateMillis) {
+        PendingHistory pendingHistory = new PendingHistory(userId, amount, transactionType, updateMillis);
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("point history writer is closed");
+            }
+            queue.add(pendingHistory);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return pendingHistory.future;
+    }
+
+    // 저장 완료를 최대 await-timeout-millis 동안 기다리고, 실패했다면 원인 예외를 그대로 던진다.
+    // 시간을 넘긴 내역은 큐에 남아 계속 저장되므로, 잔고는 반영되었고 내역만 지연되었음을 HISTORY_PENDING 으로 알린다.
+    public <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            logger.warn("point history was not saved within {} ms, point is applied and history is pending", awaitTimeoutMillis);
+            throw new CustomException(ErrorCode.HISTORY_PENDING);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for point history", e);
+        }
+    }
+
+    public BatchStatistics getStatistics() {
+        return statistics;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    // 큐에 남은 내역을 모두 저장한 뒤 종료
+    @PreDestroy
+    public void close() throws InterruptedException {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        committer.join();
+    }
+
+    // 저장소는 저널과 같은 순서로 id 를 발급하므로 순서대로 다시 저장하면 id 도 같아야 한다.
+    // 요약 스냅샷의 요약을 먼저 복원하면 저장소가 요약되지 않은 첫 id 부터 발급한다.
+    private void recover() {
+        if (pointHistoryJournal == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        long recovered = pointHistoryJournal.recover(pointHistoryRepository::restoreSummary, journaled -> {
+            PointHistory pointHistory = pointHistoryRepository.insert(journaled.getUserId(), journaled.getAmount(), journaled.getType(), journaled.getTimeMillis());
+            if (pointHistory.getId() != journaled.getId()) {
+                throw new IllegalStateException("point history journal is out of sync at id " + journaled.getId());
+            }
+        });
+        logger.info("recovered {} point histories from journal in {} ms", recovered, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void run() {
+        List<PendingHistory> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingHistory first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+        for (PendingHistory pendingHistory = queue.poll(); pendingHistory != null; pendingHistory = queue.poll()) {
+            pendingHistory.future.completeExceptionally(new IllegalStateException("point history writer is closed"));
+        }
+    }
+
+    // linger 가 없으면 이미 쌓여있는 요청만, 있으면 linger 동안 최대 배치 크기까지 모은다.
+    private void collect(List<PendingHistory> batch) throws InterruptedException {
+        if (lingerNanos == 0) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            return;
+        }
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingHistory next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // 저널에 먼저 기록하고 force 한 뒤 저장소에 반영하여, 조회되는 내역은 모두 영속화된 내역이 되도록 한다.
+    // 저널 기록에 실패하면 기록한 영역을 되돌리고 배치 전체를 저장소에 반영하지 않은 채 실패로 완료시킨다.
+    // 저장소 반영은 배치 전체를 한 번에 저장하여 id 를 한 번의 락으로 발급한다.
+    private void commit(List<PendingHistory> batch) {
+        long commitStart = System.nanoTime();
+        List<PointHistory> saved;
+        try {
+            saved = insertAll(batch, journal(batch));
+        } catch (JournalException e) {
+            logger.error("point history journal write failed", e.getCause());
+            discardJournal();
+            fail(batch, commitStart, e.getCause());
+            return;
+        } catch (RuntimeException e) {
+            logger.error("point history insert failed", e);
+            fail(batch, commitStart, e);
+            return;
+        }
+        statistics.record(batch, commitStart);
+        for (int i=0; i<batch.size(); i++) {
+            batch.get(i).future.complete(saved.get(i));
+        }
+    }
+
+    private void fail(List<PendingHistory> batch, long commitStart, RuntimeException e) {
+        statistics.record(batch, commitStart);
+        for (PendingHistory pendingHistory : batch) {
+            pendingHistory.future.completeExceptionally(e);
+        }
+    }
+
+    // 저장 파이프라인 쓰레드만 저장하므로 배치의 id 는 저장소가 다음에 발급할 id 부터 순서대로 정해진다.
+    // 저널이 없으면 0 반환
+    private long journal(List<PendingHistory> batch) {
+        if (pointHistoryJournal == null) {
+            return 0;
+        }
+        try {
+            long firstId = pointHistoryRepository.nextId();
+            pointHistoryJournal.reserve(batch.size());
+            for (int i=0; i<batch.size(); i++) {
+                PendingHistory pendingHistory = batch.get(i);
+                pointHistoryJournal.append(new PointHistory(firstId + i, pendingHistory.userId, pendingHistory.transactionType, pendingHistory.amount, pendingHistory.updateMillis));
+            }
+            pointHistoryJournal.flush();
+            return firstId;
+        } catch (RuntimeException e) {
+            throw new JournalException(e);
+        }
+    }
+
+    private void discardJournal() {
+        try {
+            pointHistoryJournal.discard();
+        } catch (RuntimeException e) {
+            logger.error("point history journal discard failed", e);
+        }
+    }
+
+    // 저널에 기록된 뒤 저장소 반영에 실패한 내역은 재기동시 저널로 복구된다.
+    // 배치의 id 는 연속으로 발급되므로 첫 id 만 저널과 비교한다.
+    private List<PointHistory> insertAll(List<PendingHistory> batch, long journaledId) {
+        List<PointHistory> histories = new ArrayList<>(batch.size());
+        for (PendingHistory pendingHistory : batch) {
+            histories.add(new PointHistory(0L, pendingHistory.userId, pendingHistory.transactionType, pendingHistory.amount, pendingHistory.updateMillis));
+        }
+        List<PointHistory> saved = pointHistoryRepository.insertAll(histories);
+        if (journaledId != 0 && saved.get(0).getId() != journaledId) {
+            throw new IllegalStateException("point history journal is out of sync at id " + journaledId);
+        }
+        return saved;
+    }
+
+    // 저널 기록 실패를 저장소 반영 실패와 구분하기 위한 예외
+    private static class JournalException extends RuntimeException {
+        private JournalException(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+
+    private static class PendingHistory {
+        private final Long userId;
+        private final Long amount;
+        private final TransactionType transactionType;
+        private final Long updateMillis;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CompletableFuture<PointHistory> future = new CompletableFuture<>();
+
+        private PendingHistory(Long userId, Long amount, TransactionType transactionType, Long updateMillis) {
+            this.userId = userId;
+            this.amount = amount;
+            this.transactionType = transactionType;
+            this.updateMillis = updateMillis;
+        }
+    }
+
+    /**
+     * 배치 크기와 큐 대기 시간 통계.
+     * 배치 크기는 DistributionSummary, 내역별 큐 대기 시간은 Timer 로 기록하여 다른 메트릭과 같이 구간별 최대값과 백분위로 집계한다.
+     */
+    public static class BatchStatistics {
+        private final DistributionSummary batchSize;
+        private final Timer queueWaitTimer;
+
+        private BatchStatistics(PointMetrics pointMetrics) {
+            this.batchSize = pointMetrics.getHistoryBatchSize();
+            this.queueWaitTimer = pointMetrics.getHistoryQueueWaitTimer();
+        }
+
+        private void record(List<PendingHistory> batch, long commitStart) {
+            batchSize.record(batch.size());
+            for (PendingHistory pendingHistory : batch) {
+                queueWaitTimer.record(commitStart - pendingHistory.enqueuedNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public long getBatchCount() {
+            return batchSize.count();
+        }
+
+        public long getEntryCount() {
+            return (long) batchSize.totalAmount();
+        }
+
+        // 최근 구간의 최대 배치 크기
+        public long getMaxBatchSize() {
+            return (long) batchSize.max();
+        }
+
+        public double getAverageBatchSize() {
+            return batchSize.mean();
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 유저 포인트 잔고의 스냅샷 + write-ahead log.
+ * 잔고가 바뀔 때마다 (id, point) 절대값 레코드를 현재 세대의 로그 파일에 기록하고,
+ * 주기적으로 새 세대의 로그로 전환한 뒤 테이블의 잔고를 스냅샷 파일로 저장한다.
+ * 스냅샷은 로그 전환 순간의 짧은 락 외에는 충전/사용 요청을 멈추지 않으며,
+ * 스냅샷 도중 바뀐 잔고는 새 세대 로그에 남으므로 절대값을 순서대로 다시 적용하면 최신 잔고가 된다.
+ * 기동시에는 마지막 스냅샷을 읽고 그 세대 이후의 로그만 다시 적용한다.
+ * 동시에 들어온 로그 레코드는 큐에 모아두고, 로그 락을 먼저 잡은 쓰레드가 쌓인 레코드를 한 번의 write 로 함께 기록한다(group commit).
+ * append 는 자신의 레코드가 기록된 뒤 반환하므로 로그는 OS 페이지 캐시까지 즉시 기록되고, flush 주기마다 디스크에 force 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.balance.journal.enabled", havingValue = "true")
+public class UserPointJournal {
+
+    private static final int PAYLOAD_SIZE = Long.BYTES * 2;
+    private static final int RECORD_SIZE = PAYLOAD_SIZE + Integer.BYTES;
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String WAL_PREFIX = "wal-";
+    private static final String WAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    // 기록을 기다리는 로그 레코드
+    private final ConcurrentLinkedQueue<PendingRecord> pending = new ConcurrentLinkedQueue<>();
+    // 로그 레코드 기록과 세대 전환을 보호한다. 아래 버퍼와 목록은 이 락을 잡은 쓰레드만 사용한다.
+    private final ReentrantLock walLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ByteBuffer walBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final List<PendingRecord> batch = new ArrayList<>();
+    private final CRC32C walCrc = new CRC32C();
+    // 스냅샷 대상 유저, 테이블의 공개 API 로 잔고를 읽기 위해 유지한다.
+    private final Set<Long> userIds = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    private UserPointTable userPointTable;
+    private Path directory;
+    private FileChannel wal;
+    private long generation;
+
+    public UserPointJournal(UserPointTable userPointTable,
+                            @Value("${point.balance.journal.directory:./data/balance}") Path directory,
+                            @Value("${point.balance.journal.snapshot-interval-millis:60000}") long snapshotIntervalMillis,
+                            @Value("${point.balance.journal.flush-interval-millis:1000}") long flushIntervalMillis) throws IOException {
+        this.userPointTable = userPointTable;
+        this.directory = Files.createDirectories(directory);
+        recover();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-point-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (snapshotIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        if (flushIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 테이블 반영 후 호출해야 스냅샷이 변경을 놓치지 않는다.
+    // 락을 기다리는 동안 앞선 쓰레드가 이 레코드까지 기록했다면 다시 기록하지 않고 반환한다.
+    public void append(UserPoint userPoint) {
+        userIds.add(userPoint.getId());
+        PendingRecord pendingRecord = new PendingRecord(userPoint.getId(), userPoint.getPoint());
+        pending.add(pendingRecord);
+        walLock.lock();
+        try {
+            if (!pendingRecord.done) {
+                writePending();
+            }
+        } finally {
+            walLock.unlock();
+        }
+        if (pendingRecord.failure != null) {
+            throw new UncheckedIOException(pendingRecord.failure);
+        }
+    }
+
+    public void flush() {
+        walLock.lock();
+        try {
+            wal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    // 큐에 쌓인 레코드를 모두 꺼내 버퍼가 찰 때마다 한 번에 기록한다. walLock 을 잡은 쓰레드만 호출한다.
+    // 큐는 넣은 순서대로 꺼내므로 같은 유저의 레코드는 변경 순서대로 기록된다.
+    private void writePending() {
+        IOException failure = null;
+        try {
+            walBuffer.clear();
+            for (PendingRecord pendingRecord = pending.poll(); pendingRecord != null; pendingRecord = pending.poll()) {
+                if (walBuffer.remaining() < RECORD_SIZE) {
+                    write(wal, walBuffer, null);
+                }
+                int position = walBuffer.position();
+                walBuffer.putLong(pendingRecord.userId).putLong(pendingRecord.point);
+                walCrc.reset();
+                walCrc.update(walBuffer.array(), position, PAYLOAD_SIZE);
+                walBuffer.putInt((int) walCrc.getValue());
+                batch.add(pendingRecord);
+            }
+            write(wal, walBuffer, null);
+        } catch (IOException e) {
+            failure = e;
+        }
+        for (PendingRecord pendingRecord : batch) {
+            pendingRecord.failure = failure;
+            pendingRecord.done = true;
+        }
+        batch.clear();
+    }
+
+    // 새 세대 로그로 전환하고 현재 잔고를 스냅샷으로 저장한 뒤 이전 세대의 파일을 삭제한다.
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            long snapshotGeneration;
+            FileChannel previous;
+            walLock.lock();
+            try {
+                snapshotGeneration = generation + 1;
+                previous = wal;
+                wal = openWal(snapshotGeneration);
+                generation = snapshotGeneration;
+            } finally {
+                walLock.unlock();
+            }
+            previous.force(false);
+            previous.close();
+
+            long start = System.nanoTime();
+            int users = writeSnapshot(snapshotGeneration);
+            deleteBefore(snapshotGeneration);
+            logger.info("user point snapshot {} with {} users written in {} ms",
+                    snapshotGeneration, users, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // 종료시 스냅샷을 남겨 다음 기동시 다시 적용할 로그가 없도록 한다.
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        snapshot();
+        walLock.lock();
+        try {
+            wal.force(false);
+            wal.close();
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        List<Long> snapshots = generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long snapshotGeneration = snapshots.isEmpty() ? -1 : snapshots.get(snapshots.size() - 1);
+        int users = snapshotGeneration < 0 ? 0 : readSnapshot(snapshotGeneration);
+
+        long records = 0;
+        long lastGeneration = Math.max(snapshotGeneration, 0);
+        for (long walGeneration : generations(WAL_PREFIX, WAL_SUFFIX)) {
+            if (walGeneration >= snapshotGeneration) {
+                records += replay(walGeneration);
+            }
+            lastGeneration = Math.max(lastGeneration, walGeneration);
+        }
+        generation = lastGeneration + 1;
+        wal = openWal(generation);
+        logger.info("recovered {} users from snapshot {} and {} log records in {} ms",
+                users, snapshotGeneration, records, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private int writeSnapshot(long snapshotGeneration) throws IOException {
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + snapshotGeneration + ".tmp");
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long users = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Long userId : userIds) {
+                if (buffer.remaining() < PAYLOAD_SIZE) {
+                    write(channel, buffer, crc);
+                }
+                buffer.putLong(userId).putLong(userPointTable.selectById(userId).getPoint());
+                users++;
+            }
+            write(channel, buffer, crc);
+            buffer.putLong(users).putInt((int) crc.getValue());
+            write(channel, buffer, null);
+            channel.force(true);
+        }
+        Files.move(temporary, path(SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        return (int) users;
+    }
+
+    private int readSnapshot(long snapshotGeneration) throws IOException {
+        Path path = path(SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX);
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = emptyBuffer();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long users = (channel.size() - TRAILER_SIZE) / PAYLOAD_SIZE;
+            for (long i=0; i<users; i++) {
+                if (buffer.remaining() < PAYLOAD_SIZE) {
+                    fill(channel, buffer, PAYLOAD_SIZE);
+                }
+                int position = buffer.position();
+                long userId = buffer.getLong();
+                long point = buffer.getLong();
+                crc.update(buffer.array(), position, PAYLOAD_SIZE);
+                restore(userId, point);
+            }
+            if (buffer.remaining() < TRAILER_SIZE) {
+                fill(channel, buffer, TRAILER_SIZE);
+            }
+            if (buffer.getLong() != users || buffer.getInt() != (int) crc.getValue()) {
+                throw new IllegalStateException("corrupted user point snapshot " + path);
+            }
+            return (int) users;
+        }
+    }
+
+    // 기록 도중 중단된 마지막 레코드에서 멈춘다.
+    private long replay(long walGeneration) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = emptyBuffer();
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(path(WAL_PREFIX, walGeneration, WAL_SUFFIX), StandardOpenOption.READ)) {
+            long remaining = channel.size() / RECORD_SIZE;
+            for (; records<remaining; records++) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    fill(channel, buffer, RECORD_SIZE);
+                }
+                int position = buffer.position();
+                long userId = buffer.getLong();
+                long point = buffer.getLong();
+                crc.reset();
+                crc.update(buffer.array(), position, PAYLOAD_SIZE);
+                if (buffer.getInt() != (int) crc.getValue()) {
+                    logger.warn("discard torn user point log record at {}:{}", walGeneration, records * RECORD_SIZE);
+                    break;
+                }
+                restore(userId, point);
+            }
+        }
+        return records;
+    }
+
+    private void restore(long userId, long point) {
+        userPointTable.insertOrUpdate(userId, point);
+        userIds.add(userId);
+    }
+
+    private void deleteBefore(long snapshotGeneration) throws IOException {
+        for (long walGeneration : generations(WAL_PREFIX, WAL_SUFFIX)) {
+            if (walGeneration < snapshotGeneration) {
+                Files.deleteIfExists(path(WAL_PREFIX, walGeneration, WAL_SUFFIX));
+            }
+        }
+        for (long previous : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (previous < snapshotGeneration) {
+                Files.deleteIfExists(path(SNAPSHOT_PREFIX, previous, SNAPSHOT_SUFFIX));
+            }
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            logger.error("user point snapshot failed", e);
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("user point log flush failed", e);
+        }
+    }
+
+    private FileChannel openWal(long walGeneration) throws IOException {
+        return FileChannel.open(path(WAL_PREFIX, walGeneration, WAL_SUFFIX), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(fileName -> fileName.startsWith(prefix) && fileName.endsWith(suffix))
+                    .map(fileName -> Long.parseLong(fileName.substring(prefix.length(), fileName.length() - suffix.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path path(String prefix, long fileGeneration, String suffix) {
+        return directory.resolve(String.format("%s%020d%s", prefix, fileGeneration, suffix));
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static class PendingRecord {
+        private final long userId;
+        private final long point;
+        // failure 를 먼저 쓰고 done 을 공개한다.
+        private IOException failure;
+        private volatile boolean done;
+
+        private PendingRecord(long userId, long point) {
+            this.userId = userId;
+            this.point = point;
+        }
+    }
+
+    // 읽기용 버퍼는 비어있는 상태(limit 0)에서 시작한다.
+    private static ByteBuffer emptyBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.limit(0);
+        return buffer;
+    }
+
+    // 남은 데이터를 앞으로 옮기고 최소 required 바이트가 찰 때까지 읽는다.
+    private static void fill(FileChannel channel, ByteBuffer buffer, int required) throws IOException {
+        buffer.compact();
+        while (buffer.position() < required) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalStateException("unexpected end of user point file");
+            }
+        }
+        buffer.flip();
+    }
+}
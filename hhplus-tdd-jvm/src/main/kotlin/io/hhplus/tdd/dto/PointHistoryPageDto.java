@@ -0,0 +1,33 @@
+package io.hhplus.tdd.dto;
+
+import java.util.List;
+
+public class PointHistoryPageDto {
+    private List<PointHistoryDto> histories;
+    // 다음 페이지 조회에 사용할 cursor, 마지막 페이지인 경우 null
+    private Long nextCursor;
+    // 보관 기간이 지나 요약된 내역, 요약된 내역이 없으면 null
+    private PointHistorySummaryDto summary;
+
+    public PointHistoryPageDto(List<PointHistoryDto> histories, Long nextCursor) {
+        this(histories, nextCursor, null);
+    }
+
+    public PointHistoryPageDto(List<PointHistoryDto> histories, Long nextCursor, PointHistorySummaryDto summary) {
+        this.histories = histories;
+        this.nextCursor = nextCursor;
+        this.summary = summary;
+    }
+
+    public List<PointHistoryDto> getHistories() {
+        return histories;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public PointHistorySummaryDto getSummary() {
+        return summary;
+    }
+}
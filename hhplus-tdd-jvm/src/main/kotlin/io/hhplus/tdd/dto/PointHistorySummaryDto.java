@@ -0,0 +1,36 @@
+package io.hhplus.tdd.dto;
+
+import io.hhplus.tdd.database.PointHistorySummary;
+import io.hhplus.tdd.point.TransactionType;
+
+// 보관 기간이 지나 요약된 내역의 거래 종류별 건수
+public class PointHistorySummaryDto {
+    private long chargeCount;
+    private long useCount;
+    // 요약에 포함된 마지막 내역의 id 와 시각
+    private long lastId;
+    private long lastTimeMillis;
+
+    public PointHistorySummaryDto(PointHistorySummary summary) {
+        this.chargeCount = summary.getCount(TransactionType.CHARGE);
+        this.useCount = summary.getCount(TransactionType.USE);
+        this.lastId = summary.getLastId();
+        this.lastTimeMillis = summary.getLastTimeMillis();
+    }
+
+    public long getChargeCount() {
+        return chargeCount;
+    }
+
+    public long getUseCount() {
+        return useCount;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public long getLastTimeMillis() {
+        return lastTimeMillis;
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 일괄 처리 요청의 단건 (유저, 충전/사용, 금액).
+ */
+public class PointOperationDto {
+    private Long userId;
+    private TransactionType type;
+    private Long amount;
+
+    public PointOperationDto() {
+
+    }
+
+    public PointOperationDto(Long userId, TransactionType type, Long amount) {
+        this.userId = userId;
+        this.type = type;
+        this.amount = amount;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+}
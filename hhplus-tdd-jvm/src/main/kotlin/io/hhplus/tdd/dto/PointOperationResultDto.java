@@ -0,0 +1,68 @@
+package io.hhplus.tdd.dto;
+
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 일괄 처리 요청의 건별 결과.
+ * 성공하면 변경된 포인트를, 실패하면 에러 코드와 메시지를 담는다.
+ */
+public class PointOperationResultDto {
+    private Long userId;
+    private TransactionType type;
+    private Long amount;
+    private boolean success;
+    private UserPointDto point;
+    private String code;
+    private String message;
+
+    private PointOperationResultDto(PointOperationDto operation, boolean success, UserPointDto point, ErrorCode errorCode) {
+        if (operation != null) {
+            this.userId = operation.getUserId();
+            this.type = operation.getType();
+            this.amount = operation.getAmount();
+        }
+        this.success = success;
+        this.point = point;
+        if (errorCode != null) {
+            this.code = errorCode.getCode();
+            this.message = errorCode.getMessage();
+        }
+    }
+
+    public static PointOperationResultDto success(PointOperationDto operation, UserPointDto point) {
+        return new PointOperationResultDto(operation, true, point, null);
+    }
+
+    public static PointOperationResultDto failure(PointOperationDto operation, ErrorCode errorCode) {
+        return new PointOperationResultDto(operation, false, null, errorCode);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public UserPointDto getPoint() {
+        return point;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
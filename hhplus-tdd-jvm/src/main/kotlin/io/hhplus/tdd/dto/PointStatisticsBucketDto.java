@@ -0,0 +1,42 @@
+package io.hhplus.tdd.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.statistics.PointStatistics;
+
+// 한 구간의 거래 종류별 건수와 금액 합계
+public class PointStatisticsBucketDto {
+    // 구간 시작 시각
+    private long startMillis;
+    private long chargeCount;
+    private long chargeAmount;
+    private long useCount;
+    private long useAmount;
+
+    public PointStatisticsBucketDto(PointStatistics.Totals totals) {
+        this.startMillis = totals.getStartMillis();
+        this.chargeCount = totals.getCount(TransactionType.CHARGE);
+        this.chargeAmount = totals.getAmount(TransactionType.CHARGE);
+        this.useCount = totals.getCount(TransactionType.USE);
+        this.useAmount = totals.getAmount(TransactionType.USE);
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getChargeCount() {
+        return chargeCount;
+    }
+
+    public long getChargeAmount() {
+        return chargeAmount;
+    }
+
+    public long getUseCount() {
+        return useCount;
+    }
+
+    public long getUseAmount() {
+        return useAmount;
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.dto;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.statistics.PointStatistics;
+
+import java.util.List;
+
+public class PointStatisticsDto {
+    private long userId;
+    private long chargeCount;
+    private long chargeAmount;
+    private long useCount;
+    private long useAmount;
+    // 요청한 구간 단위의 최근 구간별 합계, 구간 단위를 요청하지 않은 경우 빈 목록
+    private List<PointStatisticsBucketDto> buckets;
+
+    public PointStatisticsDto(long userId, PointStatistics.Totals total, List<PointStatisticsBucketDto> buckets) {
+        this.userId = userId;
+        this.chargeCount = total.getCount(TransactionType.CHARGE);
+        this.chargeAmount = total.getAmount(TransactionType.CHARGE);
+        this.useCount = total.getCount(TransactionType.USE);
+        this.useAmount = total.getAmount(TransactionType.USE);
+        this.buckets = buckets;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getChargeCount() {
+        return chargeCount;
+    }
+
+    public long getChargeAmount() {
+        return chargeAmount;
+    }
+
+    public long getUseCount() {
+        return useCount;
+    }
+
+    public long getUseAmount() {
+        return useAmount;
+    }
+
+    public List<PointStatisticsBucketDto> getBuckets() {
+        return buckets;
+    }
+}
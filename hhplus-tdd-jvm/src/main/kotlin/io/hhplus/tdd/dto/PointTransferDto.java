@@ -0,0 +1,26 @@
+package io.hhplus.tdd.dto;
+
+/**
+ * 이체 요청 (받을 유저, 금액).
+ */
+public class PointTransferDto {
+    private Long toUserId;
+    private Long amount;
+
+    public PointTransferDto() {
+
+    }
+
+    public PointTransferDto(Long toUserId, Long amount) {
+        this.toUserId = toUserId;
+        this.amount = amount;
+    }
+
+    public Long getToUserId() {
+        return toUserId;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+}
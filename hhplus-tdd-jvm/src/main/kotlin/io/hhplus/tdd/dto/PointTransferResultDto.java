@@ -0,0 +1,22 @@
+package io.hhplus.tdd.dto;
+
+/**
+ * 이체 결과, 보낸 유저와 받은 유저의 변경된 포인트.
+ */
+public class PointTransferResultDto {
+    private UserPointDto from;
+    private UserPointDto to;
+
+    public PointTransferResultDto(UserPointDto from, UserPointDto to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public UserPointDto getFrom() {
+        return from;
+    }
+
+    public UserPointDto getTo() {
+        return to;
+    }
+}
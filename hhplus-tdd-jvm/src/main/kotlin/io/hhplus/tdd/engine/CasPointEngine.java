@@ -0,0 +1,301 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointJournal;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
+
+/**
+ * 유저별 잔고를 원자적 셀에 두고 compare-and-set 재시도로 충전/사용을 처리한다.
+ * 잔고 부족 검사(UserPoint.usePoint)는 매 시도마다 셀의 현재 값으로 수행한다.
+ * CAS 에 성공한 순서(버전)대로 테이블 반영과 내역 저장 요청을 진행하므로
+ * 내역의 순서는 잔고 변경 순서와 항상 일치한다.
+ * 이체는 두 유저의 셀을 id 순서대로 잠근(frozen) 뒤 두 잔고를 함께 반영하고 잠금을 푼다.
+ * 잠긴 셀의 충전/사용은 잠금이 풀릴 때까지 기다리므로 이체 도중 두 유저의 다른 변경이 끼어들지 않는다.
+ * 셀은 요청이 진행중인 동안만 참조 카운트로 유지하고, 마지막 요청이 끝나면 제거하여 다음 요청에서 테이블을 다시 읽는다.
+ * 테이블 반영에 실패하면 셀을 버리고, 실패한 잔고를 기준으로 CAS 한 뒤 요청들은 새 셀에서 다시 시도한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.mode", havingValue = "cas")
+public class CasPointEngine implements PointEngine {
+
+    private static final int SPIN_LIMIT = 100;
+
+    private final ConcurrentHashMap<Long, BalanceCell> cells = new ConcurrentHashMap<>();
+
+    private UserPointTable userPointTable;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointMetrics pointMetrics;
+    private UserPointJournal userPointJournal;
+
+    public CasPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, PointMetrics pointMetrics) {
+        this(userPointTable, pointHistoryWriter, pointMetrics, Optional.empty());
+    }
+
+    @Autowired
+    public CasPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, PointMetrics pointMetrics,
+                          Optional<UserPointJournal> userPointJournal) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+        this.userPointJournal = userPointJournal.orElse(null);
+    }
+
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        return update(id, TransactionType.CHARGE, current -> new UserPoint(id, amount, System.currentTimeMillis()));
+    }
+
+    @Override
+    public UserPoint use(Long id, Long amount) {
+        return update(id, TransactionType.USE, current -> current.usePoint(amount));
+    }
+
+    // 서로 다른 두 유저의 이체만 요청된다. (PointService 에서 검증)
+    @Override
+    public PointTransfer transfer(Long fromId, Long toId, Long amount) {
+        while (true) {
+            BalanceCell senderCell = acquire(fromId);
+            BalanceCell receiverCell = acquire(toId);
+            try {
+                PointTransfer pointTransfer = tryTransfer(fromId, toId, amount, senderCell, receiverCell);
+                if (pointTransfer != null) {
+                    return pointTransfer;
+                }
+            } finally {
+                release(toId, receiverCell);
+                release(fromId, senderCell);
+            }
+        }
+    }
+
+    // 현재 셀을 보유중인 유저 수
+    public int size() {
+        return cells.size();
+    }
+
+    // 잠그는 도중 버려진 셀을 만나면 null 반환
+    private PointTransfer tryTransfer(Long fromId, Long toId, Long amount, BalanceCell senderCell, BalanceCell receiverCell) {
+        BalanceCell firstCell = fromId < toId ? senderCell : receiverCell;
+        BalanceCell secondCell = fromId < toId ? receiverCell : senderCell;
+        Balance first = firstCell.freeze();
+        if (first == null) {
+            return null;
+        }
+        Balance second = secondCell.freeze();
+        if (second == null) {
+            firstCell.unfreeze(first);
+            return null;
+        }
+        Balance sender = fromId < toId ? first : second;
+        Balance receiver = fromId < toId ? second : first;
+
+        // 잔고 부족, 잔고 범위 초과를 모두 확인한 뒤에 반영하여 한쪽만 변경되지 않도록 한다.
+        // 테이블에 반영된 잔고만 셀에 공개하므로 실패해도 셀과 테이블의 잔고는 같다.
+        Balance nextSender = sender;
+        Balance nextReceiver = receiver;
+        CompletableFuture<PointHistory> senderHistory;
+        CompletableFuture<PointHistory> receiverHistory;
+        try {
+            long senderPoint = sender.userPoint.usePoint(amount).getPoint();
+            long receiverPoint = receiver.userPoint.receivePoint(amount).getPoint();
+            nextSender = new Balance(insertOrUpdate(fromId, senderPoint), sender.version + 1);
+            try {
+                nextReceiver = new Balance(insertOrUpdate(toId, receiverPoint), receiver.version + 1);
+            } catch (RuntimeException e) {
+                // 받는 유저의 테이블 반영에 실패하면 보낸 유저의 잔고를 되돌린다.
+                nextSender = new Balance(insertOrUpdate(fromId, sender.userPoint.getPoint()), nextSender.version + 1);
+                throw e;
+            }
+            senderHistory = publish(nextSender.userPoint, TransactionType.USE);
+            receiverHistory = publish(nextReceiver.userPoint, TransactionType.CHARGE);
+        } finally {
+            senderCell.unfreeze(nextSender);
+            receiverCell.unfreeze(nextReceiver);
+        }
+        pointHistoryWriter.await(senderHistory);
+        pointHistoryWriter.await(receiverHistory);
+        return new PointTransfer(nextSender.userPoint, nextReceiver.userPoint);
+    }
+
+    private UserPoint update(Long id, TransactionType type, UnaryOperator<UserPoint> operation) {
+        while (true) {
+            BalanceCell cell = acquire(id);
+            try {
+                UserPoint saved = tryUpdate(id, type, operation, cell);
+                if (saved != null) {
+                    return saved;
+                }
+            } finally {
+                release(id, cell);
+            }
+        }
+    }
+
+    // CAS 한 잔고의 기준이 된 변경이 테이블 반영에 실패하여 셀이 버려졌다면 null 반환
+    private UserPoint tryUpdate(Long id, TransactionType type, UnaryOperator<UserPoint> operation, BalanceCell cell) {
+        // 이체로 잠긴 셀은 잠금이 풀릴 때까지 기다린다.
+        Balance current;
+        Balance next;
+        int spins = 0;
+        while (true) {
+            if (cell.isDiscarded()) {
+                return null;
+            }
+            current = cell.balance.get();
+            if (current.frozen) {
+                backoff(++spins);
+                continue;
+            }
+            next = new Balance(operation.apply(current.userPoint), current.version + 1);
+            if (cell.balance.compareAndSet(current, next)) {
+                break;
+            }
+        }
+
+        // 앞선 버전의 반영이 끝난 뒤에 반영하여 테이블과 내역의 순서를 CAS 순서와 맞춘다.
+        cell.awaitPublished(current.version);
+        if (cell.isDiscarded()) {
+            return null;
+        }
+        UserPoint saved;
+        try {
+            saved = insertOrUpdate(id, next.userPoint.getPoint());
+        } catch (RuntimeException e) {
+            // 셀에는 반영되었으나 테이블에는 반영되지 않은 잔고이므로 셀을 버린다.
+            cells.remove(id, cell);
+            cell.discard();
+            throw e;
+        }
+        CompletableFuture<PointHistory> history;
+        try {
+            history = publish(saved, type);
+        } finally {
+            cell.published = next.version;
+        }
+        pointHistoryWriter.await(history);
+        return saved;
+    }
+
+    private UserPoint insertOrUpdate(Long id, long point) {
+        return pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "insertOrUpdate", () -> userPointTable.insertOrUpdate(id, point));
+    }
+
+    // 잔고 로그를 남기고 내역 저장 요청
+    private CompletableFuture<PointHistory> publish(UserPoint saved, TransactionType type) {
+        if (userPointJournal != null) {
+            userPointJournal.append(saved);
+        }
+        return pointHistoryWriter.append(saved.getId(), saved.getPoint(), type, saved.getUpdateMillis());
+    }
+
+    // 참조 카운트 증가는 ConcurrentHashMap 의 compute 안에서 원자적으로 처리
+    // compute 는 버킷 모니터를 잡은 채 실행되므로 테이블 조회(블로킹)는 밖에서 수행한다.
+    private BalanceCell acquire(Long id) {
+        BalanceCell cell = cells.compute(id, (key, entry) -> {
+            BalanceCell balanceCell = entry == null ? new BalanceCell() : entry;
+            balanceCell.holders++;
+            return balanceCell;
+        });
+        if (cell.balance.get() == null) {
+            // 셀이 새로 만들어졌다면 이전 셀의 요청은 모두 끝났으므로 테이블의 잔고가 마지막 잔고이다.
+            UserPoint userPoint = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(id));
+            cell.balance.compareAndSet(null, new Balance(userPoint, 0L));
+        }
+        return cell;
+    }
+
+    // 마지막 참조가 해제되면 셀을 제거, 이미 버려져 다른 셀로 바뀌었다면 그대로 둔다.
+    private void release(Long id, BalanceCell cell) {
+        cells.computeIfPresent(id, (key, entry) -> entry == cell && --entry.holders == 0 ? null : entry);
+    }
+
+    private static void backoff(int spins) {
+        if (spins < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(1_000L);
+        }
+    }
+
+    private static class Balance {
+        private final UserPoint userPoint;
+        private final long version;
+        // 이체가 잠근 잔고, 잠금이 풀릴 때까지 다른 변경은 CAS 하지 않는다.
+        private final boolean frozen;
+
+        private Balance(UserPoint userPoint, long version) {
+            this(userPoint, version, false);
+        }
+
+        private Balance(UserPoint userPoint, long version, boolean frozen) {
+            this.userPoint = userPoint;
+            this.version = version;
+            this.frozen = frozen;
+        }
+    }
+
+    private static class BalanceCell {
+        // 처음 참조한 요청이 테이블에서 읽어 채운다.
+        private final AtomicReference<Balance> balance = new AtomicReference<>();
+        // 테이블과 내역에 반영이 끝난 마지막 버전, 버려진 셀은 Long.MAX_VALUE
+        private volatile long published;
+        private volatile boolean discarded;
+        // compute 블록 안에서만 변경된다.
+        private int holders;
+
+        private boolean isDiscarded() {
+            return discarded;
+        }
+
+        // 반영을 기다리던 요청이 모두 깨어나 버려진 셀임을 확인하도록 한다.
+        private void discard() {
+            discarded = true;
+            published = Long.MAX_VALUE;
+        }
+
+        private void awaitPublished(long version) {
+            int spins = 0;
+            while (published < version) {
+                backoff(++spins);
+            }
+        }
+
+        // 잠기지 않은 잔고를 잠그고, 앞선 버전의 반영이 끝나면 잠그기 전의 잔고 반환
+        // 버려진 셀이면 null 반환
+        private Balance freeze() {
+            int spins = 0;
+            while (!discarded) {
+                Balance current = balance.get();
+                if (!current.frozen && balance.compareAndSet(current, new Balance(current.userPoint, current.version, true))) {
+                    awaitPublished(current.version);
+                    return discarded ? null : current;
+                }
+                backoff(++spins);
+            }
+            return null;
+        }
+
+        // 잠근 쓰레드만 호출하며, 반영한 버전을 먼저 공개한 뒤 잠금을 푼다.
+        private void unfreeze(Balance next) {
+            if (!discarded) {
+                published = next.version;
+            }
+            balance.set(next);
+        }
+    }
+}
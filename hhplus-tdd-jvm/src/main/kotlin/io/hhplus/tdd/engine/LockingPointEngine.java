@@ -0,0 +1,144 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointJournal;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 유저 단위 락으로 같은 유저의 충전/사용을 순차적으로 처리한다.
+ * 내역은 락 안에서 저장 큐에 넣어 순서를 보장하고, 저장 완료는 락을 해제한 뒤 기다린다.
+ * 이체는 두 유저의 락만 id 순서대로 잡으므로 서로 다른 유저 쌍의 이체는 병렬로 처리된다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.mode", havingValue = "lock", matchIfMissing = true)
+public class LockingPointEngine implements PointEngine {
+
+    private UserPointTable userPointTable;
+    private PointHistoryWriter pointHistoryWriter;
+    private UserLockManager userLockManager;
+    private PointMetrics pointMetrics;
+    private UserPointJournal userPointJournal;
+
+    public LockingPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, UserLockManager userLockManager, PointMetrics pointMetrics) {
+        this(userPointTable, pointHistoryWriter, userLockManager, pointMetrics, Optional.empty());
+    }
+
+    @Autowired
+    public LockingPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, UserLockManager userLockManager, PointMetrics pointMetrics,
+                              Optional<UserPointJournal> userPointJournal) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.userLockManager = userLockManager;
+        this.pointMetrics = pointMetrics;
+        this.userPointJournal = userPointJournal.orElse(null);
+    }
+
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        PendingUpdate pendingUpdate = userLockManager.executeWithLock(id, () -> {
+            UserPoint userPoint = insertOrUpdate(id, amount);
+            return new PendingUpdate(userPoint, pointHistoryWriter.append(userPoint.getId(), userPoint.getPoint(), TransactionType.CHARGE, userPoint.getUpdateMillis()));
+        });
+        return pendingUpdate.await(pointHistoryWriter);
+    }
+
+    @Override
+    public UserPoint use(Long id, Long amount) {
+        PendingUpdate pendingUpdate = userLockManager.executeWithLock(id, () -> {
+            UserPoint userPoint = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(id));
+            UserPoint usedUserPoint = userPoint.usePoint(amount);
+            UserPoint savedUserPoint = insertOrUpdate(usedUserPoint.getId(), usedUserPoint.getPoint());
+            return new PendingUpdate(savedUserPoint, pointHistoryWriter.append(savedUserPoint.getId(), savedUserPoint.getPoint(), TransactionType.USE, savedUserPoint.getUpdateMillis()));
+        });
+        return pendingUpdate.await(pointHistoryWriter);
+    }
+
+    @Override
+    public PointTransfer transfer(Long fromId, Long toId, Long amount) {
+        PendingTransfer pendingTransfer = userLockManager.executeWithLocks(fromId, toId, () -> {
+            // 잔고 부족, 잔고 범위 초과를 모두 확인한 뒤에 반영하여 한쪽만 변경되지 않도록 한다.
+            UserPoint current = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(fromId));
+            UserPoint sender = current.usePoint(amount);
+            UserPoint receiver = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(toId)).receivePoint(amount);
+            // 받는 유저의 테이블 반영에 실패하면 보낸 유저의 잔고를 되돌리고, 잔고 로그는 두 유저 모두 반영된 뒤 남긴다.
+            UserPoint savedSender = save(fromId, sender.getPoint());
+            UserPoint savedReceiver;
+            try {
+                savedReceiver = save(toId, receiver.getPoint());
+            } catch (RuntimeException e) {
+                appendJournal(save(fromId, current.getPoint()));
+                throw e;
+            }
+            appendJournal(savedSender);
+            appendJournal(savedReceiver);
+            return new PendingTransfer(new PointTransfer(savedSender, savedReceiver),
+                    pointHistoryWriter.append(fromId, savedSender.getPoint(), TransactionType.USE, savedSender.getUpdateMillis()),
+                    pointHistoryWriter.append(toId, savedReceiver.getPoint(), TransactionType.CHARGE, savedReceiver.getUpdateMillis()));
+        });
+        return pendingTransfer.await(pointHistoryWriter);
+    }
+
+    // 잔고 로그는 테이블 반영 후 락 안에서 기록하여 유저별 로그 순서를 변경 순서와 맞춘다.
+    private UserPoint insertOrUpdate(Long id, Long point) {
+        UserPoint userPoint = save(id, point);
+        appendJournal(userPoint);
+        return userPoint;
+    }
+
+    private UserPoint save(Long id, long point) {
+        return pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "insertOrUpdate", () -> userPointTable.insertOrUpdate(id, point));
+    }
+
+    private void appendJournal(UserPoint userPoint) {
+        if (userPointJournal != null) {
+            userPointJournal.append(userPoint);
+        }
+    }
+
+    private static class PendingUpdate {
+        private final UserPoint userPoint;
+        private final CompletableFuture<PointHistory> history;
+
+        private PendingUpdate(UserPoint userPoint, CompletableFuture<PointHistory> history) {
+            this.userPoint = userPoint;
+            this.history = history;
+        }
+
+        // 내역 저장이 끝난 뒤 변경된 포인트를 반환
+        private UserPoint await(PointHistoryWriter pointHistoryWriter) {
+            pointHistoryWriter.await(history);
+            return userPoint;
+        }
+    }
+
+    private static class PendingTransfer {
+        private final PointTransfer pointTransfer;
+        private final CompletableFuture<PointHistory> senderHistory;
+        private final CompletableFuture<PointHistory> receiverHistory;
+
+        private PendingTransfer(PointTransfer pointTransfer, CompletableFuture<PointHistory> senderHistory, CompletableFuture<PointHistory> receiverHistory) {
+            this.pointTransfer = pointTransfer;
+            this.senderHistory = senderHistory;
+            this.receiverHistory = receiverHistory;
+        }
+
+        // 두 유저의 내역 저장이 모두 끝난 뒤 이체 결과를 반환
+        private PointTransfer await(PointHistoryWriter pointHistoryWriter) {
+            pointHistoryWriter.await(senderHistory);
+            pointHistoryWriter.await(receiverHistory);
+            return pointTransfer;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointJournal;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
+
+/**
+ * 테이블의 잔고 버전으로 충돌을 감지하여 락 없이 충전/사용을 처리한다.
+ * 잔고를 조회해 변경한 값을 조회한 버전이 그대로일 때만 저장(updateIfVersion)하고,
+ * 그 사이 다른 요청이 먼저 저장했다면 다시 조회하여 최대 max-retries 번 재시도한다.
+ * 재시도를 모두 실패한 요청은 유저 단위 락을 잡고 배타 모드로 전환하여, 진행중인 낙관적 시도가 끝나면 한 번에 저장한다.
+ * 배타 모드인 동안 새 낙관적 시도는 기다리므로 경합이 심한 유저에서도 락을 잡은 요청이 계속 밀리지 않는다.
+ * 내역은 저장된 버전 순서대로 저장 요청하므로 내역의 순서는 잔고 변경 순서와 일치한다.
+ * 유저별 상태는 요청이 진행중인 동안만 참조 카운트로 유지하며, 그 동안은 이 엔진만 잔고를 변경한다고 가정한다.
+ * 이체는 두 유저의 락을 잡고 배타 모드로 전환한 뒤, 진행중인 낙관적 시도가 끝나면 두 잔고를 함께 저장한다.
+ * 배타 모드인 유저의 낙관적 시도는 배타 모드가 끝날 때까지 기다리므로 이체 도중 두 유저의 다른 변경이 끼어들지 않는다.
+ * 시도 결과는 point.engine.optimistic.attempts (result=success|conflict),
+ * 락으로 전환한 요청 수는 point.engine.optimistic.fallbacks, 충돌 비율은 point.engine.optimistic.conflict.ratio 로 등록한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.mode", havingValue = "optimistic")
+public class OptimisticPointEngine implements PointEngine {
+
+    private static final int SPIN_LIMIT = 100;
+
+    private final ConcurrentHashMap<Long, UserState> userStates = new ConcurrentHashMap<>();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    private UserPointTable userPointTable;
+    private PointHistoryWriter pointHistoryWriter;
+    private UserLockManager userLockManager;
+    private PointMetrics pointMetrics;
+    private UserPointJournal userPointJournal;
+    private int maxRetries;
+
+    public OptimisticPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, UserLockManager userLockManager, PointMetrics pointMetrics,
+                                 int maxRetries) {
+        this(userPointTable, pointHistoryWriter, userLockManager, pointMetrics, maxRetries, Optional.empty());
+    }
+
+    @Autowired
+    public OptimisticPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, UserLockManager userLockManager, PointMetrics pointMetrics,
+                                 @Value("${point.engine.optimistic.max-retries:3}") int maxRetries,
+                                 Optional<UserPointJournal> userPointJournal) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.userPointTable = userPointTable;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.userLockManager = userLockManager;
+        this.pointMetrics = pointMetrics;
+        this.maxRetries = maxRetries;
+        this.userPointJournal = userPointJournal.orElse(null);
+        FunctionCounter.builder("point.engine.optimistic.attempts", successes, LongAdder::sum)
+                .tag("result", "success")
+                .description("버전이 그대로여서 저장된 시도 수")
+                .register(pointMetrics.getMeterRegistry());
+        FunctionCounter.builder("point.engine.optimistic.attempts", conflicts, LongAdder::sum)
+                .tag("result", "conflict")
+                .description("다른 요청이 먼저 저장하여 다시 시도한 수")
+                .register(pointMetrics.getMeterRegistry());
+        FunctionCounter.builder("point.engine.optimistic.fallbacks", fallbacks, LongAdder::sum)
+                .description("재시도를 모두 실패하여 유저 락을 잡고 처리한 요청 수")
+                .register(pointMetrics.getMeterRegistry());
+        Gauge.builder("point.engine.optimistic.conflict.ratio", this, OptimisticPointEngine::getConflictRatio)
+                .register(pointMetrics.getMeterRegistry());
+    }
+
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        return update(id, TransactionType.CHARGE, current -> new UserPoint(id, amount, System.currentTimeMillis()));
+    }
+
+    @Override
+    public UserPoint use(Long id, Long amount) {
+        return update(id, TransactionType.USE, current -> current.usePoint(amount));
+    }
+
+    // 서로 다른 두 유저의 이체만 요청된다. (PointService 에서 검증)
+    @Override
+    public PointTransfer transfer(Long fromId, Long toId, Long amount) {
+        UserState senderState = acquire(fromId);
+        UserState receiverState = acquire(toId);
+        CompletableFuture<PointTransfer> pending;
+        try {
+            pending = userLockManager.executeWithLocks(fromId, toId, () -> {
+                senderState.enterExclusive();
+                receiverState.enterExclusive();
+                try {
+                    // 잔고 부족, 잔고 범위 초과를 모두 확인한 뒤에 저장하여 한쪽만 변경되지 않도록 한다.
+                    UserPoint sender = selectById(fromId, senderState);
+                    UserPoint receiver = selectById(toId, receiverState);
+                    long senderPoint = sender.usePoint(amount).getPoint();
+                    long receiverPoint = receiver.receivePoint(amount).getPoint();
+                    UserPoint savedSender = updateIfVersion(sender, senderPoint);
+                    UserPoint savedReceiver;
+                    try {
+                        savedReceiver = updateIfVersion(receiver, receiverPoint);
+                    } catch (RuntimeException e) {
+                        restore(sender, savedSender, senderState);
+                        throw e;
+                    }
+                    // 보낸 유저의 공개에 실패해도 받는 유저의 버전은 공개하여 다음 요청이 기다리지 않도록 한다.
+                    CompletableFuture<UserPoint> senderHistory;
+                    try {
+                        senderHistory = publish(savedSender, TransactionType.USE, senderState);
+                    } catch (RuntimeException e) {
+                        receiverState.advance(receiver.getVersion(), savedReceiver.getVersion());
+                        throw e;
+                    }
+                    return senderHistory.thenCombine(publish(savedReceiver, TransactionType.CHARGE, receiverState), PointTransfer::new);
+                } finally {
+                    receiverState.exitExclusive();
+                    senderState.exitExclusive();
+                }
+            });
+        } finally {
+            release(toId);
+            release(fromId);
+        }
+        return pointHistoryWriter.await(pending);
+    }
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    // 전체 시도 중 충돌로 다시 시도한 비율
+    public double getConflictRatio() {
+        long conflictCount = conflicts.sum();
+        long total = successes.sum() + conflictCount;
+        return total == 0 ? 0.0 : conflictCount / (double) total;
+    }
+
+    // 현재 상태를 보유중인 유저 수
+    public int size() {
+        return userStates.size();
+    }
+
+    private UserPoint update(Long id, TransactionType type, UnaryOperator<UserPoint> operation) {
+        UserState state = acquire(id);
+        CompletableFuture<UserPoint> pending;
+        try {
+            pending = apply(id, type, operation, state);
+        } finally {
+            release(id);
+        }
+        return pointHistoryWriter.await(pending);
+    }
+
+    private CompletableFuture<UserPoint> apply(Long id, TransactionType type, UnaryOperator<UserPoint> operation, UserState state) {
+        for (int attempt=0; attempt<=maxRetries; attempt++) {
+            UserPoint saved = tryUpdate(id, operation, state);
+            if (saved != null) {
+                return publish(saved, type, state);
+            }
+        }
+        // 락을 잡은 요청끼리는 충돌하지 않고, 배타 모드에서는 낙관적 시도가 저장하지 않으므로 한 번에 저장된다.
+        fallbacks.increment();
+        return userLockManager.executeWithLock(id, () -> {
+            state.enterExclusive();
+            try {
+                UserPoint current = selectById(id, state);
+                return publish(updateIfVersion(current, operation.apply(current).getPoint()), type, state);
+            } finally {
+                state.exitExclusive();
+            }
+        });
+    }
+
+    // 잔고 부족 등 검사는 조회한 잔고로 수행하고, 다른 요청이 먼저 저장했다면 null 반환
+    private UserPoint tryUpdate(Long id, UnaryOperator<UserPoint> operation, UserState state) {
+        state.enterOptimistic();
+        try {
+            UserPoint current = selectById(id, state);
+            long point = operation.apply(current).getPoint();
+            UserPoint saved = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "updateIfVersion",
+                    () -> userPointTable.updateIfVersion(id, point, current.getVersion()));
+            if (saved == null) {
+                conflicts.increment();
+            } else {
+                successes.increment();
+            }
+            return saved;
+        } finally {
+            state.exitOptimistic();
+        }
+    }
+
+    private UserPoint selectById(Long id, UserState state) {
+        UserPoint current = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(id));
+        state.initialize(current.getVersion());
+        return current;
+    }
+
+    // 배타 모드에서는 다른 요청이 저장하지 않으므로 버전이 바뀌었다면 엔진 밖에서 잔고를 변경한 것이다.
+    private UserPoint updateIfVersion(UserPoint current, long point) {
+        UserPoint saved = pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "updateIfVersion",
+                () -> userPointTable.updateIfVersion(current.getId(), point, current.getVersion()));
+        if (saved == null) {
+            throw new IllegalStateException("user point changed outside of engine: " + current.getId());
+        }
+        successes.increment();
+        return saved;
+    }
+
+    // 받는 유저의 저장에 실패한 이체에서 보낸 유저의 잔고를 이체 전으로 되돌린다.
+    // 되돌린 잔고는 이체 전과 같으므로 잔고 로그와 내역 없이 버전만 공개하고,
+    // 되돌리기에 실패하면 테이블에 남은 차감을 그대로 공개한다.
+    private void restore(UserPoint sender, UserPoint savedSender, UserState state) {
+        UserPoint restored;
+        try {
+            restored = updateIfVersion(savedSender, sender.getPoint());
+        } catch (RuntimeException e) {
+            publish(savedSender, TransactionType.USE, state);
+            return;
+        }
+        state.advance(sender.getVersion(), restored.getVersion());
+    }
+
+    // 앞선 버전의 잔고 로그와 내역 저장 요청이 끝난 뒤에 요청하고, 내역 저장이 끝나면 완료
+    private CompletableFuture<UserPoint> publish(UserPoint saved, TransactionType type, UserState state) {
+        state.awaitPublished(saved.getVersion() - 1);
+        CompletableFuture<PointHistory> history;
+        try {
+            if (userPointJournal != null) {
+                userPointJournal.append(saved);
+            }
+            history = pointHistoryWriter.append(saved.getId(), saved.getPoint(), type, saved.getUpdateMillis());
+        } finally {
+            state.published.set(saved.getVersion());
+        }
+        return history.thenApply(pointHistory -> saved);
+    }
+
+    // 참조 카운트 증가는 ConcurrentHashMap 의 compute 안에서 원자적으로 처리
+    private UserState acquire(Long id) {
+        return userStates.compute(id, (key, entry) -> {
+            UserState userState = entry == null ? new UserState() : entry;
+            userState.holders++;
+            return userState;
+        });
+    }
+
+    // 마지막 참조가 해제되면 상태를 제거, 다음 요청은 다시 조회한 버전으로 시작한다.
+    private void release(Long id) {
+        userStates.computeIfPresent(id, (key, entry) -> --entry.holders == 0 ? null : entry);
+    }
+
+    private static void backoff(int spins) {
+        if (spins < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(1_000L);
+        }
+    }
+
+    /**
+     * 유저별로 잔고 로그와 내역 저장 요청까지 끝난 마지막 버전과 진행중인 낙관적 시도, 배타 모드 수.
+     * 버전은 처음 조회한 버전으로 초기화하며, 그 이후의 버전은 이 엔진이 저장한 것이다.
+     * 상태가 제거될 때는 참조하는 요청이 없으므로 마지막 버전까지 잔고 로그와 내역 저장 요청이 끝난 상태이다.
+     */
+    private static class UserState {
+        private static final long UNSET = -1L;
+
+        private final AtomicLong published = new AtomicLong(UNSET);
+        private final AtomicInteger optimistic = new AtomicInteger();
+        private final AtomicInteger exclusive = new AtomicInteger();
+        // compute 블록 안에서만 변경된다.
+        private int holders;
+
+        private void initialize(long version) {
+            if (published.get() == UNSET) {
+                published.compareAndSet(UNSET, version);
+            }
+        }
+
+        private void awaitPublished(long previousVersion) {
+            int spins = 0;
+            while (published.get() < previousVersion) {
+                backoff(++spins);
+            }
+        }
+
+        // 잔고 로그와 내역 없이 previousVersion 다음 버전들을 version 까지 공개
+        private void advance(long previousVersion, long version) {
+            awaitPublished(previousVersion);
+            published.set(version);
+        }
+
+        // 배타 모드가 아닐 때만 시도를 시작하고, 배타 모드라면 끝날 때까지 기다린다.
+        private void enterOptimistic() {
+            int spins = 0;
+            while (true) {
+                optimistic.incrementAndGet();
+                if (exclusive.get() == 0) {
+                    return;
+                }
+                optimistic.decrementAndGet();
+                while (exclusive.get() > 0) {
+                    backoff(++spins);
+                }
+            }
+        }
+
+        private void exitOptimistic() {
+            optimistic.decrementAndGet();
+        }
+
+        // 유저 락을 잡은 쓰레드(이체, 재시도를 모두 실패한 요청)만 호출하며, 진행중인 낙관적 시도가 끝날 때까지 기다린다.
+        private void enterExclusive() {
+            exclusive.incrementAndGet();
+            int spins = 0;
+            while (optimistic.get() > 0) {
+                backoff(++spins);
+            }
+        }
+
+        private void exitExclusive() {
+            exclusive.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 포인트 충전/사용의 동시성 제어 방식.
+ * point.engine.mode 설정으로 구현체를 선택한다.
+ * - lock : 유저 단위 락 (기본값)
+ * - cas : 유저별 원자적 셀에 대한 compare-and-set
+ * - sharded : 유저 id 샤드별 단일 쓰레드가 ring buffer 의 명령을 순서대로 처리
+ * - optimistic : 잔고 버전이 그대로일 때만 저장하고 충돌시 재시도, 재시도를 모두 실패하면 유저 단위 락
+ */
+public interface PointEngine {
+
+    UserPoint charge(Long id, Long amount);
+
+    UserPoint use(Long id, Long amount);
+
+    // fromId 의 포인트를 amount 만큼 toId 로 옮기고, 보낸 유저에는 사용 내역, 받은 유저에는 충전 내역을 저장
+    PointTransfer transfer(Long fromId, Long toId, Long amount);
+}
@@ -0,0 +1,464 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointJournal;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 id 를 샤드로 나누고, 샤드마다 하나의 쓰레드(single writer)가 충전/사용을 순서대로 반영한다.
+ * 요청 쓰레드는 샤드의 고정 크기 ring buffer 에 명령을 넣고 완료를 기다리며, 락을 잡지 않는다.
+ * 같은 유저의 명령은 항상 같은 샤드에서 넣은 순서대로 처리되므로 잔고와 내역의 순서가 일치한다.
+ * 담당 유저의 잔고는 샤드 쓰레드만 변경하므로, 별도로 들고 있지 않고 UserPointTable 에서 바로 읽고 쓴다.
+ * ring buffer 가 가득 차면 요청 쓰레드는 빈 칸이 생길 때까지 기다린다.
+ * 이체는 두 유저의 샤드에 같은 이체 명령을 넣고, 나중에 꺼낸 샤드 쓰레드가 두 잔고를 함께 반영한다.
+ * 먼저 꺼낸 샤드 쓰레드는 반영이 끝날 때까지 다음 명령을 처리하지 않으므로 이체 도중 두 유저의 다른 변경이 끼어들지 않는다.
+ * 샤드 쓰레드끼리 서로의 이체를 기다리며 멈추지 않도록, 두 샤드의 이체 락을 샤드 번호 순서로 잡은 뒤 두 샤드에 넣는다.
+ * 같은 샤드를 쓰는 이체끼리만 순서가 정해지므로 서로 다른 샤드 사이의 이체는 동시에 넣을 수 있고,
+ * 모든 샤드에서 이체의 순서가 락을 잡은 순서와 같아 순환 대기가 생기지 않는다.
+ * 요청 쓰레드가 기다리는 시간을 넘기면, 샤드 쓰레드가 아직 시작하지 않은 명령은 취소하여 나중에 반영되지 않도록 한다.
+ * 샤드 큐에 쌓인 명령 수는 point.engine.shard.queue.size 로 등록한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine.mode", havingValue = "sharded")
+public class ShardedPointEngine implements PointEngine {
+
+    private static final int SPIN_LIMIT = 100;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Shard[] shards;
+    private UserPointTable userPointTable;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointMetrics pointMetrics;
+    private UserPointJournal userPointJournal;
+
+    public ShardedPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, PointMetrics pointMetrics,
+                              int shardCount, int ringSize) {
+        this(userPointTable, pointHistoryWriter, pointMetrics, shardCount, ringSize, Optional.empty());
+    }
+
+    // shard-count 가 0 이면 CPU 코어 수만큼 샤드를 만든다.
+    @Autowired
+    public ShardedPointEngine(UserPointTable userPointTable, PointHistoryWriter pointHistoryWriter, PointMetrics pointMetrics,
+                              @Value("${point.engine.sharded.shard-count:0}") int shardCount,
+                              @Value("${point.engine.sharded.ring-size:1024}") int ringSize,
+                              Optional<UserPointJournal> userPointJournal) {
+        if (shardCount < 0 || ringSize <= 0 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("shardCount must not be negative and ringSize must be a power of two");
+        }
+        this.userPointTable = userPointTable;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+        this.userPointJournal = userPointJournal.orElse(null);
+        this.shards = new Shard[shardCount == 0 ? Runtime.getRuntime().availableProcessors() : shardCount];
+        for (int i=0; i<shards.length; i++) {
+            shards[i] = new Shard(i, ringSize);
+        }
+        Gauge.builder("point.engine.shard.queue.size", this, ShardedPointEngine::getQueueSize)
+                .description("샤드 ring buffer 에 쌓여 처리를 기다리는 명령 수")
+                .register(pointMetrics.getMeterRegistry());
+    }
+
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        return await(shardOf(id).submit(id, amount, Operation.CHARGE));
+    }
+
+    @Override
+    public UserPoint use(Long id, Long amount) {
+        return await(shardOf(id).submit(id, amount, Operation.USE));
+    }
+
+    // 서로 다른 두 유저의 이체만 요청된다. (PointService 에서 검증)
+    @Override
+    public PointTransfer transfer(Long fromId, Long toId, Long amount) {
+        Shard senderShard = shardOf(fromId);
+        Shard receiverShard = shardOf(toId);
+        Transfer transfer = new Transfer(fromId, toId, amount, senderShard == receiverShard ? 1 : 2);
+        if (senderShard == receiverShard) {
+            senderShard.submit(transfer);
+            return await(transfer.result);
+        }
+        Shard first = senderShard.index < receiverShard.index ? senderShard : receiverShard;
+        Shard second = first == senderShard ? receiverShard : senderShard;
+        first.transferLock.lock();
+        try {
+            second.transferLock.lock();
+            try {
+                first.submit(transfer);
+                try {
+                    second.submit(transfer);
+                } catch (RuntimeException e) {
+                    transfer.abandon(e);
+                    throw e;
+                }
+            } finally {
+                second.transferLock.unlock();
+            }
+        } finally {
+            first.transferLock.unlock();
+        }
+        return await(transfer.result);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public long getQueueSize() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    // 이미 넣은 명령을 모두 처리한 뒤 샤드 쓰레드를 종료
+    @PreDestroy
+    public void close() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.writer);
+        }
+        for (Shard shard : shards) {
+            shard.writer.join();
+        }
+    }
+
+    private Shard shardOf(Long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    // 샤드 쓰레드에서 발생한 예외(잔고 부족 등)는 요청 쓰레드에서 그대로 다시 던진다.
+    // 시간을 넘겼을 때 샤드 쓰레드가 아직 시작하지 않은 명령은 취소하고 ENGINE_TIMEOUT 을 던진다.
+    // 이미 시작한 명령은 반영되므로 HISTORY_PENDING 을 그대로 던진다.
+    private <T> T await(Pending<T> result) {
+        try {
+            return pointHistoryWriter.await(result);
+        } catch (CustomException e) {
+            if (e.getErrorCode() == ErrorCode.HISTORY_PENDING && result.cancelIfNotStarted()) {
+                CustomException timeout = new CustomException(ErrorCode.ENGINE_TIMEOUT);
+                result.completeExceptionally(timeout);
+                throw timeout;
+            }
+            throw e;
+        }
+    }
+
+    // 샤드 쓰레드가 반영하는 명령 종류와 저장할 내역의 종류
+    // TRANSFER 는 두 샤드가 함께 처리하는 이체로, 내역 종류는 유저마다 다르다.
+    private enum Operation {
+        CHARGE(TransactionType.CHARGE),
+        USE(TransactionType.USE),
+        TRANSFER(null);
+
+        private final TransactionType type;
+
+        Operation(TransactionType type) {
+            this.type = type;
+        }
+    }
+
+    // ring buffer 의 칸, 생성시 한 번만 만들고 재사용한다.
+    // sequence 가 칸의 상태를 나타낸다. position 이면 비어 있음, position + 1 이면 명령이 들어 있음.
+    private static class Command {
+        private final AtomicLong sequence;
+        private long userId;
+        private long amount;
+        private Operation operation;
+        private Pending<UserPoint> result;
+        private Transfer transfer;
+
+        private Command(long sequence) {
+            this.sequence = new AtomicLong(sequence);
+        }
+    }
+
+    /**
+     * 요청 결과. 샤드 쓰레드의 시작(start)과 요청 쓰레드의 취소(cancelIfNotStarted) 중 먼저 한 쪽만 성공한다.
+     * 이체는 두 샤드 쓰레드가 모두 start 를 호출하며, 먼저 시작했다면 나중에 꺼낸 쪽도 시작한다.
+     */
+    private static class Pending<T> extends CompletableFuture<T> {
+        private static final int NEW = 0;
+        private static final int STARTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(NEW);
+
+        private boolean start() {
+            return state.compareAndSet(NEW, STARTED) || state.get() == STARTED;
+        }
+
+        private boolean cancelIfNotStarted() {
+            return state.compareAndSet(NEW, CANCELLED);
+        }
+    }
+
+    /**
+     * 두 샤드에 넣는 이체 명령. 샤드 쓰레드가 꺼낼 때마다 arrivals 를 줄이고, 0 으로 만든 쓰레드가 반영한다.
+     * 먼저 꺼낸 쓰레드는 applied 가 될 때까지 기다린다. 취소된 이체는 두 샤드 쓰레드 모두 건너뛴다.
+     */
+    private static class Transfer {
+        private final long fromId;
+        private final long toId;
+        private final long amount;
+        private final AtomicInteger arrivals;
+        private final Pending<PointTransfer> result = new Pending<>();
+        private volatile boolean applied;
+
+        private Transfer(long fromId, long toId, long amount, int parties) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.amount = amount;
+            this.arrivals = new AtomicInteger(parties);
+        }
+
+        // 한쪽 샤드에만 넣은 경우, 그 샤드 쓰레드가 반영하지 않고 넘어가도록 한다.
+        // 이미 꺼내서 기다리는 중이라면 applied 로 기다림을 끝낸다.
+        private void abandon(RuntimeException e) {
+            result.cancelIfNotStarted();
+            result.completeExceptionally(e);
+            applied = true;
+        }
+    }
+
+    /**
+     * 샤드 하나. 여러 요청 쓰레드가 넣고(multi producer) 샤드 쓰레드 하나만 꺼낸다(single consumer).
+     * 넣을 위치(tail)는 CAS 로 차지하고, 칸의 sequence 를 바꿔 꺼내는 쪽에 공개한다.
+     */
+    private class Shard implements Runnable {
+        private final int index;
+        // 이 샤드에 이체를 넣는 순서를 정하는 락, 두 샤드의 락은 샤드 번호 순서로 잡는다.
+        private final ReentrantLock transferLock = new ReentrantLock();
+        private final Command[] ring;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final Thread writer;
+        // 샤드 쓰레드만 변경하고, 큐 크기 계산을 위해 volatile 로 공개한다.
+        private volatile long head;
+        private volatile boolean parked;
+        private volatile boolean running = true;
+
+        private Shard(int index, int ringSize) {
+            this.index = index;
+            this.ring = new Command[ringSize];
+            this.mask = ringSize - 1;
+            for (int i=0; i<ringSize; i++) {
+                ring[i] = new Command(i);
+            }
+            this.writer = new Thread(this, "point-engine-shard-" + index);
+            this.writer.setDaemon(true);
+            this.writer.start();
+        }
+
+        private Pending<UserPoint> submit(long userId, long amount, Operation operation) {
+            Pending<UserPoint> result = new Pending<>();
+            submit(userId, amount, operation, result, null);
+            return result;
+        }
+
+        private void submit(Transfer transfer) {
+            submit(0L, transfer.amount, Operation.TRANSFER, null, transfer);
+        }
+
+        private void submit(long userId, long amount, Operation operation, Pending<UserPoint> result, Transfer transfer) {
+            int spins = 0;
+            while (true) {
+                if (!running) {
+                    throw new IllegalStateException("point engine is closed");
+                }
+                long position = tail.get();
+                Command command = ring[(int) position & mask];
+                long diff = command.sequence.get() - position;
+                if (diff == 0 && tail.compareAndSet(position, position + 1)) {
+                    command.userId = userId;
+                    command.amount = amount;
+                    command.operation = operation;
+                    command.result = result;
+                    command.transfer = transfer;
+                    command.sequence.set(position + 1);
+                    // 샤드 쓰레드가 parked 를 세운 뒤 다시 확인하므로 둘 중 하나는 반드시 상대를 본다.
+                    if (parked) {
+                        LockSupport.unpark(writer);
+                    }
+                    return;
+                }
+                // diff < 0 이면 ring buffer 가 가득 찬 상태
+                if (diff < 0) {
+                    backoff(++spins);
+                }
+            }
+        }
+
+        private long size() {
+            return Math.max(0L, tail.get() - head);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                long position = head;
+                Command command = ring[(int) position & mask];
+                if (command.sequence.get() == position + 1) {
+                    if (command.operation == Operation.TRANSFER) {
+                        apply(command.transfer);
+                    } else {
+                        apply(command);
+                    }
+                    command.result = null;
+                    command.transfer = null;
+                    command.operation = null;
+                    command.sequence.set(position + ring.length);
+                    head = position + 1;
+                    idle = 0;
+                } else if (!running && tail.get() == position) {
+                    return;
+                } else if (++idle < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    parked = true;
+                    if (command.sequence.get() != position + 1 && running) {
+                        LockSupport.parkNanos(this, PARK_NANOS);
+                    }
+                    parked = false;
+                }
+            }
+        }
+
+        private void apply(Command command) {
+            Pending<UserPoint> result = command.result;
+            if (!result.start()) {
+                return;
+            }
+            try {
+                long userId = command.userId;
+                Operation operation = command.operation;
+                UserPoint next = next(userId, operation, command.amount);
+                UserPoint saved = save(userId, next.getPoint());
+                // 내역 저장 완료는 샤드 쓰레드가 기다리지 않고, 저장이 끝나면 요청을 완료시킨다.
+                CompletableFuture<PointHistory> history = pointHistoryWriter.append(saved.getId(), saved.getPoint(), operation.type, saved.getUpdateMillis());
+                history.whenComplete((pointHistory, e) -> {
+                    if (e == null) {
+                        result.complete(saved);
+                    } else {
+                        result.completeExceptionally(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } catch (Error e) {
+                logger.error("point engine shard failed to apply command", e);
+                result.completeExceptionally(e);
+            }
+        }
+
+        // 나중에 꺼낸 샤드 쓰레드가 두 유저의 잔고를 반영한다.
+        // 다른 샤드 쓰레드는 applied 를 기다리는 중이므로 그 샤드 유저의 잔고도 이 쓰레드만 변경한다.
+        private void apply(Transfer transfer) {
+            if (!transfer.result.start()) {
+                return;
+            }
+            if (transfer.arrivals.decrementAndGet() > 0) {
+                int spins = 0;
+                while (!transfer.applied) {
+                    backoff(++spins);
+                }
+                return;
+            }
+            Pending<PointTransfer> result = transfer.result;
+            try {
+                // 잔고 부족, 잔고 범위 초과를 모두 확인한 뒤에 반영하여 한쪽만 변경되지 않도록 한다.
+                UserPoint current = balance(transfer.fromId);
+                UserPoint sender = current.usePoint(transfer.amount);
+                UserPoint receiver = balance(transfer.toId).receivePoint(transfer.amount);
+                // 받는 유저의 테이블 반영에 실패하면 보낸 유저의 잔고를 되돌리고, 잔고 로그는 두 유저 모두 반영된 뒤 남긴다.
+                UserPoint savedSender = insertOrUpdate(transfer.fromId, sender.getPoint());
+                UserPoint savedReceiver;
+                try {
+                    savedReceiver = insertOrUpdate(transfer.toId, receiver.getPoint());
+                } catch (RuntimeException e) {
+                    appendJournal(insertOrUpdate(transfer.fromId, current.getPoint()));
+                    throw e;
+                }
+                appendJournal(savedSender);
+                appendJournal(savedReceiver);
+                CompletableFuture<PointHistory> senderHistory = pointHistoryWriter.append(savedSender.getId(), savedSender.getPoint(), TransactionType.USE, savedSender.getUpdateMillis());
+                CompletableFuture<PointHistory> receiverHistory = pointHistoryWriter.append(savedReceiver.getId(), savedReceiver.getPoint(), TransactionType.CHARGE, savedReceiver.getUpdateMillis());
+                senderHistory.thenCombine(receiverHistory, (senderPointHistory, receiverPointHistory) -> new PointTransfer(savedSender, savedReceiver))
+                        .whenComplete((pointTransfer, e) -> {
+                            if (e == null) {
+                                result.complete(pointTransfer);
+                            } else {
+                                result.completeExceptionally(e);
+                            }
+                        });
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } catch (Error e) {
+                logger.error("point engine shard failed to apply transfer", e);
+                result.completeExceptionally(e);
+            } finally {
+                transfer.applied = true;
+            }
+        }
+
+        private UserPoint save(long userId, long point) {
+            UserPoint saved = insertOrUpdate(userId, point);
+            appendJournal(saved);
+            return saved;
+        }
+
+        private UserPoint insertOrUpdate(long userId, long point) {
+            return pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "insertOrUpdate", () -> userPointTable.insertOrUpdate(userId, point));
+        }
+
+        private void appendJournal(UserPoint saved) {
+            if (userPointJournal != null) {
+                userPointJournal.append(saved);
+            }
+        }
+
+        private UserPoint next(long userId, Operation operation, long amount) {
+            if (operation == Operation.CHARGE) {
+                return new UserPoint(userId, amount, System.currentTimeMillis());
+            }
+            return balance(userId).usePoint(amount);
+        }
+
+        private UserPoint balance(long userId) {
+            return pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(userId));
+        }
+
+        private void backoff(int spins) {
+            if (spins < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000L);
+            }
+        }
+    }
+}
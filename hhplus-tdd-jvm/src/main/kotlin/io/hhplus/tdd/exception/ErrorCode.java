@@ -5,7 +5,12 @@ import org.springframework.http.HttpStatus;
 public enum ErrorCode {
     INVALID_PARAMETER(HttpStatus.BAD_REQUEST, "100", "입력값이 잘못되었습니다."),
     NOT_FOUND_USER(HttpStatus.BAD_REQUEST, "101", "해당 유저가 존재하지 않습니다."),
-    POINT_SHORTAGE(HttpStatus.BAD_REQUEST, "102", "사용할 포인트가 부족합니다.");
+    POINT_SHORTAGE(HttpStatus.BAD_REQUEST, "102", "사용할 포인트가 부족합니다."),
+    IDEMPOTENCY_KEY_MISMATCH(HttpStatus.CONFLICT, "103", "이미 다른 요청에 사용된 멱등 키입니다."),
+    HISTORY_PENDING(HttpStatus.ACCEPTED, "104", "포인트는 반영되었으나 내역 저장이 지연되고 있습니다."),
+    IDEMPOTENCY_RESULT_UNKNOWN(HttpStatus.CONFLICT, "105", "같은 멱등 키의 이전 요청 결과를 알 수 없습니다."),
+    ENGINE_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE, "106", "요청이 처리되지 않은 채 시간이 초과되었습니다."),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "500", "에러가 발생했습니다.");
 
     private HttpStatus status;
     private String code;
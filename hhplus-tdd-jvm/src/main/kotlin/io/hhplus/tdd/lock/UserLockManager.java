@@ -0,0 +1,94 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.metrics.PointMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저 단위 락 관리자.
+ * 같은 유저의 요청은 순차적으로 처리하고, 다른 유저의 요청은 병렬로 처리한다.
+ * 락을 잡고 있거나 기다리는 스레드가 없는 유저의 엔트리는 즉시 제거되므로
+ * 메모리 사용량은 동시에 처리중인 유저 수로 제한된다.
+ * 두 유저의 락이 필요한 경우 항상 id 가 작은 유저부터 잡으므로 서로를 기다리는 교착 상태가 생기지 않는다.
+ * 락 대기 시간과 점유 시간은 각각 point.lock.wait, point.lock.hold 로 기록한다.
+ */
+@Component
+public class UserLockManager {
+
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+
+    private PointMetrics pointMetrics;
+
+    public UserLockManager(PointMetrics pointMetrics) {
+        this.pointMetrics = pointMetrics;
+    }
+
+    public <T> T executeWithLock(Long userId, Supplier<T> action) {
+        LockEntry entry = acquire(userId);
+        long waitStart = System.nanoTime();
+        entry.lock.lock();
+        long acquired = System.nanoTime();
+        pointMetrics.getLockWaitTimer().record(acquired - waitStart, TimeUnit.NANOSECONDS);
+        try {
+            return action.get();
+        } finally {
+            entry.lock.unlock();
+            pointMetrics.getLockHoldTimer().record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+            release(userId);
+        }
+    }
+
+    // 두 유저의 락을 id 순서대로 잡고 실행, 같은 유저라면 락 하나만 잡는다.
+    public <T> T executeWithLocks(Long userId, Long otherUserId, Supplier<T> action) {
+        if (userId.equals(otherUserId)) {
+            return executeWithLock(userId, action);
+        }
+        Long firstId = userId < otherUserId ? userId : otherUserId;
+        Long secondId = userId < otherUserId ? otherUserId : userId;
+        LockEntry first = acquire(firstId);
+        LockEntry second = acquire(secondId);
+        long waitStart = System.nanoTime();
+        first.lock.lock();
+        second.lock.lock();
+        long acquired = System.nanoTime();
+        pointMetrics.getLockWaitTimer().record(acquired - waitStart, TimeUnit.NANOSECONDS);
+        try {
+            return action.get();
+        } finally {
+            second.lock.unlock();
+            first.lock.unlock();
+            pointMetrics.getLockHoldTimer().record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+            release(secondId);
+            release(firstId);
+        }
+    }
+
+    // 현재 락 엔트리를 보유중인 유저 수
+    public int size() {
+        return locks.size();
+    }
+
+    // 참조 카운트 증가는 ConcurrentHashMap 의 compute 안에서 원자적으로 처리
+    private LockEntry acquire(Long userId) {
+        return locks.compute(userId, (id, entry) -> {
+            LockEntry lockEntry = entry == null ? new LockEntry() : entry;
+            lockEntry.holders++;
+            return lockEntry;
+        });
+    }
+
+    // 마지막 참조가 해제되면 엔트리를 제거
+    private void release(Long userId) {
+        locks.computeIfPresent(userId, (id, entry) -> --entry.holders == 0 ? null : entry);
+    }
+
+    private static class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock();
+        // compute 블록 안에서만 변경된다.
+        private int holders;
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 서비스 메트릭.
+ * - point.service : 서비스 기능별 지연 시간 (operation, outcome)
+ * - point.table : table 호출별 지연 시간 (table, operation)
+ * - point.lock.wait / point.lock.hold : 유저 락 대기 시간 / 점유 시간
+ * - point.errors : ErrorCode 별 실패 건수 (code, operation)
+ * - point.history.batch.size / point.history.queue.wait : 내역 저장 배치 크기 / 내역의 큐 대기 시간
+ * 백분위와 히스토그램은 management.metrics.distribution 설정으로 적용한다.
+ */
+@Component
+public class PointMetrics {
+
+    public static final String USER_POINT_TABLE = "user_point";
+    public static final String POINT_HISTORY_TABLE = "point_history";
+
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    private MeterRegistry meterRegistry;
+    private Timer lockWaitTimer;
+    private Timer lockHoldTimer;
+    private DistributionSummary historyBatchSize;
+    private Timer historyQueueWaitTimer;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWaitTimer = meterRegistry.timer("point.lock.wait");
+        this.lockHoldTimer = meterRegistry.timer("point.lock.hold");
+        this.historyBatchSize = DistributionSummary.builder("point.history.batch.size")
+                .description("한 번에 저장한 내역 배치 크기")
+                .baseUnit("entries")
+                .register(meterRegistry);
+        this.historyQueueWaitTimer = Timer.builder("point.history.queue.wait")
+                .description("내역 저장 요청이 배치로 저장되기 전까지 큐에서 기다린 시간")
+                .register(meterRegistry);
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    // 서비스 기능 실행 시간 기록, CustomException 은 ErrorCode 별로 집계
+    public <T> T recordService(String operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return action.get();
+        } catch (CustomException e) {
+            outcome = e.getErrorCode() == null ? ERROR : e.getErrorCode().name();
+            countError(operation, outcome);
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = ERROR;
+            throw e;
+        } finally {
+            timer("point.service", "operation", operation, "outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public <T> T recordTable(String table, String operation, Supplier<T> action) {
+        return timer("point.table", "table", table, "operation", operation).record(action);
+    }
+
+    public Timer getLockWaitTimer() {
+        return lockWaitTimer;
+    }
+
+    public Timer getLockHoldTimer() {
+        return lockHoldTimer;
+    }
+
+    public DistributionSummary getHistoryBatchSize() {
+        return historyBatchSize;
+    }
+
+    public Timer getHistoryQueueWaitTimer() {
+        return historyQueueWaitTimer;
+    }
+
+    private void countError(String operation, String code) {
+        errorCounters.computeIfAbsent(operation + ":" + code,
+                key -> meterRegistry.counter("point.errors", "code", code, "operation", operation)).increment();
+    }
+
+    // 매 호출마다 Meter.Id 를 만들지 않도록 태그 조합별로 캐싱
+    private Timer timer(String name, String... tags) {
+        return timers.computeIfAbsent(name + String.join(":", tags), key -> meterRegistry.timer(name, tags));
+    }
+}
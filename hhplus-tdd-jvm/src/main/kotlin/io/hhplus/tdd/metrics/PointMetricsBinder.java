@@ -0,0 +1,43 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장소 크기와 내역 저장 파이프라인 상태를 게이지로 등록한다.
+ */
+@Component
+public class PointMetricsBinder implements MeterBinder {
+
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryWriter pointHistoryWriter;
+    private UserLockManager userLockManager;
+
+    public PointMetricsBinder(PointHistoryRepository pointHistoryRepository, PointHistoryWriter pointHistoryWriter, UserLockManager userLockManager) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.userLockManager = userLockManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.history.size", pointHistoryRepository, PointHistoryRepository::count)
+                .description("저장된 포인트 내역 수")
+                .register(registry);
+        Gauge.builder("point.users", pointHistoryRepository, PointHistoryRepository::userCount)
+                .description("포인트 충전/사용 이력이 있는 유저 수")
+                .register(registry);
+        Gauge.builder("point.lock.active", userLockManager, UserLockManager::size)
+                .description("락을 점유중이거나 대기중인 유저 수")
+                .register(registry);
+
+        // 배치 크기와 큐 대기 시간은 PointMetrics 의 point.history.batch.size, point.history.queue.wait 로 기록한다.
+        Gauge.builder("point.history.queue.size", pointHistoryWriter, PointHistoryWriter::getQueueSize)
+                .register(registry);
+    }
+}
@@ -1,21 +1,36 @@
 package io.hhplus.tdd.point
 
-import io.hhplus.tdd.dto.PointHistoryDto
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.hhplus.tdd.dto.PointHistoryPageDto
+import io.hhplus.tdd.dto.PointOperationDto
+import io.hhplus.tdd.dto.PointOperationResultDto
+import io.hhplus.tdd.dto.PointStatisticsDto
+import io.hhplus.tdd.dto.PointTransferDto
+import io.hhplus.tdd.dto.PointTransferResultDto
 import io.hhplus.tdd.dto.UserPointDto
 import io.hhplus.tdd.service.PointService
+import io.hhplus.tdd.statistics.StatisticsWindow
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication
+import org.springframework.http.MediaType
+import org.springframework.http.ResponseEntity
 import org.springframework.web.bind.annotation.*
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
 
+// 서블릿(MVC) 서버에서만 제공하고, reactive 프로필에서는 ReactivePointController 만 제공한다.
 @RestController
 @RequestMapping("/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 class PointController {
     private val logger: Logger = LoggerFactory.getLogger(javaClass)
 
     private val pointService: PointService
+    private val objectMapper: ObjectMapper
 
-    constructor(pointService: PointService) {
+    constructor(pointService: PointService, objectMapper: ObjectMapper) {
         this.pointService = pointService
+        this.objectMapper = objectMapper
     }
 
     /**
@@ -30,33 +45,92 @@ class PointController {
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * cursor(마지막으로 받은 내역 id) 이후의 내역을 최대 size 건 조회한다.
      */
     @GetMapping("{id}/histories")
     fun history(
         @PathVariable id: Long,
-    ): List<PointHistoryDto> {
-        return pointService.history(id)
+        @RequestParam(required = false) cursor: Long?,
+        @RequestParam(required = false) size: Int?,
+    ): PointHistoryPageDto {
+        return pointService.history(id, cursor, size)
+    }
+
+    /**
+     * 특정 유저의 내역 전체를 NDJSON(한 줄에 내역 1건)으로 내려받는다.
+     * 목록을 메모리에 만들지 않고 나눠 읽으며 응답에 바로 쓰고, from/to(timeMillis)를 지정하면 [from, to) 범위만 내보낸다.
+     */
+    @GetMapping("{id}/histories/export")
+    fun export(
+        @PathVariable id: Long,
+        @RequestParam(required = false) from: Long?,
+        @RequestParam(required = false) to: Long?,
+    ): ResponseEntity<StreamingResponseBody> {
+        // 잘못된 범위는 응답을 쓰기 전에 검증하여 다른 요청과 같은 에러 응답으로 반환
+        val exporter = pointService.exportHistory(id, from, to)
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(StreamingResponseBody { outputStream -> exporter.writeTo(outputStream, objectMapper) })
+    }
+
+    /**
+     * 특정 유저의 충전/사용 건수와 금액 합계를 조회한다.
+     * window(HOUR, DAY)를 지정하면 최근 구간별 합계를 함께 반환한다.
+     */
+    @GetMapping("{id}/statistics")
+    fun statistics(
+        @PathVariable id: Long,
+        @RequestParam(required = false) window: StatisticsWindow?,
+    ): PointStatisticsDto {
+        return pointService.statistics(id, window)
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청에는 처음 결과를 그대로 반환한다.
      */
     @PatchMapping("{id}/charge")
     fun charge(
         @PathVariable id: Long,
         @RequestBody amount: Long,
+        @RequestHeader(name = "Idempotency-Key", required = false) idempotencyKey: String?,
     ): UserPointDto {
-        return pointService.charge(id, amount)
+        return pointService.charge(id, amount, idempotencyKey)
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청에는 처음 결과를 그대로 반환한다.
      */
     @PatchMapping("{id}/use")
     fun use(
         @PathVariable id: Long,
         @RequestBody amount: Long,
+        @RequestHeader(name = "Idempotency-Key", required = false) idempotencyKey: String?,
     ): UserPointDto {
-        return pointService.use(id, amount);
+        return pointService.use(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 특정 유저의 포인트를 다른 유저에게 이체한다.
+     * 두 유저의 잔고를 함께 변경하고 보낸 유저에는 사용 내역, 받은 유저에는 충전 내역을 남긴다.
+     */
+    @PostMapping("{id}/transfer")
+    fun transfer(
+        @PathVariable id: Long,
+        @RequestBody transfer: PointTransferDto,
+    ): PointTransferResultDto {
+        return pointService.transfer(id, transfer.toUserId, transfer.amount)
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용 요청을 한 번에 처리한다.
+     * 같은 유저의 요청은 순서대로, 다른 유저의 요청은 병렬로 처리하고 건별 결과를 요청 순서대로 반환한다.
+     */
+    @PostMapping("bulk")
+    fun bulk(
+        @RequestBody operations: List<PointOperationDto>,
+    ): List<PointOperationResultDto> {
+        return pointService.bulk(operations)
     }
 }
\ No newline at end of file
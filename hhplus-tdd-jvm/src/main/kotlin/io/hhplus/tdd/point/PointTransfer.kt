@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point
+
+/**
+ * 이체 반영 결과, 보낸 유저와 받은 유저의 변경된 포인트
+ */
+data class PointTransfer(
+    val from: UserPoint,
+    val to: UserPoint
+)
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.config.PointReactiveConfig;
+import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.PointStatisticsDto;
+import io.hhplus.tdd.dto.PointTransferDto;
+import io.hhplus.tdd.dto.PointTransferResultDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.service.PointService;
+import io.hhplus.tdd.statistics.StatisticsWindow;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * PointController 와 같은 기능의 reactive 버전.
+ * reactive 프로필(--spring.profiles.active=reactive)로 기동한 WebFlux(Netty) 서버에서만 제공한다.
+ * 서블릿 서버에서는 요청 쓰레드를 그대로 점유하므로 non-blocking 비교가 되지 않아 등록하지 않는다.
+ * 이벤트 루프 쓰레드는 블로킹하지 않고, 블로킹되는 서비스 호출은 pointBlockingScheduler 에서 실행한다.
+ * 충전/사용은 같은 PointService(PointEngine)를 거치므로 유저 단위 순차 처리가 그대로 유지된다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePointController {
+
+    private PointService pointService;
+    private Scheduler pointBlockingScheduler;
+
+    public ReactivePointController(PointService pointService,
+                                   @Qualifier(PointReactiveConfig.BLOCKING_SCHEDULER) Scheduler pointBlockingScheduler) {
+        this.pointService = pointService;
+        this.pointBlockingScheduler = pointBlockingScheduler;
+    }
+
+    @GetMapping("{id}")
+    public Mono<UserPointDto> point(@PathVariable Long id) {
+        return blocking(() -> pointService.point(id));
+    }
+
+    // 전체 내역을 최대 페이지 크기 단위로 나눠 조회하며 흘려보낸다. 구독자가 요청한 만큼만 다음 페이지를 조회한다.
+    @GetMapping(value = "{id}/histories", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<PointHistoryDto> history(@PathVariable Long id) {
+        return blocking(() -> pointService.history(id, null, PointService.MAX_HISTORY_PAGE_SIZE))
+                .expand(page -> page.getNextCursor() == null
+                        ? Mono.empty()
+                        : blocking(() -> pointService.history(id, page.getNextCursor(), PointService.MAX_HISTORY_PAGE_SIZE)))
+                .concatMapIterable(PointHistoryPageDto::getHistories);
+    }
+
+    @GetMapping("{id}/statistics")
+    public Mono<PointStatisticsDto> statistics(@PathVariable Long id, @RequestParam(required = false) StatisticsWindow window) {
+        return blocking(() -> pointService.statistics(id, window));
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPointDto> charge(@PathVariable Long id, @RequestBody Long amount,
+                                   @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return blocking(() -> pointService.charge(id, amount, idempotencyKey));
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPointDto> use(@PathVariable Long id, @RequestBody Long amount,
+                                @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return blocking(() -> pointService.use(id, amount, idempotencyKey));
+    }
+
+    @PostMapping("{id}/transfer")
+    public Mono<PointTransferResultDto> transfer(@PathVariable Long id, @RequestBody PointTransferDto transfer) {
+        return blocking(() -> pointService.transfer(id, transfer.getToUserId(), transfer.getAmount()));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(pointBlockingScheduler);
+    }
+}
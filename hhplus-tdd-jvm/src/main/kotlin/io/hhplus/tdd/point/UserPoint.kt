@@ -3,10 +3,12 @@ package io.hhplus.tdd.point
 import io.hhplus.tdd.exception.CustomException
 import io.hhplus.tdd.exception.ErrorCode
 
-data class UserPoint(
+// version 은 잔고가 변경될 때마다 테이블에서 1씩 증가하며, 저장된 적 없는 잔고는 0 이다.
+data class UserPoint @JvmOverloads constructor(
     val id: Long,
     val point: Long,
-    val updateMillis: Long
+    val updateMillis: Long,
+    val version: Long = 0
 ) {
     fun usePoint(amount: Long): UserPoint {
         var newPoint = this.point - amount
@@ -15,4 +17,13 @@ data class UserPoint(
         }
         return this.copy(point = newPoint)
     }
+
+    // 이체로 받은 포인트를 더한다. 잔고가 Long 범위를 넘으면 잘못된 요청으로 처리
+    fun receivePoint(amount: Long): UserPoint {
+        val newPoint = this.point + amount
+        if (newPoint < this.point) {
+            throw CustomException(ErrorCode.INVALID_PARAMETER)
+        }
+        return this.copy(point = newPoint)
+    }
 }
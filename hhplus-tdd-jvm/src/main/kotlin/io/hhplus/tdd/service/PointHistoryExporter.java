@@ -0,0 +1,85 @@
+package io.hhplus.tdd.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryView;
+import io.hhplus.tdd.dto.PointHistoryDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * 유저 한 명의 내역을 NDJSON(한 줄에 내역 1건)으로 내보낸다.
+ * 저장소에서 chunkSize 건씩 cursor 로 나눠 읽어 재사용하는 버퍼에 인코딩하고, 조회 락을 놓은 뒤에 쓴다.
+ * 각 줄은 애플리케이션의 ObjectMapper 로 PointHistoryDto 를 직렬화하므로 다른 API 의 내역 JSON 과 형식이 같다.
+ * 내역 수와 관계없이 chunk 하나 만큼의 메모리만 사용한다.
+ * 느린 클라이언트에게 쓰는 동안에는 다음 chunk 를 읽지 않으므로 읽는 속도가 쓰는 속도에 맞춰진다.
+ * 내보내는 도중 저장된 내역도 이어서 내보내며, 보관 기간이 지나 요약된 내역은 내보내지 않는다.
+ * 한 번만 사용할 수 있다.
+ */
+public class PointHistoryExporter implements Consumer<PointHistoryView> {
+
+    // 내역 1줄의 예상 길이 (숫자 필드 4개 최대 19자리 + 필드명), 버퍼의 초기 크기 계산에만 사용
+    private static final int LINE_CAPACITY = 128;
+
+    private final ByteArrayOutputStream chunk;
+
+    private PointHistoryRepository pointHistoryRepository;
+    private Long userId;
+    private long fromMillis;
+    private long toMillis;
+    private int chunkSize;
+    private ObjectWriter objectWriter;
+    private long lastId;
+    private long exported;
+
+    // [fromMillis, toMillis) 범위의 내역만 내보낸다.
+    public PointHistoryExporter(PointHistoryRepository pointHistoryRepository, Long userId, long fromMillis, long toMillis, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userId = userId;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.chunkSize = chunkSize;
+        this.chunk = new ByteArrayOutputStream(chunkSize * LINE_CAPACITY);
+    }
+
+    // chunk 마다 flush 하여 응답을 나눠서 보내고, 내보낸 건수를 반환
+    public long writeTo(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        objectWriter = objectMapper.writerFor(PointHistoryDto.class);
+        Long cursor = null;
+        int visited;
+        do {
+            chunk.reset();
+            visited = pointHistoryRepository.visitPageByUserId(userId, cursor, chunkSize, this);
+            chunk.writeTo(outputStream);
+            outputStream.flush();
+            cursor = lastId;
+        } while (visited == chunkSize);
+        return exported;
+    }
+
+    // 저장소의 조회 락 안에서 호출되므로 버퍼에 인코딩만 한다.
+    @Override
+    public void accept(PointHistoryView view) {
+        lastId = view.getId();
+        long timeMillis = view.getTimeMillis();
+        if (timeMillis < fromMillis || timeMillis >= toMillis) {
+            return;
+        }
+        try {
+            chunk.writeBytes(objectWriter.writeValueAsBytes(new PointHistoryDto(view)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.write('\n');
+        exported++;
+    }
+}
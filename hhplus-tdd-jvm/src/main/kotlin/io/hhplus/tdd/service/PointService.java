@@ -1,58 +1,300 @@
 package io.hhplus.tdd.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.cache.IdempotencyCache;
+import io.hhplus.tdd.cache.SingleFlight;
+import io.hhplus.tdd.cache.UserPointCache;
+import io.hhplus.tdd.config.PointExecutorConfig;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistorySummary;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.PointHistorySummaryDto;
+import io.hhplus.tdd.dto.PointOperationDto;
+import io.hhplus.tdd.dto.PointOperationResultDto;
+import io.hhplus.tdd.dto.PointStatisticsBucketDto;
+import io.hhplus.tdd.dto.PointStatisticsDto;
+import io.hhplus.tdd.dto.PointTransferResultDto;
 import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.engine.PointEngine;
 import io.hhplus.tdd.exception.CustomException;
 import io.hhplus.tdd.exception.ErrorCode;
-import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointTransfer;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.statistics.PointStatistics;
+import io.hhplus.tdd.statistics.StatisticsWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class PointService {
 
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+    public static final int MAX_BULK_SIZE = 10_000;
+    public static final int EXPORT_CHUNK_SIZE = 512;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private PointEngine pointEngine;
     private UserPointTable userPointTable;
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointMetrics pointMetrics;
+    private Executor bulkExecutor;
+    private int bulkParallelism;
+    private UserPointCache userPointCache;
+    private SingleFlight<Long, UserPoint> userPointSingleFlight;
+    private IdempotencyCache idempotencyCache;
+    private PointStatistics pointStatistics;
+
+    public PointService(PointEngine pointEngine, UserPointTable userPointTable, PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics,
+                        Executor bulkExecutor, int bulkParallelism) {
+        this(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, bulkExecutor, bulkParallelism, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+    }
 
-    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+    @Autowired
+    public PointService(PointEngine pointEngine, UserPointTable userPointTable, PointHistoryRepository pointHistoryRepository, PointMetrics pointMetrics,
+                        @Qualifier(PointExecutorConfig.BULK_EXECUTOR) Executor bulkExecutor,
+                        @Value("${point.bulk.parallelism:16}") int bulkParallelism,
+                        Optional<UserPointCache> userPointCache,
+                        Optional<SingleFlight<Long, UserPoint>> userPointSingleFlight,
+                        Optional<IdempotencyCache> idempotencyCache,
+                        Optional<PointStatistics> pointStatistics) {
+        this.pointEngine = pointEngine;
         this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointMetrics = pointMetrics;
+        this.bulkExecutor = bulkExecutor;
+        this.bulkParallelism = bulkParallelism;
+        this.userPointCache = userPointCache.orElse(null);
+        this.userPointSingleFlight = userPointSingleFlight.orElse(null);
+        this.idempotencyCache = idempotencyCache.orElse(null);
+        this.pointStatistics = pointStatistics.orElse(null);
     }
 
-    // 동시성 처리를 위해 synchronized 처리
-    public synchronized UserPointDto charge(Long id, Long amount) {
-        if (amount <= 0) {
-            throw new CustomException(ErrorCode.INVALID_PARAMETER);
-        }
-        UserPoint userPoint = userPointTable.insertOrUpdate(id, amount);
-        pointHistoryTable.insert(userPoint.getId(), userPoint.getPoint(), TransactionType.CHARGE, userPoint.getUpdateMillis());
-        return new UserPointDto(userPoint);
+    // 동시성 처리는 설정된 PointEngine 에 위임
+    public UserPointDto charge(Long id, Long amount) {
+        return charge(id, amount, null);
+    }
+
+    // 같은 멱등 키로 다시 요청하면 저장된 결과를 반환
+    public UserPointDto charge(Long id, Long amount, String idempotencyKey) {
+        return pointMetrics.recordService("charge", () -> {
+            if (amount <= 0) {
+                throw new CustomException(ErrorCode.INVALID_PARAMETER);
+            }
+            return idempotent(idempotencyKey, id, TransactionType.CHARGE, amount,
+                    () -> applied(TransactionType.CHARGE, amount, write(id, () -> pointEngine.charge(id, amount))));
+        });
+    }
+
+    // 동시성 처리는 설정된 PointEngine 에 위임
+    public UserPointDto use(Long id, Long amount) {
+        return use(id, amount, null);
+    }
+
+    // 같은 멱등 키로 다시 요청하면 저장된 결과를 반환
+    public UserPointDto use(Long id, Long amount, String idempotencyKey) {
+        return pointMetrics.recordService("use", () -> idempotent(idempotencyKey, id, TransactionType.USE, amount,
+                () -> applied(TransactionType.USE, amount, write(id, () -> pointEngine.use(id, amount)))));
     }
 
-    // 동시성 처리를 위해 synchronized 처리
-    public synchronized UserPointDto use(Long id, Long amount) {
-        UserPoint userPoint = userPointTable.selectById(id);
-        UserPoint usedUserPoint = userPoint.usePoint(amount);
-        pointHistoryTable.insert(usedUserPoint.getId(), usedUserPoint.getPoint(), TransactionType.USE, usedUserPoint.getUpdateMillis());
-        return new UserPointDto(userPointTable.insertOrUpdate(usedUserPoint.getId(), usedUserPoint.getPoint()));
+    // 두 유저의 잔고를 함께 변경, 보낸 유저에는 사용 내역, 받은 유저에는 충전 내역이 저장된다.
+    public PointTransferResultDto transfer(Long fromId, Long toId, Long amount) {
+        return pointMetrics.recordService("transfer", () -> {
+            if (toId == null || amount == null || amount <= 0 || fromId.equals(toId)) {
+                throw new CustomException(ErrorCode.INVALID_PARAMETER);
+            }
+            PointTransfer pointTransfer;
+            try {
+                pointTransfer = pointEngine.transfer(fromId, toId, amount);
+            } finally {
+                invalidate(fromId);
+                invalidate(toId);
+            }
+            return new PointTransferResultDto(applied(TransactionType.USE, amount, pointTransfer.getFrom()),
+                    applied(TransactionType.CHARGE, amount, pointTransfer.getTo()));
+        });
     }
 
+    // 일괄 충전/사용, 건별 결과를 요청 순서대로 반환하며 한 건의 실패가 다른 건에 영향을 주지 않음
+    public List<PointOperationResultDto> bulk(List<PointOperationDto> operations) {
+        return pointMetrics.recordService("bulk", () -> applyAll(operations));
+    }
+
+    // 같은 유저의 동시 조회는 하나의 조회 결과를 함께 사용
     public UserPointDto point(Long id) {
-        return new UserPointDto(userPointTable.selectById(id));
+        return pointMetrics.recordService("point", () -> new UserPointDto(userPointSingleFlight != null
+                ? userPointSingleFlight.execute(id, () -> selectUserPoint(id))
+                : selectUserPoint(id)));
+    }
+
+    // 충전/사용시 갱신한 합계를 반환하므로 내역을 읽지 않음, window 를 지정하면 최근 구간별 합계를 함께 반환
+    public PointStatisticsDto statistics(Long id, StatisticsWindow window) {
+        return pointMetrics.recordService("statistics", () -> {
+            if (pointStatistics == null) {
+                throw new IllegalStateException("point statistics are not configured");
+            }
+            List<PointStatisticsBucketDto> buckets = window == null
+                    ? List.of()
+                    : pointStatistics.buckets(id, window).stream().map(PointStatisticsBucketDto::new).collect(Collectors.toList());
+            return new PointStatisticsDto(id, pointStatistics.total(id), buckets);
+        });
     }
 
+    // 저장소가 유저별 저장 순서(id 오름차순)로 반환하므로 별도 정렬하지 않음
     public List<PointHistoryDto> history(Long id) {
-        return pointHistoryTable.selectAllByUserId(id)
+        return pointMetrics.recordService("history", () -> pointHistoryRepository.selectAllByUserId(id)
                 .stream()
-                .sorted(Comparator.comparingLong(PointHistory::getId))
                 .map(PointHistoryDto::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    // cursor 기반 페이지 조회, 다음 페이지 존재 여부 확인을 위해 size + 1 건을 조회
+    public PointHistoryPageDto history(Long id, Long cursor, Integer size) {
+        return pointMetrics.recordService("history", () -> historyPage(id, cursor, size));
+    }
+
+    // 내보내기 범위를 검증하고 NDJSON 으로 내보낼 exporter 를 반환, from/to 가 없으면 처음/끝까지 내보낸다.
+    // 실제 조회와 쓰기는 응답을 쓰는 쓰레드에서 exporter 가 chunk 단위로 수행한다.
+    public PointHistoryExporter exportHistory(Long id, Long fromMillis, Long toMillis) {
+        return pointMetrics.recordService("export", () -> {
+            long from = fromMillis == null ? Long.MIN_VALUE : fromMillis;
+            long to = toMillis == null ? Long.MAX_VALUE : toMillis;
+            if (from > to) {
+                throw new CustomException(ErrorCode.INVALID_PARAMETER);
+            }
+            return new PointHistoryExporter(pointHistoryRepository, id, from, to, EXPORT_CHUNK_SIZE);
+        });
+    }
+
+    // 저장소의 view 에서 바로 DTO 로 변환하여 내역 객체를 만들지 않는다.
+    // 보관 기간이 지나 요약된 내역은 같은 시점의 요약으로 함께 반환
+    private PointHistoryPageDto historyPage(Long id, Long cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_HISTORY_PAGE_SIZE : size;
+        if (pageSize <= 0 || pageSize > MAX_HISTORY_PAGE_SIZE || (cursor != null && cursor < 0)) {
+            throw new CustomException(ErrorCode.INVALID_PARAMETER);
+        }
+        List<PointHistoryDto> histories = new ArrayList<>(pageSize);
+        int[] visited = new int[1];
+        PointHistorySummary summary = pointHistoryRepository.visitPageWithSummaryByUserId(id, cursor, pageSize + 1, view -> {
+            if (visited[0]++ < pageSize) {
+                histories.add(new PointHistoryDto(view));
+            }
+        });
+        Long nextCursor = visited[0] > pageSize ? histories.get(pageSize - 1).getId() : null;
+        return new PointHistoryPageDto(histories, nextCursor, summary == null ? null : new PointHistorySummaryDto(summary));
+    }
+
+    // 같은 유저의 요청은 요청 순서대로 한 작업자가 처리하고, 유저 묶음은 작업자들이 나눠서 병렬로 처리
+    private List<PointOperationResultDto> applyAll(List<PointOperationDto> operations) {
+        if (operations == null || operations.size() > MAX_BULK_SIZE) {
+            throw new CustomException(ErrorCode.INVALID_PARAMETER);
+        }
+        PointOperationResultDto[] results = new PointOperationResultDto[operations.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i=0; i<operations.size(); i++) {
+            PointOperationDto operation = operations.get(i);
+            if (!isValid(operation)) {
+                results[i] = PointOperationResultDto.failure(operation, ErrorCode.INVALID_PARAMETER);
+                continue;
+            }
+            indexesByUser.computeIfAbsent(operation.getUserId(), key -> new ArrayList<>()).add(i);
+        }
+
+        List<List<Integer>> userGroups = new ArrayList<>(indexesByUser.values());
+        AtomicInteger nextGroup = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int group = nextGroup.getAndIncrement(); group < userGroups.size(); group = nextGroup.getAndIncrement()) {
+                for (int index : userGroups.get(group)) {
+                    results[index] = apply(operations.get(index));
+                }
+            }
+        };
+        int workers = Math.min(bulkParallelism, userGroups.size());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+        for (int i=0; i<workers; i++) {
+            futures[i] = CompletableFuture.runAsync(worker, bulkExecutor);
+        }
+        CompletableFuture.allOf(futures).join();
+        return Arrays.asList(results);
+    }
+
+    // 캐시가 설정되어 있으면 캐시에서 조회
+    private UserPoint selectUserPoint(Long id) {
+        return userPointCache != null
+                ? userPointCache.get(id)
+                : pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(id));
+    }
+
+    // 테이블 저장 이후 캐시를 무효화하고 진행중인 조회와 분리, 저장 도중 실패하더라도 테이블이 바뀌었을 수 있으므로 항상 수행
+    private UserPoint write(Long id, Supplier<UserPoint> action) {
+        try {
+            return action.get();
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    private void invalidate(Long id) {
+        if (userPointCache != null) {
+            userPointCache.invalidate(id);
+        }
+        if (userPointSingleFlight != null) {
+            userPointSingleFlight.forget(id);
+        }
+    }
+
+    // 반영된 충전/사용을 통계에 더한다. 내역의 amount 와 달리 요청한 금액을 더한다.
+    private UserPointDto applied(TransactionType type, Long amount, UserPoint userPoint) {
+        if (pointStatistics != null) {
+            pointStatistics.record(userPoint.getId(), type, amount, userPoint.getUpdateMillis());
+        }
+        return new UserPointDto(userPoint);
+    }
+
+    // 멱등 키 저장소가 없거나 키가 없으면 바로 실행
+    private UserPointDto idempotent(String idempotencyKey, Long id, TransactionType type, Long amount, Supplier<UserPointDto> action) {
+        return idempotencyCache != null && idempotencyKey != null
+                ? idempotencyCache.execute(idempotencyKey, id, type, amount, action)
+                : action.get();
+    }
+
+    private PointOperationResultDto apply(PointOperationDto operation) {
+        try {
+            UserPointDto userPointDto = operation.getType() == TransactionType.CHARGE
+                    ? charge(operation.getUserId(), operation.getAmount())
+                    : use(operation.getUserId(), operation.getAmount());
+            return PointOperationResultDto.success(operation, userPointDto);
+        } catch (CustomException e) {
+            return PointOperationResultDto.failure(operation, e.getErrorCode());
+        } catch (RuntimeException e) {
+            // 한 건의 예상하지 못한 실패도 건별 결과로 돌려주어 일괄 처리 전체가 실패하지 않도록 한다.
+            logger.error("bulk point operation failed", e);
+            return PointOperationResultDto.failure(operation, ErrorCode.INTERNAL_ERROR);
+        }
+    }
+
+    private boolean isValid(PointOperationDto operation) {
+        return operation != null && operation.getUserId() != null && operation.getType() != null
+                && operation.getAmount() != null && operation.getAmount() > 0;
     }
 }
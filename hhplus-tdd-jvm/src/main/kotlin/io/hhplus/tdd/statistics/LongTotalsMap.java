@@ -0,0 +1,193 @@
+package io.hhplus.tdd.statistics;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 유저 id(long) 를 키로 하는 거래 종류별 (건수, 금액) 합계 저장소.
+ * LongBalanceMap 과 같이 키와 값을 하나의 long 배열에 [id, 건수, 금액, 건수, 금액, ...] 순서로 나란히 저장하는
+ * open addressing(linear probing) 해시 테이블이며, 유저당 (1 + 2 * 거래 종류 수) 개의 long 만 사용한다.
+ * 전체를 고정 개수의 segment 로 나누고 segment 마다 StampedLock 으로 보호한다.
+ * 조회는 낙관적 읽기로 락 없이 복사한 뒤 검증하고, 검증에 실패할 때만 읽기 락을 잡는다.
+ * 삭제와 만료를 지원하지 않으므로 한 번 기록된 유저의 합계는 재기동 전까지 유지된다.
+ */
+public class LongTotalsMap {
+
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_SHIFT;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 28;
+    private static final float LOAD_FACTOR = 0.7f;
+    // 빈 슬롯 표시, 0 번 유저는 segment 의 별도 배열에 저장
+    private static final long EMPTY = 0L;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final int types;
+
+    public LongTotalsMap(int types) {
+        this.types = types;
+        for (int i=0; i<SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(MIN_SEGMENT_CAPACITY, 1 + types * 2);
+        }
+    }
+
+    // type 의 건수를 1, 금액을 amount 만큼 더한다.
+    public void add(long id, int type, long amount) {
+        if (type < 0 || type >= types) {
+            throw new IllegalArgumentException("type out of range: " + type);
+        }
+        long hash = hash(id);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            segment.add(id, hash, type, amount);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    // [건수, 금액] 을 거래 종류 순서로 복사하여 반환, 기록이 없으면 null 반환
+    public long[] get(long id) {
+        long hash = hash(id);
+        Segment segment = segmentFor(hash);
+        StampedLock lock = segment.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            long[] fields = segment.read(id, hash);
+            if (lock.validate(stamp)) {
+                return fields;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return segment.read(id, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    // 할당된 슬롯 배열 크기 합 (헤더 제외)
+    public long allocatedBytes() {
+        long allocated = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                allocated += (long) segment.slots.length * Long.BYTES;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return allocated;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_SHIFT))];
+    }
+
+    // 상위 비트로 segment 를, 하위 비트로 슬롯을 고르므로 곱셈 후 상위 비트를 하위로 섞는다.
+    private static long hash(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private final int slotWidth;
+        private long[] slots;
+        private int size;
+        private int threshold;
+        private long[] zeroFields;
+
+        private Segment(int capacity, int slotWidth) {
+            this.slotWidth = slotWidth;
+            this.slots = new long[capacity * slotWidth];
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        // 락 없이 호출될 수 있으므로 배열 참조는 한 번만 읽고, 탐색 횟수는 용량으로 제한한다.
+        private long[] read(long id, long hash) {
+            if (id == EMPTY) {
+                long[] current = zeroFields;
+                return current == null ? null : current.clone();
+            }
+            long[] current = slots;
+            int index = indexOf(current, slotWidth, id, hash);
+            if (index < 0 || current[index] != id) {
+                return null;
+            }
+            long[] fields = new long[slotWidth - 1];
+            System.arraycopy(current, index + 1, fields, 0, fields.length);
+            return fields;
+        }
+
+        private void add(long id, long hash, int type, long amount) {
+            if (id == EMPTY) {
+                if (zeroFields == null) {
+                    zeroFields = new long[slotWidth - 1];
+                    size++;
+                }
+                zeroFields[type * 2]++;
+                zeroFields[type * 2 + 1] += amount;
+                return;
+            }
+            int index = indexOf(slots, slotWidth, id, hash);
+            if (slots[index] == EMPTY) {
+                if (size >= threshold) {
+                    resize();
+                    index = indexOf(slots, slotWidth, id, hash);
+                }
+                size++;
+                slots[index] = id;
+            }
+            slots[index + 1 + type * 2]++;
+            slots[index + 2 + type * 2] += amount;
+        }
+
+        // 새 배열을 다 채운 뒤 교체하므로 이전 배열을 읽던 낙관적 읽기는 검증에서 걸러진다.
+        private void resize() {
+            long[] current = slots;
+            int capacity = current.length / slotWidth;
+            if (capacity >= MAX_SEGMENT_CAPACITY) {
+                throw new IllegalStateException("totals map segment is full");
+            }
+            long[] resized = new long[capacity * 2 * slotWidth];
+            for (int index=0; index<current.length; index+=slotWidth) {
+                long id = current[index];
+                if (id != EMPTY) {
+                    int target = indexOf(resized, slotWidth, id, hash(id));
+                    System.arraycopy(current, index, resized, target, slotWidth);
+                }
+            }
+            slots = resized;
+            threshold = (int) (capacity * 2 * LOAD_FACTOR);
+        }
+
+        // id 가 있는 슬롯 또는 처음 만난 빈 슬롯의 배열 위치, 한 바퀴를 돌아도 없으면 -1
+        private static int indexOf(long[] slots, int slotWidth, long id, long hash) {
+            int capacity = slots.length / slotWidth;
+            int mask = capacity - 1;
+            int slot = (int) hash & mask;
+            for (int probe=0; probe<capacity; probe++) {
+                int index = slot * slotWidth;
+                long key = slots[index];
+                if (key == id || key == EMPTY) {
+                    return index;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+    }
+}
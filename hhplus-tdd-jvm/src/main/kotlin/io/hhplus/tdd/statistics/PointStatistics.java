@@ -0,0 +1,197 @@
+package io.hhplus.tdd.statistics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 유저별 충전/사용 통계.
+ * 충전/사용이 반영될 때마다 거래 종류별 건수와 금액 합계를 더해두어, 조회시 내역을 읽지 않고 바로 반환한다.
+ * 전체 합계는 LongTotalsMap 에 유저당 5 개의 long 으로 유지하며 만료시키지 않는다.
+ * 최근 hour-buckets 시간, day-buckets 일의 구간별 합계는 유저별 고정 크기 ring 에 유지한다.
+ * ring 의 각 칸은 [구간 번호 + 1, 거래 종류별 (건수, 금액)] 이며, 다른 구간이 들어오면 칸을 비우고 재사용한다.
+ * ring 은 유저당 5 * (hour-buckets + day-buckets) 개의 long 을 사용하므로, 최대 maximum-size 명까지 보관하고
+ * expire-after-access-millis 동안 기록/조회가 없으면 버린다. 버려진 유저의 구간별 합계만 다음 기록부터 다시 집계한다.
+ * 통계는 메모리에만 유지하므로 재기동시 0 부터 다시 집계한다. point.statistics.enabled 가 false 면 집계하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class PointStatistics {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000L;
+    public static final long DEFAULT_EXPIRE_AFTER_ACCESS_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int FIELDS = TYPES.length * 2;
+    private static final int BUCKET_WIDTH = FIELDS + 1;
+
+    private final LongTotalsMap totals = new LongTotalsMap(TYPES.length);
+    private Cache<Long, UserBuckets> buckets;
+    private int hourBuckets;
+    private int dayBuckets;
+    private LongSupplier clock;
+
+    @Autowired
+    public PointStatistics(@Value("${point.statistics.hour-buckets:24}") int hourBuckets,
+                           @Value("${point.statistics.day-buckets:7}") int dayBuckets,
+                           @Value("${point.statistics.maximum-size:100000}") long maximumSize,
+                           @Value("${point.statistics.expire-after-access-millis:604800000}") long expireAfterAccessMillis) {
+        this(hourBuckets, dayBuckets, maximumSize, expireAfterAccessMillis, System::currentTimeMillis);
+    }
+
+    public PointStatistics(int hourBuckets, int dayBuckets, LongSupplier clock) {
+        this(hourBuckets, dayBuckets, DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS_MILLIS, clock);
+    }
+
+    // 테스트에서 구간 경과와 만료를 제어하기 위해 시계를 주입
+    public PointStatistics(int hourBuckets, int dayBuckets, long maximumSize, long expireAfterAccessMillis, LongSupplier clock) {
+        if (hourBuckets < 0 || dayBuckets < 0) {
+            throw new IllegalArgumentException("bucket count must not be negative");
+        }
+        this.hourBuckets = hourBuckets;
+        this.dayBuckets = dayBuckets;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMillis(expireAfterAccessMillis))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .build();
+    }
+
+    // 반영된 충전/사용을 전체 합계와 timeMillis 가 속한 구간에 더한다.
+    public void record(long userId, TransactionType type, long amount, long timeMillis) {
+        totals.add(userId, type.ordinal(), amount);
+        if (hourBuckets + dayBuckets > 0) {
+            buckets.get(userId, key -> new UserBuckets(hourBuckets, dayBuckets))
+                    .record(type.ordinal(), amount, timeMillis);
+        }
+    }
+
+    public Totals total(long userId) {
+        long[] fields = totals.get(userId);
+        return fields == null ? Totals.empty(0L) : new Totals(0L, fields);
+    }
+
+    // 현재 구간을 포함한 최근 구간 중 충전/사용이 있었던 구간을 오래된 순서로 반환
+    public List<Totals> buckets(long userId, StatisticsWindow window) {
+        UserBuckets userBuckets = buckets.getIfPresent(userId);
+        if (userBuckets == null) {
+            return Collections.emptyList();
+        }
+        return userBuckets.buckets(window, clock.getAsLong());
+    }
+
+    // 전체 합계가 있는 유저 수
+    public long userCount() {
+        return totals.size();
+    }
+
+    // 구간별 합계를 보관중인 유저 수, 만료/제거는 비동기로 처리되므로 정확한 수가 필요하면 cleanUp 이후 조회
+    public long bucketUserCount() {
+        return buckets.estimatedSize();
+    }
+
+    public void cleanUp() {
+        buckets.cleanUp();
+    }
+
+    /**
+     * 거래 종류별 건수와 금액 합계.
+     * startMillis 는 구간 합계인 경우 구간 시작 시각, 전체 합계인 경우 0 이다.
+     */
+    public static class Totals {
+        private final long startMillis;
+        private final long[] fields;
+
+        private Totals(long startMillis, long[] fields) {
+            this.startMillis = startMillis;
+            this.fields = fields;
+        }
+
+        private static Totals empty(long startMillis) {
+            return new Totals(startMillis, new long[FIELDS]);
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getCount(TransactionType type) {
+            return fields[type.ordinal() * 2];
+        }
+
+        public long getAmount(TransactionType type) {
+            return fields[type.ordinal() * 2 + 1];
+        }
+    }
+
+    /**
+     * 유저 한 명의 구간별 합계.
+     * 같은 유저의 기록과 조회는 짧은 모니터 락으로 순차 처리하여 건수와 금액이 같은 시점의 값이 되도록 한다.
+     */
+    private static class UserBuckets {
+        private final long[] hours;
+        private final long[] days;
+
+        private UserBuckets(int hourBuckets, int dayBuckets) {
+            this.hours = new long[hourBuckets * BUCKET_WIDTH];
+            this.days = new long[dayBuckets * BUCKET_WIDTH];
+        }
+
+        private synchronized void record(int type, long amount, long timeMillis) {
+            add(hours, StatisticsWindow.HOUR.getMillis(), type, amount, timeMillis);
+            add(days, StatisticsWindow.DAY.getMillis(), type, amount, timeMillis);
+        }
+
+        private synchronized List<Totals> buckets(StatisticsWindow window, long nowMillis) {
+            long[] ring = window == StatisticsWindow.HOUR ? hours : days;
+            int bucketCount = ring.length / BUCKET_WIDTH;
+            long current = Math.floorDiv(nowMillis, window.getMillis());
+            List<Totals> buckets = new ArrayList<>();
+            for (long bucket = current - bucketCount + 1; bucket <= current; bucket++) {
+                int slot = slotOf(bucket, bucketCount);
+                if (ring[slot] == bucket + 1) {
+                    long[] fields = new long[FIELDS];
+                    System.arraycopy(ring, slot + 1, fields, 0, FIELDS);
+                    buckets.add(new Totals(bucket * window.getMillis(), fields));
+                }
+            }
+            return buckets;
+        }
+
+        // 칸에 더 최근 구간이 들어와 있으면 이미 보관 범위를 벗어난 기록이므로 버린다.
+        private static void add(long[] ring, long bucketMillis, int type, long amount, long timeMillis) {
+            int bucketCount = ring.length / BUCKET_WIDTH;
+            if (bucketCount == 0) {
+                return;
+            }
+            long bucket = Math.floorDiv(timeMillis, bucketMillis);
+            int slot = slotOf(bucket, bucketCount);
+            if (ring[slot] > bucket + 1) {
+                return;
+            }
+            if (ring[slot] != bucket + 1) {
+                Arrays.fill(ring, slot, slot + BUCKET_WIDTH, 0L);
+                ring[slot] = bucket + 1;
+            }
+            ring[slot + 1 + type * 2]++;
+            ring[slot + 2 + type * 2] += amount;
+        }
+
+        private static int slotOf(long bucket, int bucketCount) {
+            return (int) Math.floorMod(bucket, (long) bucketCount) * BUCKET_WIDTH;
+        }
+    }
+}
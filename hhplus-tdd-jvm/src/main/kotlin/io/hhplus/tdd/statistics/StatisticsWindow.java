@@ -0,0 +1,23 @@
+package io.hhplus.tdd.statistics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 통계 구간 단위
+ * - HOUR : 1시간
+ * - DAY : 1일 (UTC 기준)
+ */
+public enum StatisticsWindow {
+    HOUR(TimeUnit.HOURS.toMillis(1)),
+    DAY(TimeUnit.DAYS.toMillis(1));
+
+    private final long millis;
+
+    StatisticsWindow(long millis) {
+        this.millis = millis;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
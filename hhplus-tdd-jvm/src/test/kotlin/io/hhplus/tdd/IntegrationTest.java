@@ -2,14 +2,20 @@ package io.hhplus.tdd;
 
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointOperationDto;
+import io.hhplus.tdd.dto.PointOperationResultDto;
+import io.hhplus.tdd.dto.PointTransferResultDto;
 import io.hhplus.tdd.dto.UserPointDto;
 import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.service.PointService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -128,7 +134,7 @@ public class IntegrationTest {
     class Concurrency {
 
         /**
-         * 작성 이유 : 분산 환경이 아닌경우(단일 인스턴스), synchronized로 동기화 처리 되는지 테스트
+         * 작성 이유 : 분산 환경이 아닌경우(단일 인스턴스), 유저 단위 락으로 동기화 처리 되는지 테스트
          * 시나리오 : 쓰레드 10개에서 (1000원 업데이트 => 500원 사용)
          */
         @Test
@@ -157,7 +163,7 @@ public class IntegrationTest {
         }
 
         /**
-         * 작성 이유 : 분산 환경이 아닌경우(단일 인스턴스), synchronized로 동기화 처리 되는지 테스트
+         * 작성 이유 : 분산 환경이 아닌경우(단일 인스턴스), 유저 단위 락으로 동기화 처리 되는지 테스트
          * 시나리오 : 5000원 충전 - 쓰레드 10개에서 (500원 사용)
          */
         @Test
@@ -185,4 +191,98 @@ public class IntegrationTest {
             Assertions.assertEquals(0L, userPoint.getPoint());
         }
     }
+
+    @Nested
+    @DisplayName("포인트 이체시")
+    class Transfer {
+
+        /**
+         * 작성 이유 : 이체시 두 유저의 잔고와 내역이 함께 반영되는지 테스트
+         */
+        @Test
+        public void 이체_성공할경우() {
+            pointService.charge(2000L, 5000L);
+            pointService.charge(2001L, 1000L);
+
+            PointTransferResultDto pointTransferResultDto = pointService.transfer(2000L, 2001L, 3000L);
+
+            Assertions.assertEquals(2000L, pointTransferResultDto.getFrom().getPoint());
+            Assertions.assertEquals(4000L, pointTransferResultDto.getTo().getPoint());
+            Assertions.assertEquals(2000L, userPointTable.selectById(2000L).getPoint());
+            Assertions.assertEquals(4000L, userPointTable.selectById(2001L).getPoint());
+            Assertions.assertEquals(2, pointService.history(2001L).size());
+        }
+
+        /**
+         * 작성 이유 : 두 유저가 서로에게 동시에 이체해도 교착 상태 없이 처리되고 잔고 합계가 유지되는지 테스트
+         * 시나리오 : 두 유저 10000원 충전 - 쓰레드 10개에서 (A => B 100원 이체 / B => A 100원 이체) 를 100회씩
+         */
+        @Test
+        public void 서로에게_동시에_이체_요청시_성공_테스트() throws InterruptedException {
+            int numThreads = 10;
+            long userA = 2010L;
+            long userB = 2011L;
+
+            CountDownLatch latch = new CountDownLatch(numThreads);
+            ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+            pointService.charge(userA, 10000L);
+            pointService.charge(userB, 10000L);
+
+            for (int i=0; i<numThreads; i++) {
+                long fromId = i % 2 == 0 ? userA : userB;
+                long toId = i % 2 == 0 ? userB : userA;
+                executorService.submit(() -> {
+                    try {
+                        for (int j=0; j<100; j++) {
+                            pointService.transfer(fromId, toId, 100L);
+                        }
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            executorService.shutdown();
+            latch.await();
+
+            Assertions.assertEquals(10000L, userPointTable.selectById(userA).getPoint());
+            Assertions.assertEquals(10000L, userPointTable.selectById(userB).getPoint());
+        }
+    }
+
+    @Nested
+    @DisplayName("일괄 처리시")
+    class Bulk {
+
+        /**
+         * 작성 이유 : 유저별 요청 순서가 지켜지고, 잔고 부족 건만 실패하는지 테스트
+         * 시나리오 : 유저 100명에게 (10000원 충전 => 3000원 사용 => 8000원 사용) 을 섞어서 요청
+         */
+        @Test
+        public void 유저별_순서대로_처리되고_실패건만_실패() {
+            int userCount = 100;
+            long firstUserId = 1000L;
+            List<PointOperationDto> operations = new ArrayList<>();
+            for (int i=0; i<userCount; i++) {
+                operations.add(new PointOperationDto(firstUserId + i, TransactionType.CHARGE, 10000L));
+            }
+            for (int i=0; i<userCount; i++) {
+                operations.add(new PointOperationDto(firstUserId + i, TransactionType.USE, 3000L));
+            }
+            for (int i=0; i<userCount; i++) {
+                operations.add(new PointOperationDto(firstUserId + i, TransactionType.USE, 8000L));
+            }
+
+            List<PointOperationResultDto> results = pointService.bulk(operations);
+
+            Assertions.assertEquals(operations.size(), results.size());
+            for (int i=0; i<userCount; i++) {
+                Assertions.assertTrue(results.get(i).isSuccess());
+                Assertions.assertEquals(7000L, results.get(userCount + i).getPoint().getPoint());
+                Assertions.assertEquals(ErrorCode.POINT_SHORTAGE.getCode(), results.get(userCount * 2 + i).getCode());
+                Assertions.assertEquals(7000L, userPointTable.selectById(firstUserId + i).getPoint());
+            }
+        }
+    }
 }
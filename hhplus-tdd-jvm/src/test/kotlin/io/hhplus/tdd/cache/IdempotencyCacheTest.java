@@ -0,0 +1,226 @@
+package io.hhplus.tdd.cache;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 멱등 키 저장소의 유닛 테스트이다.
+ * 실제 테이블과 락 엔진으로 서비스를 만들어 같은 키로 재시도한 요청의 결과를 검증한다.
+ */
+public class IdempotencyCacheTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final AtomicLong nanos = new AtomicLong();
+    private UserPointTable userPointTable;
+    private IdempotencyCache idempotencyCache;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointService pointService;
+
+    @BeforeEach
+    public void setUp() {
+        userPointTable = new UserPointTable();
+        idempotencyCache = new IdempotencyCache(pointMetrics, 100, 10_000, nanos::get);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1,
+                Optional.empty(), Optional.empty(), Optional.of(idempotencyCache), Optional.empty());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    /**
+     * 작성 이유 : 같은 키로 재시도한 사용 요청이 다시 차감하지 않고 처음 결과를 반환하는지 검증
+     * 시나리오 : 1000원 충전 => 키 use-1 로 300원 사용 => 같은 키로 300원 사용 재시도
+     */
+    @Test
+    @DisplayName("같은_키로_재시도시_처음_결과_반환")
+    public void 같은_키로_재시도시_처음_결과_반환() {
+        // given
+        pointService.charge(1L, 1000L);
+
+        // when
+        UserPointDto first = pointService.use(1L, 300L, "use-1");
+        UserPointDto retried = pointService.use(1L, 300L, "use-1");
+
+        // then
+        Assertions.assertEquals(700L, first.getPoint());
+        Assertions.assertEquals(first.getPoint(), retried.getPoint());
+        Assertions.assertEquals(first.getUpdateMillis(), retried.getUpdateMillis());
+        Assertions.assertEquals(700L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(1, idempotencyCache.getReplayCount());
+    }
+
+    /**
+     * 작성 이유 : 같은 키로 다른 유저/종류/금액의 요청이 들어오면 IDEMPOTENCY_KEY_MISMATCH 예외 발생하는지 검증
+     */
+    @Test
+    @DisplayName("같은_키로_다른_요청시_실패")
+    public void 같은_키로_다른_요청시_실패() {
+        // given
+        pointService.charge(1L, 1000L, "key-1");
+
+        // when
+        CustomException otherAmount = Assertions.assertThrows(CustomException.class, () -> pointService.charge(1L, 2000L, "key-1"));
+        CustomException otherType = Assertions.assertThrows(CustomException.class, () -> pointService.use(1L, 1000L, "key-1"));
+        CustomException otherUser = Assertions.assertThrows(CustomException.class, () -> pointService.charge(2L, 1000L, "key-1"));
+
+        // then
+        Assertions.assertEquals(ErrorCode.IDEMPOTENCY_KEY_MISMATCH, otherAmount.getErrorCode());
+        Assertions.assertEquals(ErrorCode.IDEMPOTENCY_KEY_MISMATCH, otherType.getErrorCode());
+        Assertions.assertEquals(ErrorCode.IDEMPOTENCY_KEY_MISMATCH, otherUser.getErrorCode());
+        Assertions.assertEquals(1000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(0L, userPointTable.selectById(2L).getPoint());
+    }
+
+    /**
+     * 작성 이유 : 실패한 요청은 저장되지 않아 같은 키로 다시 시도할 수 있는지 검증
+     * 시나리오 : 키 use-1 로 500원 사용(잔고 부족) => 1000원 충전 => 같은 키로 500원 사용 재시도
+     */
+    @Test
+    @DisplayName("실패한_요청은_같은_키로_재시도_가능")
+    public void 실패한_요청은_같은_키로_재시도_가능() {
+        // given
+        CustomException shortage = Assertions.assertThrows(CustomException.class, () -> pointService.use(1L, 500L, "use-1"));
+        pointService.charge(1L, 1000L);
+
+        // when
+        UserPointDto retried = pointService.use(1L, 500L, "use-1");
+
+        // then
+        Assertions.assertEquals(ErrorCode.POINT_SHORTAGE, shortage.getErrorCode());
+        Assertions.assertEquals(500L, retried.getPoint());
+        Assertions.assertEquals(0, idempotencyCache.getReplayCount());
+    }
+
+    /**
+     * 작성 이유 : 반영 여부를 알 수 없는 실패(CustomException 외의 예외)는 키를 남겨두어 같은 키로 재시도해도 다시 실행하지 않는지 검증
+     * 시나리오 : 키 key-1 요청 실행중 IllegalStateException => 같은 키로 재시도 => IDEMPOTENCY_RESULT_UNKNOWN, 실행 1번
+     */
+    @Test
+    @DisplayName("반영_여부를_알_수_없는_실패는_재실행하지_않음")
+    public void 반영_여부를_알_수_없는_실패는_재실행하지_않음() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        Assertions.assertThrows(IllegalStateException.class, () -> idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("user point write failed");
+        }));
+
+        // when
+        CustomException unknown = Assertions.assertThrows(CustomException.class, () -> idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> {
+            executions.incrementAndGet();
+            return new UserPointDto(new UserPoint(1L, 1000L, 1L));
+        }));
+
+        // then
+        Assertions.assertEquals(ErrorCode.IDEMPOTENCY_RESULT_UNKNOWN, unknown.getErrorCode());
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    /**
+     * 작성 이유 : 처음 요청이 처리중일 때 같은 키로 들어온 요청이 새로 실행하지 않고 처음 결과를 기다려 반환하는지 검증
+     * 시나리오 : 키 key-1 요청 실행중 대기 => 같은 키로 요청 => 처음 요청 완료
+     */
+    @Test
+    @DisplayName("처리중인_같은_키_요청은_결과를_기다림")
+    public void 처리중인_같은_키_요청은_결과를_기다림() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<UserPointDto> first = executorService.submit(() -> idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new UserPointDto(new UserPoint(1L, 1000L, 1L));
+        }));
+        started.await();
+
+        // when
+        Future<UserPointDto> duplicate = executorService.submit(() -> idempotencyCache.execute("key-1", 1L, TransactionType.CHARGE, 1000L, () -> {
+            executions.incrementAndGet();
+            return new UserPointDto(new UserPoint(1L, 2000L, 2L));
+        }));
+        release.countDown();
+
+        // then
+        Assertions.assertEquals(1000L, first.get(5, TimeUnit.SECONDS).getPoint());
+        Assertions.assertEquals(1000L, duplicate.get(5, TimeUnit.SECONDS).getPoint());
+        Assertions.assertEquals(1, executions.get());
+        executorService.shutdown();
+    }
+
+    /**
+     * 작성 이유 : 저장 후 만료 시간이 지난 키는 새 요청으로 실행되는지 검증
+     */
+    @Test
+    @DisplayName("만료된_키는_다시_실행")
+    public void 만료된_키는_다시_실행() {
+        // given
+        pointService.charge(1L, 1000L);
+        pointService.use(1L, 300L, "use-1");
+
+        // when
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        UserPointDto afterExpire = pointService.use(1L, 300L, "use-1");
+
+        // then
+        Assertions.assertEquals(400L, afterExpire.getPoint());
+    }
+
+    /**
+     * 작성 이유 : 비어있거나 너무 긴 키는 INVALID_PARAMETER 예외 발생하는지 검증
+     */
+    @Test
+    @DisplayName("잘못된_키는_실패")
+    public void 잘못된_키는_실패() {
+        // when
+        CustomException blank = Assertions.assertThrows(CustomException.class, () -> pointService.charge(1L, 1000L, " "));
+        CustomException tooLong = Assertions.assertThrows(CustomException.class,
+                () -> pointService.charge(1L, 1000L, "k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1)));
+
+        // then
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, blank.getErrorCode());
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, tooLong.getErrorCode());
+        Assertions.assertEquals(0L, userPointTable.selectById(1L).getPoint());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
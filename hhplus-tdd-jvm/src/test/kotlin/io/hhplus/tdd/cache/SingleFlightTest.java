@@ -0,0 +1,227 @@
+package io.hhplus.tdd.cache;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시 조회 합치기의 유닛 테스트이다.
+ * leader 의 조회를 latch 로 멈춰두고 follower 가 합류한 뒤 풀어서 검증한다.
+ */
+public class SingleFlightTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    /**
+     * 작성 이유 : 같은 키의 동시 조회는 한 번만 조회하고 모든 요청이 같은 결과를 받는지 검증
+     * 시나리오 : 쓰레드 8개가 같은 유저 조회 (첫 조회는 나머지가 합류할 때까지 대기)
+     */
+    @Test
+    @DisplayName("동시_조회_합치기")
+    public void 동시_조회_합치기() throws Exception {
+        // given
+        int numThreads = 8;
+        SingleFlight<Long, UserPoint> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        List<Future<UserPoint>> futures = new ArrayList<>();
+        for (int i=0; i<numThreads; i++) {
+            futures.add(executorService.submit(() -> singleFlight.execute(1L, () -> {
+                loadCount.incrementAndGet();
+                await(release);
+                return new UserPoint(1L, 1000L, 0L);
+            })));
+        }
+        while (singleFlight.getFollowerCount() < numThreads - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        for (Future<UserPoint> future : futures) {
+            Assertions.assertEquals(1000L, future.get().getPoint());
+        }
+        executorService.shutdown();
+        Assertions.assertEquals(1, loadCount.get());
+        Assertions.assertEquals(1, singleFlight.getLeaderCount());
+        Assertions.assertEquals(0.875, singleFlight.getCoalescingRatio());
+    }
+
+    /**
+     * 작성 이유 : 대기 시간을 넘긴 요청은 leader 를 기다리지 않고 직접 조회하는지 검증
+     */
+    @Test
+    @DisplayName("대기_시간_초과시_직접_조회")
+    public void 대기_시간_초과시_직접_조회() throws Exception {
+        // given
+        SingleFlight<Long, UserPoint> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> leader = executorService.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return new UserPoint(1L, 1000L, 0L);
+        }));
+        while (singleFlight.getLeaderCount() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        UserPoint userPoint = singleFlight.execute(1L, () -> new UserPoint(1L, 2000L, 0L));
+        release.countDown();
+
+        // then
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(1000L, leader.get().getPoint());
+        Assertions.assertEquals(1, singleFlight.getTimeoutCount());
+        executorService.shutdown();
+    }
+
+    /**
+     * 작성 이유 : leader 의 조회가 실패하면 합류한 요청도 같은 예외를 받는지 검증
+     */
+    @Test
+    @DisplayName("조회_실패시_예외_전달")
+    public void 조회_실패시_예외_전달() throws Exception {
+        // given
+        SingleFlight<Long, UserPoint> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            throw new CustomException(ErrorCode.NOT_FOUND_USER);
+        }));
+        while (singleFlight.getLeaderCount() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        Thread releaser = new Thread(() -> {
+            while (singleFlight.getFollowerCount() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        });
+        releaser.start();
+        CustomException customException = Assertions.assertThrows(CustomException.class,
+                () -> singleFlight.execute(1L, () -> new UserPoint(1L, 0L, 0L)));
+
+        // then
+        Assertions.assertEquals(ErrorCode.NOT_FOUND_USER, customException.getErrorCode());
+        releaser.join();
+        executorService.shutdown();
+    }
+
+    /**
+     * 작성 이유 : forget 이후의 요청은 진행중인 조회에 합류하지 않고 새로 조회하는지 검증
+     */
+    @Test
+    @DisplayName("forget_이후_새로_조회")
+    public void forget_이후_새로_조회() throws Exception {
+        // given
+        SingleFlight<Long, UserPoint> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> leader = executorService.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return new UserPoint(1L, 1000L, 0L);
+        }));
+        while (singleFlight.getLeaderCount() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        singleFlight.forget(1L);
+        UserPoint userPoint = singleFlight.execute(1L, () -> new UserPoint(1L, 2000L, 0L));
+        release.countDown();
+
+        // then
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(1000L, leader.get().getPoint());
+        Assertions.assertEquals(2, singleFlight.getLeaderCount());
+        Assertions.assertEquals(0, singleFlight.getFollowerCount());
+        executorService.shutdown();
+    }
+
+    /**
+     * 작성 이유 : 조회가 몰리는 중에 사용해도 사용 직후의 조회가 사용 전에 시작된 조회 결과를 받지 않는지 검증
+     * 시나리오 : 캐시 없이 쓰레드 4개가 같은 유저를 반복 조회 / 1원 사용 500회, 사용할 때마다 바로 조회하여 비교
+     */
+    @Test
+    @DisplayName("동시_조회중_사용후_잔고_조회")
+    public void 동시_조회중_사용후_잔고_조회() throws InterruptedException {
+        // given
+        int numThreads = 4;
+        UserPointTable userPointTable = new UserPointTable();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        PointService pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1,
+                Optional.empty(), Optional.of(new SingleFlight<>(Duration.ofSeconds(1))), Optional.empty(), Optional.empty());
+        pointService.charge(1L, 1_000_000L);
+        AtomicBoolean using = new AtomicBoolean(true);
+        AtomicInteger failCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    while (using.get()) {
+                        pointService.point(1L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // when
+        for (int i=0; i<500; i++) {
+            long used = pointService.use(1L, 1L).getPoint();
+            if (pointService.point(1L).getPoint() != used) {
+                failCount.incrementAndGet();
+            }
+        }
+        using.set(false);
+        latch.await();
+        executorService.shutdown();
+        pointHistoryWriter.close();
+
+        // then
+        Assertions.assertEquals(0, failCount.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.hhplus.tdd.cache;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잔고 조회 캐시의 유닛 테스트이다.
+ * 실제 테이블과 락 엔진으로 서비스를 만들어 충전/사용 이후의 조회 결과를 검증한다.
+ */
+public class UserPointCacheTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final AtomicLong nanos = new AtomicLong();
+    private UserPointTable userPointTable;
+    private UserPointCache userPointCache;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointService pointService;
+
+    @BeforeEach
+    public void setUp() {
+        userPointTable = new UserPointTable();
+        userPointCache = new UserPointCache(userPointTable, pointMetrics, 100, 10_000, nanos::get);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1, Optional.of(userPointCache), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    /**
+     * 작성 이유 : 처음 조회는 테이블에서 읽고, 이후 조회는 캐시에서 반환하는지 통계로 검증
+     */
+    @Test
+    @DisplayName("캐시_적중")
+    public void 캐시_적중() {
+        // given
+        userPointTable.insertOrUpdate(1L, 1000L);
+
+        // when
+        userPointCache.get(1L);
+        long point = userPointCache.get(1L).getPoint();
+
+        // then
+        Assertions.assertEquals(1000L, point);
+        Assertions.assertEquals(1, userPointCache.stats().missCount());
+        Assertions.assertEquals(1, userPointCache.stats().hitCount());
+    }
+
+    /**
+     * 작성 이유 : 테이블 조회 도중 무효화되면 조회한 이전 잔고를 캐시에 저장하지 않는지 검증
+     * 시나리오 : 1000원 저장 - 1번 유저 조회가 테이블에서 읽은 뒤 대기 => 2000원 저장 후 무효화 => 조회 완료
+     *          => 다시 조회시 2000원
+     */
+    @Test
+    @DisplayName("조회중_무효화시_이전_잔고_저장하지_않음")
+    public void 조회중_무효화시_이전_잔고_저장하지_않음() throws Exception {
+        // given
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean blocking = new AtomicBoolean(true);
+        UserPointTable slowTable = new UserPointTable() {
+            @Override
+            public UserPoint selectById(long id) {
+                UserPoint userPoint = super.selectById(id);
+                if (blocking.compareAndSet(true, false)) {
+                    loaded.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return userPoint;
+            }
+        };
+        UserPointCache slowCache = new UserPointCache(slowTable, pointMetrics, 100, 10_000, nanos::get);
+        slowTable.insertOrUpdate(1L, 1000L);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> stale = executorService.submit(() -> slowCache.get(1L));
+        loaded.await();
+
+        // when
+        slowTable.insertOrUpdate(1L, 2000L);
+        slowCache.invalidate(1L);
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(2000L, slowCache.get(1L).getPoint());
+    }
+
+    /**
+     * 작성 이유 : 캐시된 잔고가 충전/사용 이후 무효화되어 바뀐 잔고로 조회되는지 검증
+     * 시나리오 : 조회(0원 캐시) => 1000원 충전 => 조회 => 300원 사용 => 조회
+     */
+    @Test
+    @DisplayName("충전_사용후_변경된_잔고_조회")
+    public void 충전_사용후_변경된_잔고_조회() {
+        // given
+        pointService.point(1L);
+
+        // when
+        pointService.charge(1L, 1000L);
+        long charged = pointService.point(1L).getPoint();
+        pointService.use(1L, 300L);
+        long used = pointService.point(1L).getPoint();
+
+        // then
+        Assertions.assertEquals(1000L, charged);
+        Assertions.assertEquals(700L, used);
+    }
+
+    /**
+     * 작성 이유 : 최대 건수를 넘으면 제거되고 제거 건수가 통계에 남는지 검증
+     */
+    @Test
+    @DisplayName("최대_건수_초과시_제거")
+    public void 최대_건수_초과시_제거() {
+        // when
+        for (long userId=0; userId<1000; userId++) {
+            userPointCache.get(userId);
+        }
+        userPointCache.cleanUp();
+
+        // then
+        Assertions.assertTrue(userPointCache.estimatedSize() <= 100);
+        Assertions.assertTrue(userPointCache.stats().evictionCount() >= 900);
+    }
+
+    /**
+     * 작성 이유 : 저장 후 만료 시간이 지나면 테이블에서 다시 읽는지 검증
+     * 시나리오 : 1000원 조회 => 캐시를 거치지 않고 테이블 변경 => 만료 시간 경과 => 조회
+     */
+    @Test
+    @DisplayName("만료_시간_경과후_다시_조회")
+    public void 만료_시간_경과후_다시_조회() {
+        // given
+        userPointTable.insertOrUpdate(1L, 1000L);
+        userPointCache.get(1L);
+        userPointTable.insertOrUpdate(1L, 2000L);
+
+        // when
+        long beforeExpire = userPointCache.get(1L).getPoint();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        long afterExpire = userPointCache.get(1L).getPoint();
+
+        // then
+        Assertions.assertEquals(1000L, beforeExpire);
+        Assertions.assertEquals(2000L, afterExpire);
+        Assertions.assertEquals(2, userPointCache.stats().missCount());
+    }
+
+    /**
+     * 작성 이유 : 조회가 몰리는 중에 사용해도 사용 직후의 조회가 이전 잔고를 반환하지 않는지 검증
+     * 시나리오 : 쓰레드 4개가 같은 유저를 반복 조회 / 1원 사용 2000회, 사용할 때마다 바로 조회하여 비교
+     */
+    @Test
+    @DisplayName("동시_조회중_사용후_잔고_조회")
+    public void 동시_조회중_사용후_잔고_조회() throws InterruptedException {
+        // given
+        int numThreads = 4;
+        pointService.charge(1L, 1_000_000L);
+        AtomicBoolean using = new AtomicBoolean(true);
+        AtomicInteger failCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    // 사용만 하므로 조회되는 잔고는 늘어나지 않아야 한다.
+                    long last = Long.MAX_VALUE;
+                    while (using.get()) {
+                        long point = pointService.point(1L).getPoint();
+                        if (point > last) {
+                            failCount.incrementAndGet();
+                        }
+                        last = point;
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // when
+        for (int i=0; i<2000; i++) {
+            long used = pointService.use(1L, 1L).getPoint();
+            if (pointService.point(1L).getPoint() != used) {
+                failCount.incrementAndGet();
+            }
+        }
+        using.set(false);
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(0, failCount.get());
+        Assertions.assertEquals(998_000L, pointService.point(1L).getPoint());
+    }
+}
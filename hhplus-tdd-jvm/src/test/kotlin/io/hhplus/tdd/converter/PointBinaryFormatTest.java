@@ -0,0 +1,134 @@
+package io.hhplus.tdd.converter;
+
+import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.PointHistorySummaryDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 포인트 바이너리 응답 형식의 유닛 테스트이다.
+ * 인코딩한 결과를 다시 읽어 값을 검증한다.
+ */
+public class PointBinaryFormatTest {
+
+    /**
+     * 작성 이유 : 잔고를 인코딩한 뒤 읽으면 같은 값이 나오는지 검증
+     */
+    @Test
+    @DisplayName("잔고_인코딩_후_읽기")
+    public void 잔고_인코딩_후_읽기() {
+        // given
+        UserPointDto userPointDto = new UserPointDto(new UserPoint(1L, 10000L, 1_700_000_000_000L));
+
+        // when
+        PointBinaryFormat.Writer writer = PointBinaryFormat.write(userPointDto);
+
+        // then
+        ByteBuffer buffer = ByteBuffer.wrap(writer.getBuffer(), 0, writer.getSize());
+        Assertions.assertEquals(PointBinaryFormat.VERSION, buffer.get());
+        Assertions.assertEquals(1L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertEquals(10000L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertEquals(1_700_000_000_000L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * 작성 이유 : 내역 페이지를 인코딩한 뒤 읽으면 id, 시각 차이값을 포함해 같은 값이 나오는지 검증
+     * 시나리오 : 시각이 뒤로 간 내역(차이값 음수)과 다음 cursor, 요약을 포함한 페이지 인코딩
+     */
+    @Test
+    @DisplayName("내역_페이지_인코딩_후_읽기")
+    public void 내역_페이지_인코딩_후_읽기() {
+        // given
+        List<PointHistoryDto> histories = new ArrayList<>();
+        histories.add(new PointHistoryDto(new PointHistory(10L, 1L, TransactionType.CHARGE, 10000L, 1_700_000_000_500L)));
+        histories.add(new PointHistoryDto(new PointHistory(12L, 1L, TransactionType.USE, 7000L, 1_700_000_000_000L)));
+        PointHistorySummaryDto summary = mock(PointHistorySummaryDto.class);
+        when(summary.getChargeCount()).thenReturn(1L);
+        when(summary.getUseCount()).thenReturn(1L);
+        when(summary.getLastId()).thenReturn(2L);
+        when(summary.getLastTimeMillis()).thenReturn(2000L);
+        PointHistoryPageDto page = new PointHistoryPageDto(histories, 12L, summary);
+
+        // when
+        PointBinaryFormat.Writer writer = PointBinaryFormat.write(page);
+
+        // then
+        ByteBuffer buffer = ByteBuffer.wrap(writer.getBuffer(), 0, writer.getSize());
+        Assertions.assertEquals(PointBinaryFormat.VERSION, buffer.get());
+        Assertions.assertEquals(2L, PointBinaryFormat.readVarLong(buffer));
+        long id = 0;
+        long timeMillis = 0;
+        for (int i=0; i<2; i++) {
+            PointHistoryDto history = histories.get(i);
+            id += PointBinaryFormat.readVarLong(buffer);
+            Assertions.assertEquals(history.getId(), id);
+            Assertions.assertEquals(history.getUserId(), PointBinaryFormat.readVarLong(buffer));
+            Assertions.assertEquals(history.getType(), PointBinaryFormat.readType(buffer));
+            Assertions.assertEquals(history.getAmount(), PointBinaryFormat.readVarLong(buffer));
+            timeMillis += PointBinaryFormat.readZigZag(buffer);
+            Assertions.assertEquals(history.getTimeMillis(), timeMillis);
+        }
+        Assertions.assertEquals(1, buffer.get());
+        Assertions.assertEquals(12L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertEquals(1, buffer.get());
+        Assertions.assertEquals(1L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertEquals(1L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertEquals(2L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertEquals(2000L, PointBinaryFormat.readVarLong(buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * 작성 이유 : 마지막 페이지이고 요약이 없으면 유무 byte 만 쓰는지 검증
+     */
+    @Test
+    @DisplayName("빈_마지막_페이지_인코딩")
+    public void 빈_마지막_페이지_인코딩() {
+        // given
+        PointHistoryPageDto page = new PointHistoryPageDto(new ArrayList<>(), null);
+
+        // when
+        PointBinaryFormat.Writer writer = PointBinaryFormat.write(page);
+
+        // then
+        Assertions.assertEquals(4, writer.getSize());
+        Assertions.assertArrayEquals(new byte[]{PointBinaryFormat.VERSION, 0, 0, 0}, Arrays.copyOf(writer.getBuffer(), writer.getSize()));
+    }
+
+    /**
+     * 작성 이유 : 같은 내역 페이지를 JSON 보다 작게 인코딩하는지 검증
+     * 시나리오 : 내역 100건 페이지의 바이너리 크기 < 필드명을 포함한 JSON 100건 크기의 1/5
+     */
+    @Test
+    @DisplayName("JSON_보다_작게_인코딩")
+    public void JSON_보다_작게_인코딩() {
+        // given
+        long now = System.currentTimeMillis();
+        List<PointHistoryDto> histories = new ArrayList<>();
+        for (int i=1; i<=100; i++) {
+            histories.add(new PointHistoryDto(new PointHistory(i, 1L, TransactionType.CHARGE, i * 100L, now + i)));
+        }
+        String json = "{\"id\":1,\"userId\":1,\"type\":\"CHARGE\",\"amount\":100,\"timeMillis\":" + now + "}";
+
+        // when
+        PointBinaryFormat.Writer writer = PointBinaryFormat.write(new PointHistoryPageDto(histories, null));
+
+        // then
+        Assertions.assertTrue(writer.getSize() < json.length() * 100 / 5);
+    }
+}
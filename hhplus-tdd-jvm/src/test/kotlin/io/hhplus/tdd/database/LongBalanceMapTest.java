@@ -0,0 +1,204 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * long 키 잔고 저장소의 유닛 테스트이다.
+ */
+public class LongBalanceMapTest {
+
+    /**
+     * 작성 이유 : 저장한 잔고가 조회되고, 같은 id 로 다시 저장하면 덮어쓰며 버전이 증가하는지 검증
+     */
+    @Test
+    @DisplayName("잔고_저장후_조회")
+    public void 잔고_저장후_조회() {
+        // given
+        LongBalanceMap longBalanceMap = new LongBalanceMap();
+
+        // when
+        longBalanceMap.put(1L, 1000L, 10L);
+        longBalanceMap.put(1L, 300L, 20L);
+
+        // then
+        Assertions.assertEquals(new UserPoint(1L, 300L, 20L, 2L), longBalanceMap.get(1L));
+        Assertions.assertEquals(1, longBalanceMap.size());
+    }
+
+    /**
+     * 작성 이유 : 현재 버전이 기대한 버전과 같을 때만 저장하고, 다르면 저장하지 않는지 검증
+     * 시나리오 : 저장되지 않은 잔고(버전 0) 저장 => 버전 1 로 저장 => 이미 변경된 버전 1 로 다시 저장 시도
+     */
+    @Test
+    @DisplayName("버전이_같을때만_저장")
+    public void 버전이_같을때만_저장() {
+        // given
+        LongBalanceMap longBalanceMap = new LongBalanceMap();
+
+        // when
+        long first = longBalanceMap.putIfVersion(1L, 0L, 1000L, 10L);
+        long second = longBalanceMap.putIfVersion(1L, first, 700L, 20L);
+        long stale = longBalanceMap.putIfVersion(1L, first, 500L, 30L);
+
+        // then
+        Assertions.assertEquals(1L, first);
+        Assertions.assertEquals(2L, second);
+        Assertions.assertEquals(LongBalanceMap.VERSION_CONFLICT, stale);
+        Assertions.assertEquals(new UserPoint(1L, 700L, 20L, 2L), longBalanceMap.get(1L));
+        Assertions.assertEquals(LongBalanceMap.VERSION_CONFLICT, longBalanceMap.putIfVersion(0L, 1L, 100L, 1L));
+        Assertions.assertNull(longBalanceMap.get(0L));
+    }
+
+    /**
+     * 작성 이유 : 저장되지 않은 id 는 null 을 반환하는지 검증
+     */
+    @Test
+    @DisplayName("저장되지_않은_잔고_조회")
+    public void 저장되지_않은_잔고_조회() {
+        // given
+        LongBalanceMap longBalanceMap = new LongBalanceMap();
+        longBalanceMap.put(1L, 1000L, 10L);
+
+        // when
+        UserPoint userPoint = longBalanceMap.get(2L);
+
+        // then
+        Assertions.assertNull(userPoint);
+        Assertions.assertNull(longBalanceMap.get(0L));
+    }
+
+    /**
+     * 작성 이유 : 빈 슬롯 표시로 쓰는 0 과 음수 id 도 다른 id 와 구분되어 저장되는지 검증
+     */
+    @Test
+    @DisplayName("0번_음수_id_잔고_저장")
+    public void 영번_음수_id_잔고_저장() {
+        // given
+        LongBalanceMap longBalanceMap = new LongBalanceMap();
+
+        // when
+        longBalanceMap.put(0L, 100L, 1L);
+        longBalanceMap.put(-1L, 200L, 2L);
+        longBalanceMap.put(Long.MIN_VALUE, 300L, 3L);
+
+        // then
+        Assertions.assertEquals(100L, longBalanceMap.get(0L).getPoint());
+        Assertions.assertEquals(200L, longBalanceMap.get(-1L).getPoint());
+        Assertions.assertEquals(300L, longBalanceMap.get(Long.MIN_VALUE).getPoint());
+        Assertions.assertEquals(3, longBalanceMap.size());
+    }
+
+    /**
+     * 작성 이유 : 초기 용량을 넘어 저장되어 크기가 확장되어도 모든 잔고가 유지되는지 검증
+     */
+    @Test
+    @DisplayName("크기_확장후_잔고_유지")
+    public void 크기_확장후_잔고_유지() {
+        // given
+        LongBalanceMap longBalanceMap = new LongBalanceMap();
+        int userCount = 200_000;
+
+        // when
+        for (long userId=0; userId<userCount; userId++) {
+            longBalanceMap.put(userId, userId * 10, userId);
+        }
+
+        // then
+        Assertions.assertEquals(userCount, longBalanceMap.size());
+        for (long userId=0; userId<userCount; userId++) {
+            Assertions.assertEquals(userId * 10, longBalanceMap.get(userId).getPoint());
+        }
+    }
+
+    /**
+     * 작성 이유 : 다른 쓰레드가 저장하며 크기를 확장하는 동안에도 이미 저장된 잔고는 항상 올바르게 조회되는지 검증
+     * 시나리오 : 유저 1000명 저장 => 쓰레드 1개가 유저 20만명 추가 저장 / 쓰레드 4개가 기존 유저 반복 조회
+     */
+    @Test
+    @DisplayName("크기_확장중_동시_조회")
+    public void 크기_확장중_동시_조회() throws InterruptedException {
+        // given
+        int numThreads = 4;
+        LongBalanceMap longBalanceMap = new LongBalanceMap();
+        for (long userId=1; userId<=1000; userId++) {
+            longBalanceMap.put(userId, userId, userId);
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger failCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    while (writing.get()) {
+                        for (long userId=1; userId<=1000; userId++) {
+                            UserPoint userPoint = longBalanceMap.get(userId);
+                            if (userPoint == null || userPoint.getPoint() != userId) {
+                                failCount.incrementAndGet();
+                            }
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        for (long userId=1001; userId<=200_000; userId++) {
+            longBalanceMap.put(userId, userId, userId);
+        }
+        writing.set(false);
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(0, failCount.get());
+        Assertions.assertEquals(200_000, longBalanceMap.size());
+    }
+
+    /**
+     * 작성 이유 : 여러 쓰레드가 서로 다른 유저를 동시에 저장해도 누락 없이 저장되는지 검증
+     */
+    @Test
+    @DisplayName("동시_저장")
+    public void 동시_저장() throws InterruptedException {
+        // given
+        int numThreads = 8;
+        int usersPerThread = 20_000;
+        LongBalanceMap longBalanceMap = new LongBalanceMap();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            long from = (long) i * usersPerThread;
+            executorService.submit(() -> {
+                try {
+                    for (long userId=from; userId<from + usersPerThread; userId++) {
+                        longBalanceMap.put(userId, userId + 1, 0L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals((long) numThreads * usersPerThread, longBalanceMap.size());
+        for (long userId=0; userId<(long) numThreads * usersPerThread; userId++) {
+            Assertions.assertEquals(userId + 1, longBalanceMap.get(userId).getPoint());
+        }
+    }
+}
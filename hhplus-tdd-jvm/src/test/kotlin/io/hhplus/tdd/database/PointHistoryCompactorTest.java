@@ -0,0 +1,245 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 내역 보관 기간 관리의 유닛 테스트이다.
+ * 실제 저장소로 보관 기간이 지난 내역의 요약과 남은 내역 조회를 검증한다.
+ */
+public class PointHistoryCompactorTest {
+
+    private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final AtomicLong now = new AtomicLong(RETENTION_MILLIS * 2);
+    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryCompactor pointHistoryCompactor;
+
+    @BeforeEach
+    public void setUp() {
+        pointHistoryTable = new PointHistoryTable();
+        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, pointMetrics);
+        pointHistoryCompactor = new PointHistoryCompactor(pointHistoryRepository, pointMetrics, RETENTION_MILLIS, 0, 100, now::get);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryCompactor.close();
+    }
+
+    /**
+     * 작성 이유 : 보관 기간이 지난 내역만 거래 종류별 건수로 요약되고, 이후 내역은 그대로 조회되는지 검증
+     * 시나리오 : 보관 기간 이전 충전 2건, 사용 1건 / 보관 기간 이후 충전 1건 => 요약
+     */
+    @Test
+    @DisplayName("보관_기간이_지난_내역만_요약")
+    public void 보관_기간이_지난_내역만_요약() {
+        // given
+        long expired = now.get() - RETENTION_MILLIS - 1;
+        pointHistoryRepository.insert(1L, 1000L, TransactionType.CHARGE, expired);
+        pointHistoryRepository.insert(1L, 2000L, TransactionType.CHARGE, expired);
+        PointHistory lastExpired = pointHistoryRepository.insert(1L, 500L, TransactionType.USE, expired);
+        PointHistory recent = pointHistoryRepository.insert(1L, 3000L, TransactionType.CHARGE, now.get());
+
+        // when
+        long compacted = pointHistoryCompactor.compact();
+
+        // then
+        PointHistorySummary summary = pointHistoryRepository.selectSummaryByUserId(1L);
+        Assertions.assertEquals(3, compacted);
+        Assertions.assertEquals(2, summary.getCount(TransactionType.CHARGE));
+        Assertions.assertEquals(1, summary.getCount(TransactionType.USE));
+        Assertions.assertEquals(lastExpired.getId(), summary.getLastId());
+        Assertions.assertEquals(List.of(recent), pointHistoryRepository.selectAllByUserId(1L));
+        Assertions.assertEquals(3, pointHistoryRepository.compactedCount());
+    }
+
+    /**
+     * 작성 이유 : 배치 크기보다 많은 내역도 나눠서 모두 요약되고, 요약된 chunk 의 메모리가 해제되는지 검증
+     * 시나리오 : 보관 기간 이전 유저 10명 40000건 저장 => 요약(배치 100건)
+     */
+    @Test
+    @DisplayName("여러_배치로_나눠_요약후_메모리_해제")
+    public void 여러_배치로_나눠_요약후_메모리_해제() {
+        // given
+        long expired = now.get() - RETENTION_MILLIS - 1;
+        for (int i=0; i<40_000; i++) {
+            pointHistoryRepository.insert((long) (i % 10), 1L, TransactionType.CHARGE, expired);
+        }
+        long allocated = pointHistoryTable.getStore().allocatedBytes();
+
+        // when
+        long compacted = pointHistoryCompactor.compact();
+
+        // then
+        Assertions.assertEquals(40_000, compacted);
+        Assertions.assertTrue(pointHistoryTable.getStore().allocatedBytes() < allocated);
+        for (long userId=0; userId<10; userId++) {
+            Assertions.assertEquals(4_000, pointHistoryRepository.selectSummaryByUserId(userId).getCount(TransactionType.CHARGE));
+            Assertions.assertTrue(pointHistoryRepository.selectAllByUserId(userId).isEmpty());
+        }
+    }
+
+    /**
+     * 작성 이유 : 요약된 내역의 id 를 cursor 로 조회해도 남은 내역부터 이어서 조회되는지 검증
+     */
+    @Test
+    @DisplayName("요약된_내역_이후_cursor_조회")
+    public void 요약된_내역_이후_cursor_조회() {
+        // given
+        long expired = now.get() - RETENTION_MILLIS - 1;
+        PointHistory compactedHistory = pointHistoryRepository.insert(1L, 1000L, TransactionType.CHARGE, expired);
+        pointHistoryRepository.insert(1L, 2000L, TransactionType.CHARGE, expired);
+        PointHistory recent = pointHistoryRepository.insert(1L, 3000L, TransactionType.CHARGE, now.get());
+        pointHistoryCompactor.compact();
+
+        // when
+        List<PointHistory> page = pointHistoryRepository.selectPageByUserId(1L, compactedHistory.getId(), 10);
+
+        // then
+        Assertions.assertEquals(List.of(recent), page);
+    }
+
+    /**
+     * 작성 이유 : 요약 도중에 저장과 조회가 함께 일어나도 요약과 남은 내역의 합이 저장한 내역과 일치하는지 검증
+     * 시나리오 : 쓰레드 4개가 유저별 페이지 조회를 반복하는 동안 보관 기간 이전 10000건 저장 => 요약과 저장을 동시에 진행
+     */
+    @Test
+    @DisplayName("동시_저장_조회중_요약")
+    public void 동시_저장_조회중_요약() throws InterruptedException {
+        // given
+        int numThreads = 4;
+        long expired = now.get() - RETENTION_MILLIS - 1;
+        for (int i=0; i<10_000; i++) {
+            pointHistoryRepository.insert((long) (i % 4), 1L, TransactionType.CHARGE, expired);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger failCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        for (int i=0; i<numThreads; i++) {
+            long userId = i;
+            executorService.submit(() -> {
+                try {
+                    while (running.get()) {
+                        // 같은 시점의 요약과 남은 내역은 겹치지 않고 합쳐서 처음 저장한 건수 이상이어야 한다.
+                        List<Long> ids = new ArrayList<>();
+                        PointHistorySummary summary = pointHistoryRepository.visitPageWithSummaryByUserId(userId, null, Integer.MAX_VALUE, view -> ids.add(view.getId()));
+                        long compacted = summary == null ? 0 : summary.getTotalCount();
+                        long lastId = summary == null ? 0 : summary.getLastId();
+                        if (compacted + ids.size() < 2_500 || (!ids.isEmpty() && ids.get(0) <= lastId)) {
+                            failCount.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // when
+        Thread writer = new Thread(() -> {
+            for (int i=0; i<10_000; i++) {
+                pointHistoryRepository.insert((long) (i % 4), 1L, TransactionType.USE, now.get());
+            }
+        });
+        writer.start();
+        long compacted = pointHistoryCompactor.compact();
+        writer.join();
+        running.set(false);
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(0, failCount.get());
+        Assertions.assertEquals(10_000, compacted);
+        for (long userId=0; userId<4; userId++) {
+            Assertions.assertEquals(2_500, pointHistoryRepository.selectSummaryByUserId(userId).getCount(TransactionType.CHARGE));
+            Assertions.assertEquals(2_500, pointHistoryRepository.selectAllByUserId(userId).size());
+        }
+    }
+
+    /**
+     * 작성 이유 : 내역 페이지 조회시 요약이 함께 반환되는지 검증
+     * 시나리오 : 1000원 충전 => 300원 사용 => 보관 기간 경과 후 요약 => 2000원 충전 => 페이지 조회
+     */
+    @Test
+    @DisplayName("내역_페이지_조회시_요약_반환")
+    public void 내역_페이지_조회시_요약_반환() throws InterruptedException {
+        // given
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        UserPointTable userPointTable = new UserPointTable();
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        PointService pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1);
+        pointService.charge(1L, 1000L);
+        pointService.use(1L, 300L);
+        now.set(System.currentTimeMillis() + RETENTION_MILLIS + 1);
+        pointHistoryCompactor.compact();
+        pointService.charge(1L, 2000L);
+
+        // when
+        PointHistoryPageDto pointHistoryPageDto = pointService.history(1L, null, null);
+        pointHistoryWriter.close();
+
+        // then
+        Assertions.assertEquals(1, pointHistoryPageDto.getHistories().size());
+        Assertions.assertEquals(2000L, pointHistoryPageDto.getHistories().get(0).getAmount());
+        Assertions.assertEquals(1, pointHistoryPageDto.getSummary().getChargeCount());
+        Assertions.assertEquals(1, pointHistoryPageDto.getSummary().getUseCount());
+    }
+
+    /**
+     * 작성 이유 : 충전/사용으로 저장된 내역을 요약하면 변경된 잔고와 관계없이 거래 종류별 건수만 집계되는지 검증
+     * 시나리오 : 1000원 충전 => 300원 사용 => 200원 사용 => 5000원 충전 => 보관 기간 경과 후 요약
+     */
+    @Test
+    @DisplayName("충전_사용_내역_요약시_거래_종류별_건수")
+    public void 충전_사용_내역_요약시_거래_종류별_건수() throws InterruptedException {
+        // given
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        UserPointTable userPointTable = new UserPointTable();
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        PointService pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1);
+        pointService.charge(1L, 1000L);
+        pointService.use(1L, 300L);
+        pointService.use(1L, 200L);
+        pointService.charge(1L, 5000L);
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+        now.set(System.currentTimeMillis() + RETENTION_MILLIS + 1);
+
+        // when
+        long compacted = pointHistoryCompactor.compact();
+        pointHistoryWriter.close();
+
+        // then
+        PointHistorySummary summary = pointHistoryRepository.selectSummaryByUserId(1L);
+        Assertions.assertEquals(4, compacted);
+        Assertions.assertEquals(2, summary.getCount(TransactionType.CHARGE));
+        Assertions.assertEquals(2, summary.getCount(TransactionType.USE));
+        Assertions.assertEquals(histories.get(3).getId(), summary.getLastId());
+        Assertions.assertEquals(5000L, pointService.point(1L).getPoint());
+    }
+}
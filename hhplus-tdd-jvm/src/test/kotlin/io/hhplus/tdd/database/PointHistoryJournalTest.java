@@ -0,0 +1,262 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * 내역 저널의 유닛 테스트이다.
+ * 임시 디렉토리에 실제 세그먼트 파일을 기록하고 다시 읽어 검증한다.
+ */
+public class PointHistoryJournalTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 작성 이유 : 기록한 내역이 재기동 후 같은 순서, 같은 값으로 복구되는지 검증
+     */
+    @Test
+    @DisplayName("기록한_내역_복구")
+    public void 기록한_내역_복구() throws IOException {
+        // given
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(directory, 1024);
+        pointHistoryJournal.recover(pointHistory -> {});
+        for (long id=1; id<=10; id++) {
+            pointHistoryJournal.append(new PointHistory(id, id % 3, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id * 100, 1000L + id));
+        }
+        pointHistoryJournal.close();
+
+        // when
+        List<PointHistory> recovered = new ArrayList<>();
+        long count = new PointHistoryJournal(directory, 1024).recover(recovered::add);
+
+        // then
+        Assertions.assertEquals(10, count);
+        for (int i=0; i<recovered.size(); i++) {
+            long id = i + 1;
+            Assertions.assertEquals(new PointHistory(id, id % 3, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id * 100, 1000L + id), recovered.get(i));
+        }
+    }
+
+    /**
+     * 작성 이유 : 세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 복구 후에는 마지막 레코드 뒤에서 이어서 기록되는지 검증
+     * 시나리오 : 세그먼트당 레코드 2건, 5건 기록 => 복구 => 1건 추가 기록
+     */
+    @Test
+    @DisplayName("세그먼트_전환_및_이어서_기록")
+    public void 세그먼트_전환_및_이어서_기록() throws IOException {
+        // given
+        int segmentSize = PointHistoryJournal.RECORD_SIZE * 2;
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(directory, segmentSize);
+        pointHistoryJournal.recover(pointHistory -> {});
+        for (long id=1; id<=5; id++) {
+            pointHistoryJournal.append(new PointHistory(id, 1L, TransactionType.CHARGE, id, id));
+        }
+        pointHistoryJournal.close();
+
+        // when
+        PointHistoryJournal reopened = new PointHistoryJournal(directory, segmentSize);
+        reopened.recover(pointHistory -> {});
+        reopened.append(new PointHistory(6L, 1L, TransactionType.USE, 6L, 6L));
+        reopened.close();
+        List<PointHistory> recovered = new ArrayList<>();
+        new PointHistoryJournal(directory, segmentSize).recover(recovered::add);
+
+        // then
+        Assertions.assertEquals(3, segmentCount());
+        Assertions.assertEquals(6, recovered.size());
+        for (int i=0; i<recovered.size(); i++) {
+            Assertions.assertEquals(i + 1L, recovered.get(i).getId());
+        }
+    }
+
+    /**
+     * 작성 이유 : 기록 도중 중단된 마지막 레코드는 버리고 그 자리부터 다시 기록되는지 검증
+     * 시나리오 : 3건 기록 후 3번째 레코드의 일부를 훼손 => 복구시 2건 => 1건 추가 기록 후 3건 복구
+     */
+    @Test
+    @DisplayName("중단된_레코드_폐기")
+    public void 중단된_레코드_폐기() throws IOException {
+        // given
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(directory, 1024);
+        pointHistoryJournal.recover(pointHistory -> {});
+        for (long id=1; id<=3; id++) {
+            pointHistoryJournal.append(new PointHistory(id, 1L, TransactionType.CHARGE, id, id));
+        }
+        pointHistoryJournal.close();
+        try (RandomAccessFile file = new RandomAccessFile(segment().toFile(), "rw")) {
+            file.seek(PointHistoryJournal.RECORD_SIZE * 2L + 10);
+            file.writeLong(-1L);
+        }
+
+        // when
+        PointHistoryJournal reopened = new PointHistoryJournal(directory, 1024);
+        long count = reopened.recover(pointHistory -> {});
+        reopened.append(new PointHistory(3L, 1L, TransactionType.USE, 30L, 3L));
+        reopened.close();
+        List<PointHistory> recovered = new ArrayList<>();
+        new PointHistoryJournal(directory, 1024).recover(recovered::add);
+
+        // then
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(3, recovered.size());
+        Assertions.assertEquals(30L, recovered.get(2).getAmount());
+    }
+
+    /**
+     * 작성 이유 : 저널을 사용하는 저장 파이프라인이 재기동시 저장소의 내역을 같은 id 로 복구하는지 검증
+     */
+    @Test
+    @DisplayName("저장_파이프라인_재기동시_내역_복구")
+    public void 저장_파이프라인_재기동시_내역_복구() throws Exception {
+        // given
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(directory, 1024);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(new PointHistoryRepository(new PointHistoryTable(), pointMetrics), 16, 0, Optional.of(pointHistoryJournal));
+        for (long userId=1; userId<=3; userId++) {
+            pointHistoryWriter.append(userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis()).join();
+            pointHistoryWriter.append(userId, 500L, TransactionType.USE, System.currentTimeMillis()).join();
+        }
+        pointHistoryWriter.close();
+        pointHistoryJournal.close();
+
+        // when
+        PointHistoryRepository recoveredRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        PointHistoryJournal reopened = new PointHistoryJournal(directory, 1024);
+        PointHistoryWriter recoveredWriter = new PointHistoryWriter(recoveredRepository, 16, 0, Optional.of(reopened));
+        PointHistory next = recoveredWriter.append(1L, 200L, TransactionType.USE, System.currentTimeMillis()).join();
+        recoveredWriter.close();
+        reopened.close();
+
+        // then
+        Assertions.assertEquals(7, recoveredRepository.count());
+        Assertions.assertEquals(3, recoveredRepository.selectAllByUserId(1L).size());
+        Assertions.assertEquals(7L, next.getId());
+    }
+
+    /**
+     * 작성 이유 : 저널 기록에 실패하면 배치의 내역이 저장소에 반영되지 않고 실패로 완료되며, 기록하던 영역은 복구되지 않는지 검증
+     * 시나리오 : 첫 force 실패 => 1건 저장 요청 실패 => 다음 요청은 같은 id 로 저장 => 재기동시 1건만 복구
+     */
+    @Test
+    @DisplayName("저널_기록_실패시_저장소에_반영하지_않음")
+    public void 저널_기록_실패시_저장소에_반영하지_않음() throws Exception {
+        // given
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(directory, 1024) {
+            private boolean failed;
+
+            @Override
+            public void flush() {
+                if (!failed) {
+                    failed = true;
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+                super.flush();
+            }
+        };
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 16, 0, Optional.of(pointHistoryJournal));
+
+        // when
+        CompletableFuture<PointHistory> failedHistory = pointHistoryWriter.append(1L, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+        CompletionException completionException = Assertions.assertThrows(CompletionException.class, failedHistory::join);
+        PointHistory next = pointHistoryWriter.append(1L, 500L, TransactionType.USE, System.currentTimeMillis()).join();
+        pointHistoryWriter.close();
+        pointHistoryJournal.close();
+        List<PointHistory> recovered = new ArrayList<>();
+        new PointHistoryJournal(directory, 1024).recover(recovered::add);
+
+        // then
+        Assertions.assertTrue(completionException.getCause() instanceof UncheckedIOException);
+        Assertions.assertEquals(1, pointHistoryRepository.count());
+        Assertions.assertEquals(1L, next.getId());
+        Assertions.assertEquals(1, recovered.size());
+        Assertions.assertEquals(500L, recovered.get(0).getAmount());
+    }
+
+    /**
+     * 작성 이유 : 요약하면 요약 스냅샷을 남기고 모든 레코드가 요약된 세그먼트를 삭제하며, 재기동시 요약과 남은 내역이 같은 id 로 복구되는지 검증
+     * 시나리오 : 세그먼트당 레코드 2건, 보관 기간이 지난 내역 4건과 이후 내역 2건 저장 => 요약
+     *          => 세그먼트 1개와 스냅샷만 남음 => 재기동시 요약 3건(1번 유저), 1건(2번 유저)과 내역 2건 복구, 다음 id 7
+     */
+    @Test
+    @DisplayName("요약후_세그먼트_삭제_및_복구")
+    public void 요약후_세그먼트_삭제_및_복구() throws Exception {
+        // given
+        int segmentSize = PointHistoryJournal.RECORD_SIZE * 2;
+        PointHistoryJournal pointHistoryJournal = new PointHistoryJournal(directory, segmentSize);
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 16, 0, Optional.of(pointHistoryJournal));
+        PointHistoryCompactor pointHistoryCompactor = new PointHistoryCompactor(pointHistoryRepository, pointMetrics, 1000L, 0, 100, () -> 10_000L, Optional.of(pointHistoryJournal));
+        pointHistoryWriter.append(1L, 1000L, TransactionType.CHARGE, 1L).join();
+        pointHistoryWriter.append(1L, 500L, TransactionType.USE, 2L).join();
+        pointHistoryWriter.append(2L, 1000L, TransactionType.CHARGE, 3L).join();
+        pointHistoryWriter.append(1L, 1500L, TransactionType.CHARGE, 4L).join();
+        pointHistoryWriter.append(2L, 700L, TransactionType.USE, 9_500L).join();
+        pointHistoryWriter.append(1L, 1000L, TransactionType.USE, 9_500L).join();
+
+        // when
+        long compacted = pointHistoryCompactor.compact();
+        pointHistoryCompactor.close();
+        pointHistoryWriter.close();
+        pointHistoryJournal.close();
+        long segments;
+        long snapshots;
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> fileNames = files.map(path -> path.getFileName().toString()).toList();
+            segments = fileNames.stream().filter(fileName -> fileName.endsWith(".journal")).count();
+            snapshots = fileNames.stream().filter(fileName -> fileName.endsWith(".snap")).count();
+        }
+        PointHistoryRepository recoveredRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        PointHistoryJournal reopened = new PointHistoryJournal(directory, segmentSize);
+        PointHistoryWriter recoveredWriter = new PointHistoryWriter(recoveredRepository, 16, 0, Optional.of(reopened));
+        PointHistory next = recoveredWriter.append(2L, 200L, TransactionType.USE, 9_600L).join();
+        recoveredWriter.close();
+        reopened.close();
+
+        // then
+        Assertions.assertEquals(4, compacted);
+        Assertions.assertEquals(1, segments);
+        Assertions.assertEquals(1, snapshots);
+        PointHistorySummary first = recoveredRepository.selectSummaryByUserId(1L);
+        Assertions.assertEquals(2, first.getCount(TransactionType.CHARGE));
+        Assertions.assertEquals(1, first.getCount(TransactionType.USE));
+        Assertions.assertEquals(4L, first.getLastId());
+        Assertions.assertEquals(1, recoveredRepository.selectSummaryByUserId(2L).getTotalCount());
+        Assertions.assertEquals(List.of(6L), recoveredRepository.selectAllByUserId(1L).stream().map(PointHistory::getId).toList());
+        Assertions.assertEquals(2, recoveredRepository.selectAllByUserId(2L).size());
+        Assertions.assertEquals(7L, next.getId());
+        Assertions.assertEquals(7, recoveredRepository.count());
+    }
+
+    private Path segment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
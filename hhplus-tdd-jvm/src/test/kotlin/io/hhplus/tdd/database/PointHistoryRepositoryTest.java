@@ -0,0 +1,147 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 내역 저장소의 유닛 테스트이다.
+ * 유저별 인덱스와 테이블의 정합성 검증을 위해 실제 table 객체를 사용한다.
+ */
+public class PointHistoryRepositoryTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private PointHistoryRepository pointHistoryRepository;
+
+    @BeforeEach
+    public void setUp() {
+        pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+    }
+
+    /**
+     * 작성 이유 : 유저별 내역이 저장 순서대로 조회되고 다른 유저의 내역이 섞이지 않는지 검증
+     */
+    @Test
+    @DisplayName("유저별_내역_조회")
+    public void 유저별_내역_조회() {
+        // given
+        long timeMillis = System.currentTimeMillis();
+        pointHistoryRepository.insert(1L, 1000L, TransactionType.CHARGE, timeMillis);
+        pointHistoryRepository.insert(2L, 2000L, TransactionType.CHARGE, timeMillis);
+        pointHistoryRepository.insert(1L, 500L, TransactionType.USE, timeMillis);
+
+        // when
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+
+        // then
+        Assertions.assertEquals(2, histories.size());
+        Assertions.assertEquals(TransactionType.CHARGE, histories.get(0).getType());
+        Assertions.assertEquals(TransactionType.USE, histories.get(1).getType());
+        Assertions.assertTrue(histories.get(0).getId() < histories.get(1).getId());
+    }
+
+    /**
+     * 작성 이유 : 배치 저장시 연속된 id 가 발급되고 단건 저장과 섞여도 유저별 id 오름차순으로 인덱싱 되는지 검증
+     * 시나리오 : 1번 유저 단건 저장 - 1번, 2번, 1번 유저 배치 저장 => id 2, 3, 4 발급, 1번 유저 내역 3건
+     */
+    @Test
+    @DisplayName("배치_저장시_연속된_id_발급")
+    public void 배치_저장시_연속된_id_발급() {
+        // given
+        long timeMillis = System.currentTimeMillis();
+        pointHistoryRepository.insert(1L, 1000L, TransactionType.CHARGE, timeMillis);
+
+        // when
+        List<PointHistory> saved = pointHistoryRepository.insertAll(List.of(
+                new PointHistory(0L, 1L, TransactionType.USE, 500L, timeMillis),
+                new PointHistory(0L, 2L, TransactionType.CHARGE, 2000L, timeMillis),
+                new PointHistory(0L, 1L, TransactionType.CHARGE, 3000L, timeMillis)));
+
+        // then
+        Assertions.assertEquals(List.of(2L, 3L, 4L), saved.stream().map(PointHistory::getId).toList());
+        Assertions.assertEquals(4L, pointHistoryRepository.count());
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+        Assertions.assertEquals(List.of(1000L, 500L, 3000L), histories.stream().map(PointHistory::getAmount).toList());
+        Assertions.assertEquals(2000L, pointHistoryRepository.selectAllByUserId(2L).get(0).getAmount());
+    }
+
+    /**
+     * 작성 이유 : 내역이 없는 유저 조회시 빈 목록 반환 검증
+     */
+    @Test
+    @DisplayName("내역이_없는_유저_조회")
+    public void 내역이_없는_유저_조회() {
+        Assertions.assertTrue(pointHistoryRepository.selectAllByUserId(1L).isEmpty());
+    }
+
+    /**
+     * 작성 이유 : 여러 쓰레드에서 동시에 저장해도 누락 없이 id 오름차순으로 인덱싱 되는지 검증
+     * 시나리오 : 쓰레드 10개에서 유저 2명에게 각각 100건씩 저장
+     */
+    @Test
+    @DisplayName("동시에_여러건_저장시_성공_테스트")
+    public void 동시에_여러건_저장시_성공_테스트() throws InterruptedException {
+        // given
+        int numThreads = 10;
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int j=0; j<100; j++) {
+                        pointHistoryRepository.insert(1L + (j % 2), 100L, TransactionType.CHARGE, System.currentTimeMillis());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        for (long userId=1; userId<=2; userId++) {
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(userId);
+            Assertions.assertEquals(500, histories.size());
+            for (int i=1; i<histories.size(); i++) {
+                Assertions.assertTrue(histories.get(i-1).getId() < histories.get(i).getId());
+            }
+        }
+    }
+
+    /**
+     * 작성 이유 : cursor 이후의 내역만 limit 건 조회되는지 검증
+     */
+    @Test
+    @DisplayName("cursor_이후_내역_페이지_조회")
+    public void cursor_이후_내역_페이지_조회() {
+        // given
+        for (int i=0; i<10; i++) {
+            pointHistoryRepository.insert(1L, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+        List<PointHistory> all = pointHistoryRepository.selectAllByUserId(1L);
+
+        // when
+        List<PointHistory> firstPage = pointHistoryRepository.selectPageByUserId(1L, null, 4);
+        List<PointHistory> secondPage = pointHistoryRepository.selectPageByUserId(1L, firstPage.get(3).getId(), 4);
+        List<PointHistory> lastPage = pointHistoryRepository.selectPageByUserId(1L, all.get(9).getId(), 4);
+
+        // then
+        Assertions.assertEquals(all.subList(0, 4), firstPage);
+        Assertions.assertEquals(all.subList(4, 8), secondPage);
+        Assertions.assertTrue(lastPage.isEmpty());
+    }
+}
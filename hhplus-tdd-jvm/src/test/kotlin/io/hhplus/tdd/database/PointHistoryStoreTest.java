@@ -0,0 +1,228 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 컬럼형 내역 저장소의 유닛 테스트이다.
+ */
+public class PointHistoryStoreTest {
+
+    /**
+     * 작성 이유 : 저장한 값이 커서로 그대로 조회되는지 검증
+     */
+    @Test
+    @DisplayName("내역_저장후_커서로_조회")
+    public void 내역_저장후_커서로_조회() {
+        // given
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+
+        // when
+        long row = pointHistoryStore.append(1L, 10L, TransactionType.USE, 3000L, 123L);
+        PointHistory pointHistory = pointHistoryStore.cursor().at(row).toPointHistory();
+
+        // then
+        Assertions.assertEquals(0, row);
+        Assertions.assertEquals(new PointHistory(1L, 10L, TransactionType.USE, 3000L, 123L), pointHistory);
+    }
+
+    /**
+     * 작성 이유 : chunk 크기를 넘어 저장해도 기존 행이 유지되고 id 로 행을 찾을 수 있는지 검증
+     * 시나리오 : chunk 크기(16384)의 3배 이상 저장 => 각 id 의 행 조회
+     */
+    @Test
+    @DisplayName("chunk_크기_초과_저장")
+    public void chunk_크기_초과_저장() {
+        // given
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        int rows = 50_000;
+
+        // when
+        for (int i=0; i<rows; i++) {
+            pointHistoryStore.append(i + 1L, i % 100, TransactionType.CHARGE, i, i);
+        }
+
+        // then
+        PointHistoryStore.Cursor cursor = pointHistoryStore.cursor();
+        Assertions.assertEquals(rows, pointHistoryStore.size());
+        for (int i=0; i<rows; i++) {
+            Assertions.assertEquals(i, pointHistoryStore.rowOf(i + 1L));
+            Assertions.assertEquals(i, cursor.at(i).getAmount());
+        }
+    }
+
+    /**
+     * 작성 이유 : 앞부분 행을 해제하면 해제된 chunk 의 메모리를 반납하고, 남은 행은 그대로 조회되는지 검증
+     * 시나리오 : chunk 크기(16384)의 3배 이상 저장 => 40000 번째 행 이전 해제 => 해제 전후 행 조회
+     */
+    @Test
+    @DisplayName("앞부분_행_해제")
+    public void 앞부분_행_해제() {
+        // given
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        int rows = 50_000;
+        for (int i=0; i<rows; i++) {
+            pointHistoryStore.append(i + 1L, i % 100, TransactionType.CHARGE, i, i);
+        }
+        long allocated = pointHistoryStore.allocatedBytes();
+
+        // when
+        pointHistoryStore.releaseBefore(40_000);
+        pointHistoryStore.append(rows + 1L, 1L, TransactionType.USE, rows, rows);
+
+        // then
+        PointHistoryStore.Cursor cursor = pointHistoryStore.cursor();
+        Assertions.assertEquals(40_000, pointHistoryStore.firstRow());
+        Assertions.assertEquals(allocated / 4 * 2, pointHistoryStore.allocatedBytes());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> cursor.at(39_999));
+        Assertions.assertEquals(-1, pointHistoryStore.rowOf(1L));
+        Assertions.assertEquals(40_000, pointHistoryStore.rowOf(40_001L));
+        Assertions.assertEquals(rows, pointHistoryStore.rowOf(rows + 1L));
+        Assertions.assertEquals(40_000, cursor.at(40_000).getAmount());
+    }
+
+    /**
+     * 작성 이유 : 행 번호가 int 범위를 넘어도 저장과 해제를 계속할 수 있고, 하위 32 bit handle 로 행을 찾을 수 있는지 검증
+     * 시나리오 : 행 번호 2^32 - 20000 부터 50000 건 저장 (handle 이 음수를 지나 0 으로 돌아감) - 40000 건 해제 => handle 로 남은 행 조회
+     */
+    @Test
+    @DisplayName("int_범위를_넘는_행_번호")
+    public void int_범위를_넘는_행_번호() {
+        // given
+        long startRow = (1L << 32) - 20_000;
+        PointHistoryStore pointHistoryStore = new PointHistoryStore(startRow);
+        int rows = 50_000;
+        int[] handles = new int[rows];
+        for (int i=0; i<rows; i++) {
+            handles[i] = PointHistoryStore.handleOf(pointHistoryStore.append(i + 1L, 1L, TransactionType.CHARGE, i, i));
+        }
+
+        // when
+        pointHistoryStore.releaseBefore(startRow + 40_000);
+
+        // then
+        PointHistoryStore.Cursor cursor = pointHistoryStore.cursor();
+        Assertions.assertEquals(startRow + rows, pointHistoryStore.size());
+        Assertions.assertEquals(startRow + 40_000, pointHistoryStore.rowOf(40_001L));
+        for (int i=40_000; i<rows; i++) {
+            Assertions.assertEquals(startRow + i, pointHistoryStore.rowOfHandle(handles[i]));
+            Assertions.assertEquals(i, cursor.atHandle(handles[i]).getAmount());
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> cursor.at(startRow + 39_999));
+    }
+
+    /**
+     * 작성 이유 : 해제를 계속하면 chunk 목록이 해제되지 않은 chunk 수만큼만 유지되는지 검증
+     * 시나리오 : 1000 건마다 앞부분 해제하며 chunk 크기(16384)의 100배 저장 => 할당된 chunk 2개 이하
+     */
+    @Test
+    @DisplayName("해제를_반복하며_계속_저장")
+    public void 해제를_반복하며_계속_저장() {
+        // given
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        int rows = 16_384 * 100;
+
+        // when
+        for (int i=0; i<rows; i++) {
+            long row = pointHistoryStore.append(i + 1L, 1L, TransactionType.CHARGE, i, i);
+            if (i % 1000 == 999) {
+                pointHistoryStore.releaseBefore(row);
+            }
+        }
+
+        // then
+        Assertions.assertEquals(rows, pointHistoryStore.size());
+        Assertions.assertTrue(pointHistoryStore.allocatedBytes() <= 2L * 16_384 * 33);
+        Assertions.assertEquals(rows - 1L, pointHistoryStore.rowOf(rows));
+        Assertions.assertEquals(rows - 1L, pointHistoryStore.cursor().at(rows - 1L).getAmount());
+    }
+
+    /**
+     * 작성 이유 : id 가 연속되지 않아도 이진 탐색으로 행을 찾고, 없는 id 는 -1 을 반환하는지 검증
+     */
+    @Test
+    @DisplayName("연속되지_않은_id_행_조회")
+    public void 연속되지_않은_id_행_조회() {
+        // given
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        for (int i=0; i<100; i++) {
+            pointHistoryStore.append(i * 3L + 1, 1L, TransactionType.CHARGE, 1000L, 0L);
+        }
+
+        // when
+        long found = pointHistoryStore.rowOf(31L);
+        long missing = pointHistoryStore.rowOf(32L);
+
+        // then
+        Assertions.assertEquals(10, found);
+        Assertions.assertEquals(-1, missing);
+        Assertions.assertEquals(-1, new PointHistoryStore().rowOf(1L));
+    }
+
+    /**
+     * 작성 이유 : 저장된 행 수를 넘는 위치는 조회할 수 없는지 검증
+     */
+    @Test
+    @DisplayName("저장되지_않은_행_조회할경우")
+    public void 저장되지_않은_행_조회할경우() {
+        // given
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        pointHistoryStore.append(1L, 1L, TransactionType.CHARGE, 1000L, 0L);
+
+        // when
+        PointHistoryStore.Cursor cursor = pointHistoryStore.cursor();
+
+        // then
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> cursor.at(1));
+    }
+
+    /**
+     * 작성 이유 : 단일 쓰레드가 저장하는 동안 다른 쓰레드가 락 없이 읽어도 공개된 행은 항상 완전한 값인지 검증
+     */
+    @Test
+    @DisplayName("저장중_동시_조회")
+    public void 저장중_동시_조회() throws InterruptedException {
+        // given
+        int numThreads = 4;
+        int rows = 100_000;
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        AtomicInteger failCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    PointHistoryStore.Cursor cursor = pointHistoryStore.cursor();
+                    while (pointHistoryStore.size() < rows) {
+                        long size = pointHistoryStore.size();
+                        for (long row=Math.max(0, size - 100); row<size; row++) {
+                            if (cursor.at(row).getId() != row + 1L || cursor.getAmount() != row) {
+                                failCount.incrementAndGet();
+                            }
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        for (int i=0; i<rows; i++) {
+            pointHistoryStore.append(i + 1L, 1L, TransactionType.CHARGE, i, 0L);
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(0, failCount.get());
+    }
+}
@@ -1,7 +1,9 @@
 package io.hhplus.tdd.database;
 
+import io.hhplus.tdd.metrics.PointMetrics;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -51,23 +53,30 @@ public class PointHistoryTableTest {
     }
 
     /**
-     * 작성 이유 : 포인트 내역 조회시 결과 검증
+     * 작성 이유 : 테이블에 저장한 포인트 내역을 저장소(PointHistoryRepository)로 조회시 결과 검증
+     * 테이블은 조회 API 를 두지 않으므로 실제 테이블 객체에 저장하고 저장소로 조회한다.
      */
     @Test
     @DisplayName("포인트_내역_조회")
     public void 포인트_내역_조회() {
         // given
         Long userId = 1L;
+        PointHistoryTable table = new PointHistoryTable();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(table, new PointMetrics(new SimpleMeterRegistry()));
         List<PointHistory> pointHistoryList = new ArrayList<>();
-        pointHistoryList.add(new PointHistory(1L, userId, TransactionType.CHARGE, 1000L, System.currentTimeMillis()));
-        pointHistoryList.add(new PointHistory(2L, userId, TransactionType.CHARGE, 5000L, System.currentTimeMillis()));
-        pointHistoryList.add(new PointHistory(3L, userId, TransactionType.USE, 2000L, System.currentTimeMillis()));
+        pointHistoryList.add(pointHistoryRepository.insert(userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis()));
+        pointHistoryList.add(pointHistoryRepository.insert(2L, 3000L, TransactionType.CHARGE, System.currentTimeMillis()));
+        pointHistoryList.add(pointHistoryRepository.insert(userId, 5000L, TransactionType.CHARGE, System.currentTimeMillis()));
+        pointHistoryList.add(pointHistoryRepository.insert(userId, 2000L, TransactionType.USE, System.currentTimeMillis()));
 
         // when
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(pointHistoryList);
-        List<PointHistory> resultPointHistoryList = pointHistoryTable.selectAllByUserId(userId);
+        List<PointHistory> resultPointHistoryList = pointHistoryRepository.selectAllByUserId(userId);
 
         // then
-        Assertions.assertEquals(pointHistoryList.size(), resultPointHistoryList.size());
+        Assertions.assertEquals(3, resultPointHistoryList.size());
+        Assertions.assertEquals(pointHistoryList.get(0).getId(), resultPointHistoryList.get(0).getId());
+        Assertions.assertEquals(pointHistoryList.get(2).getId(), resultPointHistoryList.get(1).getId());
+        Assertions.assertEquals(pointHistoryList.get(3).getId(), resultPointHistoryList.get(2).getId());
+        Assertions.assertEquals(5L, table.nextId());
     }
 }
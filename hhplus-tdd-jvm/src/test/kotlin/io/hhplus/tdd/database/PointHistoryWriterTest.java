@@ -0,0 +1,177 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 내역 저장 파이프라인의 유닛 테스트이다.
+ * 저장 결과 검증을 위해 실제 저장소와 table 객체를 사용한다.
+ */
+public class PointHistoryWriterTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    public void setUp() {
+        pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 16, 5);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    /**
+     * 작성 이유 : 저장 요청의 future 가 저장된 내역으로 완료되는지 검증
+     */
+    @Test
+    @DisplayName("내역_저장_완료")
+    public void 내역_저장_완료() {
+        // when
+        PointHistory pointHistory = pointHistoryWriter.append(1L, 1000L, TransactionType.CHARGE, System.currentTimeMillis()).join();
+
+        // then
+        Assertions.assertEquals(1L, pointHistory.getUserId());
+        Assertions.assertEquals(1000L, pointHistory.getAmount());
+        Assertions.assertEquals(1, pointHistoryRepository.selectAllByUserId(1L).size());
+    }
+
+    /**
+     * 작성 이유 : 한 쓰레드에서 연속으로 요청한 내역이 요청 순서대로 저장되는지 검증
+     */
+    @Test
+    @DisplayName("요청_순서대로_저장")
+    public void 요청_순서대로_저장() {
+        // given
+        List<CompletableFuture<PointHistory>> futures = new ArrayList<>();
+
+        // when
+        for (long amount=1; amount<=100; amount++) {
+            futures.add(pointHistoryWriter.append(1L, amount, TransactionType.CHARGE, System.currentTimeMillis()));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // then
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+        for (int i=0; i<histories.size(); i++) {
+            Assertions.assertEquals(i + 1L, histories.get(i).getAmount());
+        }
+    }
+
+    /**
+     * 작성 이유 : 동시에 들어온 요청이 배치로 묶여 저장되고 통계가 집계되는지 검증
+     * 시나리오 : 쓰레드 10개에서 각각 50건씩 저장 => 배치 수는 저장 건수보다 적고 최대 배치 크기는 16 이하
+     */
+    @Test
+    @DisplayName("동시_요청은_배치로_저장")
+    public void 동시_요청은_배치로_저장() throws InterruptedException {
+        // given
+        int numThreads = 10;
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            long userId = i;
+            executorService.submit(() -> {
+                try {
+                    List<CompletableFuture<PointHistory>> futures = new ArrayList<>();
+                    for (int j=0; j<50; j++) {
+                        futures.add(pointHistoryWriter.append(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis()));
+                    }
+                    futures.forEach(CompletableFuture::join);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        PointHistoryWriter.BatchStatistics statistics = pointHistoryWriter.getStatistics();
+        Assertions.assertEquals(500L, statistics.getEntryCount());
+        Assertions.assertTrue(statistics.getBatchCount() < 500L);
+        Assertions.assertTrue(statistics.getMaxBatchSize() <= 16L);
+    }
+
+    /**
+     * 작성 이유 : 배치 하나를 저장소에 한 번에 저장하고, 저장 완료를 기다리는 시간을 넘기면 내역 저장 지연으로 알리는지 검증
+     * 시나리오 : 저장소 배치 저장 대기 - 저장 요청 3건 => await 시 HISTORY_PENDING
+     *          => 대기 해제시 3건이 배치 저장 한 번으로 저장
+     */
+    @Test
+    @DisplayName("저장_지연시_내역_저장_지연_응답")
+    public void 저장_지연시_내역_저장_지연_응답() throws InterruptedException {
+        // given
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicInteger insertAllCalls = new AtomicInteger();
+        PointHistoryRepository slowRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics) {
+            @Override
+            public List<PointHistory> insertAll(List<PointHistory> histories) {
+                insertAllCalls.incrementAndGet();
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insertAll(histories);
+            }
+        };
+        PointHistoryWriter slowWriter = new PointHistoryWriter(slowRepository, 16, 50, 100, Optional.empty());
+        List<CompletableFuture<PointHistory>> futures = new ArrayList<>();
+        for (int i=0; i<3; i++) {
+            futures.add(slowWriter.append(1L, 100L * (i + 1), TransactionType.CHARGE, System.currentTimeMillis()));
+        }
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> slowWriter.await(futures.get(0)));
+        blocked.countDown();
+        futures.forEach(CompletableFuture::join);
+        slowWriter.close();
+
+        // then
+        Assertions.assertEquals(ErrorCode.HISTORY_PENDING, customException.getErrorCode());
+        Assertions.assertEquals(1, insertAllCalls.get());
+        Assertions.assertEquals(3, slowRepository.selectAllByUserId(1L).size());
+    }
+
+    /**
+     * 작성 이유 : 종료 후에는 저장 요청을 받지 않고, 종료 전에 받은 요청은 모두 저장되는지 검증
+     */
+    @Test
+    @DisplayName("종료_후_저장_요청시_예외")
+    public void 종료_후_저장_요청시_예외() throws InterruptedException {
+        // given
+        CompletableFuture<PointHistory> pending = pointHistoryWriter.append(1L, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        pointHistoryWriter.close();
+
+        // then
+        Assertions.assertEquals(1000L, pending.join().getAmount());
+        Assertions.assertThrows(IllegalStateException.class, () -> pointHistoryWriter.append(1L, 500L, TransactionType.USE, System.currentTimeMillis()));
+    }
+}
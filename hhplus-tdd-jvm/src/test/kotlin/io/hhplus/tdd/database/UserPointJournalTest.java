@@ -0,0 +1,193 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * 잔고 스냅샷 + 로그의 유닛 테스트이다.
+ * 임시 디렉토리에 실제 파일을 기록하고 새 table 객체로 복구하여 검증한다.
+ * 스냅샷, flush 주기는 0 으로 두고 테스트에서 직접 호출한다.
+ */
+public class UserPointJournalTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 작성 이유 : 스냅샷 없이 비정상 종료된 경우 로그만으로 잔고가 복구되는지 검증
+     */
+    @Test
+    @DisplayName("로그로_잔고_복구")
+    public void 로그로_잔고_복구() throws IOException {
+        // given
+        UserPointTable userPointTable = new UserPointTable();
+        UserPointJournal userPointJournal = new UserPointJournal(userPointTable, directory, 0, 0);
+        for (long userId=1; userId<=100; userId++) {
+            userPointJournal.append(userPointTable.insertOrUpdate(userId, userId * 100));
+            userPointJournal.append(userPointTable.insertOrUpdate(userId, userId * 10));
+        }
+
+        // when
+        UserPointTable recoveredTable = new UserPointTable();
+        new UserPointJournal(recoveredTable, directory, 0, 0);
+
+        // then
+        for (long userId=1; userId<=100; userId++) {
+            Assertions.assertEquals(userId * 10, recoveredTable.selectById(userId).getPoint());
+        }
+    }
+
+    /**
+     * 작성 이유 : 스냅샷 이후에는 이전 세대의 로그가 삭제되고, 스냅샷과 이후 로그로 잔고가 복구되는지 검증
+     * 시나리오 : 1000원 충전 => 스냅샷 => 300원으로 변경 => 비정상 종료
+     */
+    @Test
+    @DisplayName("스냅샷과_이후_로그로_잔고_복구")
+    public void 스냅샷과_이후_로그로_잔고_복구() throws IOException {
+        // given
+        UserPointTable userPointTable = new UserPointTable();
+        UserPointJournal userPointJournal = new UserPointJournal(userPointTable, directory, 0, 0);
+        userPointJournal.append(userPointTable.insertOrUpdate(1L, 1000L));
+        userPointJournal.append(userPointTable.insertOrUpdate(2L, 2000L));
+        userPointJournal.snapshot();
+        userPointJournal.append(userPointTable.insertOrUpdate(1L, 300L));
+
+        // when
+        UserPointTable recoveredTable = new UserPointTable();
+        new UserPointJournal(recoveredTable, directory, 0, 0);
+
+        // then
+        Assertions.assertEquals(1, count(".snap"));
+        Assertions.assertEquals(300L, recoveredTable.selectById(1L).getPoint());
+        Assertions.assertEquals(2000L, recoveredTable.selectById(2L).getPoint());
+    }
+
+    /**
+     * 작성 이유 : 충전/사용 요청을 멈추지 않고 스냅샷을 남겨도 복구된 잔고가 최종 잔고와 일치하는지 검증
+     * 시나리오 : 쓰레드 8개에서 유저 100명에게 충전/사용을 반복하는 동안 스냅샷 5회
+     */
+    @Test
+    @DisplayName("요청_처리중_스냅샷")
+    public void 요청_처리중_스냅샷() throws Exception {
+        // given
+        int numThreads = 8;
+        UserPointTable userPointTable = new UserPointTable();
+        UserPointJournal userPointJournal = new UserPointJournal(userPointTable, directory, 0, 0);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(new PointHistoryRepository(new PointHistoryTable(), pointMetrics), 256, 0);
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics, Optional.of(userPointJournal));
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j=0; j<2000; j++) {
+                        long userId = random.nextLong(100);
+                        pointEngine.charge(userId, random.nextLong(1, 10000));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        for (int i=0; i<5; i++) {
+            userPointJournal.snapshot();
+        }
+        executorService.shutdown();
+        latch.await();
+        pointHistoryWriter.close();
+        UserPointTable recoveredTable = new UserPointTable();
+        new UserPointJournal(recoveredTable, directory, 0, 0);
+
+        // then
+        for (long userId=0; userId<100; userId++) {
+            Assertions.assertEquals(userPointTable.selectById(userId).getPoint(), recoveredTable.selectById(userId).getPoint());
+        }
+    }
+
+    /**
+     * 작성 이유 : 여러 쓰레드가 동시에 기록한 로그 레코드가 함께 기록되어도 빠짐없이 복구되는지 검증
+     * 시나리오 : 쓰레드 8개에서 각자 다른 유저 1000명의 잔고를 2번씩 기록 => 비정상 종료
+     */
+    @Test
+    @DisplayName("동시에_기록한_로그로_잔고_복구")
+    public void 동시에_기록한_로그로_잔고_복구() throws Exception {
+        // given
+        int numThreads = 8;
+        UserPointTable userPointTable = new UserPointTable();
+        UserPointJournal userPointJournal = new UserPointJournal(userPointTable, directory, 0, 0);
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            long firstUserId = i * 1000L;
+            executorService.submit(() -> {
+                try {
+                    for (long userId=firstUserId; userId<firstUserId + 1000; userId++) {
+                        userPointJournal.append(userPointTable.insertOrUpdate(userId, userId + 1));
+                        userPointJournal.append(userPointTable.insertOrUpdate(userId, userId * 2));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+        UserPointTable recoveredTable = new UserPointTable();
+        new UserPointJournal(recoveredTable, directory, 0, 0);
+
+        // then
+        for (long userId=0; userId<numThreads * 1000L; userId++) {
+            Assertions.assertEquals(userId * 2, recoveredTable.selectById(userId).getPoint());
+        }
+    }
+
+    /**
+     * 작성 이유 : 정상 종료시 스냅샷을 남겨 다음 기동시 다시 적용할 로그가 없는지 검증
+     */
+    @Test
+    @DisplayName("정상_종료시_스냅샷")
+    public void 정상_종료시_스냅샷() throws Exception {
+        // given
+        UserPointTable userPointTable = new UserPointTable();
+        UserPointJournal userPointJournal = new UserPointJournal(userPointTable, directory, 0, 0);
+        userPointJournal.append(userPointTable.insertOrUpdate(1L, 1000L));
+
+        // when
+        userPointJournal.close();
+        UserPointTable recoveredTable = new UserPointTable();
+        new UserPointJournal(recoveredTable, directory, 0, 0);
+
+        // then
+        Assertions.assertEquals(1000L, recoveredTable.selectById(1L).getPoint());
+        Assertions.assertEquals(1, count(".snap"));
+    }
+
+    private long count(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(suffix)).count();
+        }
+    }
+}
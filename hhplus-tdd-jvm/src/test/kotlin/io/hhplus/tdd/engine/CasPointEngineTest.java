@@ -0,0 +1,221 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CAS 엔진의 유닛 테스트이다.
+ * 동시성 검증을 위해 가짜 객체 대신 실제 table 객체를 사용한다.
+ */
+public class CasPointEngineTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private UserPointTable userPointTable;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryWriter pointHistoryWriter;
+    private CasPointEngine casPointEngine;
+
+    @BeforeEach
+    public void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        casPointEngine = new CasPointEngine(userPointTable, pointHistoryWriter, pointMetrics);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    /**
+     * 작성 이유 : 충전 후 사용시 테이블에 잔고가 반영되는지 검증
+     */
+    @Test
+    @DisplayName("충전_사용_성공할경우")
+    public void 충전_사용_성공할경우() {
+        // when
+        casPointEngine.charge(1L, 5000L);
+        UserPoint userPoint = casPointEngine.use(1L, 3000L);
+
+        // then
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(2000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(2, pointHistoryRepository.selectAllByUserId(1L).size());
+    }
+
+    /**
+     * 작성 이유 : 잔고 부족시 예외가 발생하고 잔고와 내역이 변경되지 않는지 검증
+     */
+    @Test
+    @DisplayName("잔고_부족할경우")
+    public void 잔고_부족할경우() {
+        // given
+        casPointEngine.charge(1L, 1000L);
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> casPointEngine.use(1L, 2000L));
+
+        // then
+        Assertions.assertEquals(ErrorCode.POINT_SHORTAGE, customException.getErrorCode());
+        Assertions.assertEquals(1000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(1, pointHistoryRepository.selectAllByUserId(1L).size());
+    }
+
+    /**
+     * 작성 이유 : 동시에 사용 요청이 들어와도 잔고 이상으로 사용되지 않고, 내역 순서가 잔고 변경 순서와 일치하는지 검증
+     * 시나리오 : 5000원 충전 - 쓰레드 20개에서 (500원 사용) => 10건 성공, 10건 잔고 부족
+     */
+    @Test
+    @DisplayName("동시에_여러건_사용_요청시_성공_테스트")
+    public void 동시에_여러건_사용_요청시_성공_테스트() throws InterruptedException {
+        // given
+        int numThreads = 20;
+        AtomicInteger shortage = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        casPointEngine.charge(1L, 5000L);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    casPointEngine.use(1L, 500L);
+                } catch (CustomException e) {
+                    shortage.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        Assertions.assertEquals(10, shortage.get());
+        Assertions.assertEquals(0L, userPointTable.selectById(1L).getPoint());
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+        Assertions.assertEquals(11, histories.size());
+        for (int i=1; i<histories.size(); i++) {
+            Assertions.assertEquals(histories.get(i-1).getAmount() - 500L, histories.get(i).getAmount());
+        }
+    }
+
+    /**
+     * 작성 이유 : 이체시 두 유저의 잔고가 함께 변경되고 보낸 유저에는 사용, 받은 유저에는 충전 내역이 저장되는지 검증
+     * 시나리오 : 1번 유저 5000원, 2번 유저 1000원 충전 => 1번에서 2번으로 3000원 이체
+     */
+    @Test
+    @DisplayName("이체_성공할경우")
+    public void 이체_성공할경우() {
+        // given
+        casPointEngine.charge(1L, 5000L);
+        casPointEngine.charge(2L, 1000L);
+
+        // when
+        PointTransfer pointTransfer = casPointEngine.transfer(1L, 2L, 3000L);
+
+        // then
+        Assertions.assertEquals(2000L, pointTransfer.getFrom().getPoint());
+        Assertions.assertEquals(4000L, pointTransfer.getTo().getPoint());
+        Assertions.assertEquals(2000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(4000L, userPointTable.selectById(2L).getPoint());
+        Assertions.assertEquals(TransactionType.USE, pointHistoryRepository.selectAllByUserId(1L).get(1).getType());
+        Assertions.assertEquals(TransactionType.CHARGE, pointHistoryRepository.selectAllByUserId(2L).get(1).getType());
+    }
+
+    /**
+     * 작성 이유 : 보낸 유저의 잔고가 부족하면 두 유저 모두 잔고와 내역이 변경되지 않는지 검증
+     */
+    @Test
+    @DisplayName("잔고_부족시_이체_실패")
+    public void 잔고_부족시_이체_실패() {
+        // given
+        casPointEngine.charge(1L, 1000L);
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> casPointEngine.transfer(1L, 2L, 3000L));
+
+        // then
+        Assertions.assertEquals(ErrorCode.POINT_SHORTAGE, customException.getErrorCode());
+        Assertions.assertEquals(1000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(0L, userPointTable.selectById(2L).getPoint());
+        Assertions.assertTrue(pointHistoryRepository.selectAllByUserId(2L).isEmpty());
+    }
+
+    /**
+     * 작성 이유 : 요청이 끝난 유저의 셀은 제거되어 유저 수만큼 쌓이지 않고, 다시 요청하면 테이블의 잔고로 이어서 처리하는지 검증
+     * 시나리오 : 유저 100명 5000원 충전 => 셀 0개 => 1번 유저 3000원 사용시 2000원
+     */
+    @Test
+    @DisplayName("요청이_끝나면_셀_제거")
+    public void 요청이_끝나면_셀_제거() {
+        // given
+        for (long userId=1; userId<=100; userId++) {
+            casPointEngine.charge(userId, 5000L);
+        }
+
+        // when
+        int size = casPointEngine.size();
+        UserPoint userPoint = casPointEngine.use(1L, 3000L);
+
+        // then
+        Assertions.assertEquals(0, size);
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(0, casPointEngine.size());
+    }
+
+    /**
+     * 작성 이유 : 테이블 반영에 실패한 잔고가 셀에 남지 않고, 다음 요청은 테이블의 잔고로 처리하는지 검증
+     * 시나리오 : 5000원 충전 - 3000원 사용시 테이블 반영 실패 => 1000원 사용시 4000원
+     */
+    @Test
+    @DisplayName("테이블_반영_실패시_테이블_잔고로_처리")
+    public void 테이블_반영_실패시_테이블_잔고로_처리() {
+        // given
+        AtomicInteger failures = new AtomicInteger();
+        UserPointTable failingTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("insert failed");
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        CasPointEngine engine = new CasPointEngine(failingTable, pointHistoryWriter, pointMetrics);
+        engine.charge(1L, 5000L);
+        failures.set(1);
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> engine.use(1L, 3000L));
+        UserPoint userPoint = engine.use(1L, 1000L);
+
+        // then
+        Assertions.assertEquals(4000L, userPoint.getPoint());
+        Assertions.assertEquals(4000L, failingTable.selectById(1L).getPoint());
+        Assertions.assertEquals(0, engine.size());
+    }
+}
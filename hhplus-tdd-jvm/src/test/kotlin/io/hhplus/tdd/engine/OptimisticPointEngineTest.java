@@ -0,0 +1,288 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 낙관적 엔진의 유닛 테스트이다.
+ * 동시성 검증을 위해 가짜 객체 대신 실제 table 객체를 사용한다.
+ */
+public class OptimisticPointEngineTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final UserLockManager userLockManager = new UserLockManager(pointMetrics);
+
+    private UserPointTable userPointTable;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryWriter pointHistoryWriter;
+    private OptimisticPointEngine optimisticPointEngine;
+
+    @BeforeEach
+    public void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        optimisticPointEngine = new OptimisticPointEngine(userPointTable, pointHistoryWriter, userLockManager, new PointMetrics(new SimpleMeterRegistry()), 3);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    /**
+     * 작성 이유 : 충전 후 사용시 테이블에 잔고가 반영되고 변경마다 버전이 증가하는지 검증
+     */
+    @Test
+    @DisplayName("충전_사용_성공할경우")
+    public void 충전_사용_성공할경우() {
+        // when
+        optimisticPointEngine.charge(1L, 5000L);
+        UserPoint userPoint = optimisticPointEngine.use(1L, 3000L);
+
+        // then
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(2L, userPoint.getVersion());
+        Assertions.assertEquals(2000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(2, pointHistoryRepository.selectAllByUserId(1L).size());
+        Assertions.assertEquals(0L, optimisticPointEngine.getConflictCount());
+    }
+
+    /**
+     * 작성 이유 : 잔고 부족시 예외가 발생하고 잔고와 내역이 변경되지 않는지 검증
+     */
+    @Test
+    @DisplayName("잔고_부족할경우")
+    public void 잔고_부족할경우() {
+        // given
+        optimisticPointEngine.charge(1L, 1000L);
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> optimisticPointEngine.use(1L, 2000L));
+
+        // then
+        Assertions.assertEquals(ErrorCode.POINT_SHORTAGE, customException.getErrorCode());
+        Assertions.assertEquals(1000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(1, pointHistoryRepository.selectAllByUserId(1L).size());
+    }
+
+    /**
+     * 작성 이유 : 조회한 뒤 다른 요청이 먼저 저장했다면 덮어쓰지 않고 다시 조회한 잔고로 재시도하는지 검증
+     * 시나리오 : 1000원 충전 - 사용 요청이 조회한 뒤 다른 요청이 3000원 충전 => 1000원 사용시 2000원
+     */
+    @Test
+    @DisplayName("다른_요청이_먼저_저장하면_재시도")
+    public void 다른_요청이_먼저_저장하면_재시도() {
+        // given
+        AtomicReference<OptimisticPointEngine> engineReference = new AtomicReference<>();
+        UserPointTable interferingTable = interferingTable(1, engineReference);
+        OptimisticPointEngine engine = new OptimisticPointEngine(interferingTable, pointHistoryWriter, userLockManager, new PointMetrics(new SimpleMeterRegistry()), 3);
+        engineReference.set(engine);
+        interferingTable.insertOrUpdate(1L, 1000L);
+
+        // when
+        UserPoint userPoint = engine.use(1L, 1000L);
+
+        // then
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(2000L, interferingTable.selectById(1L).getPoint());
+        Assertions.assertEquals(1L, engine.getConflictCount());
+        Assertions.assertEquals(0L, engine.getFallbackCount());
+    }
+
+    /**
+     * 작성 이유 : 재시도를 모두 충돌로 실패하면 유저 락을 잡고 처리하는지 검증
+     * 시나리오 : 재시도 2회 설정, 1000원 충전 - 처음 3번의 저장 시도마다 다른 요청이 먼저 3000원 충전 => 락을 잡고 처리
+     *          (다른 요청의 충전 3번 + 락을 잡은 사용 1번 성공, 충돌 3번)
+     */
+    @Test
+    @DisplayName("재시도를_모두_실패하면_락으로_처리")
+    public void 재시도를_모두_실패하면_락으로_처리() {
+        // given
+        AtomicReference<OptimisticPointEngine> engineReference = new AtomicReference<>();
+        UserPointTable interferingTable = interferingTable(3, engineReference);
+        OptimisticPointEngine engine = new OptimisticPointEngine(interferingTable, pointHistoryWriter, userLockManager, new PointMetrics(new SimpleMeterRegistry()), 2);
+        engineReference.set(engine);
+        interferingTable.insertOrUpdate(1L, 1000L);
+
+        // when
+        UserPoint userPoint = engine.use(1L, 1000L);
+
+        // then
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(3L, engine.getConflictCount());
+        Assertions.assertEquals(1L, engine.getFallbackCount());
+        Assertions.assertEquals(3 / 7.0, engine.getConflictRatio());
+    }
+
+    /**
+     * 작성 이유 : 동시에 사용 요청이 들어와도 잔고 이상으로 사용되지 않고, 내역 순서가 잔고 변경 순서와 일치하는지 검증
+     * 시나리오 : 5000원 충전 - 쓰레드 20개에서 (500원 사용) => 10건 성공, 10건 잔고 부족
+     */
+    @Test
+    @DisplayName("동시에_여러건_사용_요청시_성공_테스트")
+    public void 동시에_여러건_사용_요청시_성공_테스트() throws InterruptedException {
+        // given
+        int numThreads = 20;
+        AtomicInteger shortage = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        optimisticPointEngine.charge(1L, 5000L);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    optimisticPointEngine.use(1L, 500L);
+                } catch (CustomException e) {
+                    shortage.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        Assertions.assertEquals(10, shortage.get());
+        Assertions.assertEquals(0L, userPointTable.selectById(1L).getPoint());
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+        Assertions.assertEquals(11, histories.size());
+        for (int i=1; i<histories.size(); i++) {
+            Assertions.assertEquals(histories.get(i-1).getAmount() - 500L, histories.get(i).getAmount());
+        }
+    }
+
+    /**
+     * 작성 이유 : 이체시 두 유저의 잔고가 함께 변경되고 보낸 유저에는 사용, 받은 유저에는 충전 내역이 저장되는지 검증
+     * 시나리오 : 1번 유저 5000원, 2번 유저 1000원 충전 => 1번에서 2번으로 3000원 이체
+     */
+    @Test
+    @DisplayName("이체_성공할경우")
+    public void 이체_성공할경우() {
+        // given
+        optimisticPointEngine.charge(1L, 5000L);
+        optimisticPointEngine.charge(2L, 1000L);
+
+        // when
+        PointTransfer pointTransfer = optimisticPointEngine.transfer(1L, 2L, 3000L);
+
+        // then
+        Assertions.assertEquals(2000L, pointTransfer.getFrom().getPoint());
+        Assertions.assertEquals(4000L, pointTransfer.getTo().getPoint());
+        Assertions.assertEquals(2000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(4000L, userPointTable.selectById(2L).getPoint());
+        Assertions.assertEquals(TransactionType.USE, pointHistoryRepository.selectAllByUserId(1L).get(1).getType());
+        Assertions.assertEquals(TransactionType.CHARGE, pointHistoryRepository.selectAllByUserId(2L).get(1).getType());
+    }
+
+    /**
+     * 작성 이유 : 재시도 없이 충돌할 때마다 락으로 처리해도, 락을 잡은 요청이 락 없이 시도하는 요청에 밀리지 않고 잔고 이상으로 사용되지 않는지 검증
+     * 시나리오 : 재시도 0회 설정, 5000원 충전 - 쓰레드 20개에서 (500원 사용) => 10건 성공, 10건 잔고 부족
+     */
+    @Test
+    @DisplayName("재시도_없이_동시_요청시_락으로_처리")
+    public void 재시도_없이_동시_요청시_락으로_처리() throws InterruptedException {
+        // given
+        int numThreads = 20;
+        AtomicInteger shortage = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        OptimisticPointEngine engine = new OptimisticPointEngine(userPointTable, pointHistoryWriter, userLockManager, new PointMetrics(new SimpleMeterRegistry()), 0);
+        engine.charge(1L, 5000L);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    engine.use(1L, 500L);
+                } catch (CustomException e) {
+                    shortage.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        Assertions.assertEquals(10, shortage.get());
+        Assertions.assertEquals(0L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(engine.getConflictCount(), engine.getFallbackCount());
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+        Assertions.assertEquals(11, histories.size());
+        for (int i=1; i<histories.size(); i++) {
+            Assertions.assertEquals(histories.get(i-1).getAmount() - 500L, histories.get(i).getAmount());
+        }
+    }
+
+    /**
+     * 작성 이유 : 요청이 끝난 유저의 상태는 제거되어 유저 수만큼 쌓이지 않고, 다시 요청하면 조회한 버전으로 이어서 처리하는지 검증
+     * 시나리오 : 유저 100명 5000원 충전 => 상태 0개 => 1번 유저 3000원 사용시 2000원, 버전 2
+     */
+    @Test
+    @DisplayName("요청이_끝나면_유저_상태_제거")
+    public void 요청이_끝나면_유저_상태_제거() {
+        // given
+        for (long userId=1; userId<=100; userId++) {
+            optimisticPointEngine.charge(userId, 5000L);
+        }
+
+        // when
+        int size = optimisticPointEngine.size();
+        UserPoint userPoint = optimisticPointEngine.use(1L, 3000L);
+
+        // then
+        Assertions.assertEquals(0, size);
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(2L, userPoint.getVersion());
+        Assertions.assertEquals(0, optimisticPointEngine.size());
+    }
+
+    // 처음 conflicts 번의 조건부 저장 직전마다 다른 요청이 같은 엔진으로 3000원을 먼저 충전하는 테이블
+    private static UserPointTable interferingTable(int conflicts, AtomicReference<OptimisticPointEngine> engineReference) {
+        return new UserPointTable() {
+            private int remaining = conflicts;
+            private boolean interfering;
+
+            @Override
+            public UserPoint updateIfVersion(long id, long amount, long version) {
+                if (!interfering && remaining > 0) {
+                    remaining--;
+                    interfering = true;
+                    try {
+                        engineReference.get().charge(id, 3000L);
+                    } finally {
+                        interfering = false;
+                    }
+                }
+                return super.updateIfVersion(id, amount, version);
+            }
+        };
+    }
+}
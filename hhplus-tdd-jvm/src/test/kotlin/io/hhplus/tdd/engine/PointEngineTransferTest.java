@@ -0,0 +1,227 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모든 엔진(point.engine.mode)의 이체가 원자적으로 처리되는지 검증하는 테스트이다.
+ * 동시에 이체와 사용을 요청한 뒤 잔고의 합이 사용한 만큼만 줄었는지 확인한다.
+ */
+public class PointEngineTransferTest {
+
+    private static final long[] USER_IDS = {1L, 2L, 3L, 4L};
+    private static final long RICH_USER_ID = 9L;
+    private static final long INITIAL_POINT = 10000L;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    // 다음 한 번의 잔고 저장을 실패시킬 유저 id, 없으면 0
+    private final AtomicLong failingUserId = new AtomicLong();
+
+    private UserPointTable userPointTable;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    public void setUp() {
+        userPointTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                failIfRequested(id);
+                return super.insertOrUpdate(id, amount);
+            }
+
+            @Override
+            public UserPoint updateIfVersion(long id, long amount, long version) {
+                failIfRequested(id);
+                return super.updateIfVersion(id, amount, version);
+            }
+
+            private void failIfRequested(long id) {
+                if (failingUserId.compareAndSet(id, 0L)) {
+                    throw new IllegalStateException("user point write failed: " + id);
+                }
+            }
+        };
+        pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    @Test
+    @DisplayName("락_엔진_이체시_잔고_합_보존")
+    public void 락_엔진_이체시_잔고_합_보존() throws InterruptedException {
+        잔고_합_보존(new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics));
+    }
+
+    @Test
+    @DisplayName("CAS_엔진_이체시_잔고_합_보존")
+    public void CAS_엔진_이체시_잔고_합_보존() throws InterruptedException {
+        잔고_합_보존(new CasPointEngine(userPointTable, pointHistoryWriter, pointMetrics));
+    }
+
+    @Test
+    @DisplayName("샤드_엔진_이체시_잔고_합_보존")
+    public void 샤드_엔진_이체시_잔고_합_보존() throws InterruptedException {
+        ShardedPointEngine shardedPointEngine = new ShardedPointEngine(userPointTable, pointHistoryWriter, pointMetrics, 3, 8);
+        try {
+            잔고_합_보존(shardedPointEngine);
+        } finally {
+            shardedPointEngine.close();
+        }
+    }
+
+    @Test
+    @DisplayName("낙관적_엔진_이체시_잔고_합_보존")
+    public void 낙관적_엔진_이체시_잔고_합_보존() throws InterruptedException {
+        잔고_합_보존(new OptimisticPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics, 1));
+    }
+
+    @Test
+    @DisplayName("락_엔진_받는_유저_저장_실패시_보낸_유저_복구")
+    public void 락_엔진_받는_유저_저장_실패시_보낸_유저_복구() {
+        받는_유저_저장_실패시_보낸_유저_복구(new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics));
+    }
+
+    @Test
+    @DisplayName("CAS_엔진_받는_유저_저장_실패시_보낸_유저_복구")
+    public void CAS_엔진_받는_유저_저장_실패시_보낸_유저_복구() {
+        받는_유저_저장_실패시_보낸_유저_복구(new CasPointEngine(userPointTable, pointHistoryWriter, pointMetrics));
+    }
+
+    @Test
+    @DisplayName("샤드_엔진_받는_유저_저장_실패시_보낸_유저_복구")
+    public void 샤드_엔진_받는_유저_저장_실패시_보낸_유저_복구() throws InterruptedException {
+        ShardedPointEngine shardedPointEngine = new ShardedPointEngine(userPointTable, pointHistoryWriter, pointMetrics, 3, 8);
+        try {
+            받는_유저_저장_실패시_보낸_유저_복구(shardedPointEngine);
+        } finally {
+            shardedPointEngine.close();
+        }
+    }
+
+    @Test
+    @DisplayName("낙관적_엔진_받는_유저_저장_실패시_보낸_유저_복구")
+    public void 낙관적_엔진_받는_유저_저장_실패시_보낸_유저_복구() {
+        받는_유저_저장_실패시_보낸_유저_복구(new OptimisticPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics, 1));
+    }
+
+    /**
+     * 작성 이유 : 이체 도중 다른 이체, 사용이 끼어들거나 이체가 실패해도 포인트가 생기거나 사라지지 않는지 검증
+     * 시나리오 : 유저 4명 10000원씩 충전 - 쓰레드 8개에서 (임의의 두 유저 간 이체 또는 사용) 500번
+     *          => 잔고 합 = 40000원 - 성공한 사용 금액, 잔고 부족 외의 실패와 음수 잔고 없음, 유저별 마지막 내역 = 잔고
+     *          동시 요청 전 받는 유저의 잔고가 범위를 넘는 이체는 보낸 유저의 잔고를 바꾸지 않고 실패
+     */
+    private void 잔고_합_보존(PointEngine pointEngine) throws InterruptedException {
+        // given
+        int numThreads = 8;
+        int requests = 500;
+        AtomicLong used = new AtomicLong();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        for (long userId : USER_IDS) {
+            pointEngine.charge(userId, INITIAL_POINT);
+        }
+        pointEngine.charge(RICH_USER_ID, Long.MAX_VALUE);
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> pointEngine.transfer(1L, RICH_USER_ID, 1L));
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j=0; j<requests; j++) {
+                        long fromId = USER_IDS[random.nextInt(USER_IDS.length)];
+                        long toId = USER_IDS[random.nextInt(USER_IDS.length)];
+                        long amount = random.nextLong(1L, 3000L);
+                        try {
+                            if (fromId == toId) {
+                                pointEngine.use(fromId, amount);
+                                used.addAndGet(amount);
+                            } else {
+                                pointEngine.transfer(fromId, toId, amount);
+                            }
+                        } catch (CustomException e) {
+                            if (e.getErrorCode() != ErrorCode.POINT_SHORTAGE) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        Assertions.assertEquals(0, failures.get());
+        long total = 0;
+        for (long userId : USER_IDS) {
+            long point = userPointTable.selectById(userId).getPoint();
+            Assertions.assertTrue(point >= 0);
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(userId);
+            Assertions.assertEquals(point, histories.get(histories.size() - 1).getAmount());
+            total += point;
+        }
+        Assertions.assertEquals(INITIAL_POINT * USER_IDS.length - used.get(), total);
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, customException.getErrorCode());
+        Assertions.assertEquals(Long.MAX_VALUE, userPointTable.selectById(RICH_USER_ID).getPoint());
+    }
+
+    /**
+     * 작성 이유 : 보낸 유저를 저장한 뒤 받는 유저의 저장이 실패하면 보낸 유저의 잔고가 되돌려지고, 이후 요청이 정상 처리되는지 검증
+     * 시나리오 : 1번 유저 5000원, 2번 유저 1000원 충전 - 2번 유저 저장 실패 => 1번에서 2번으로 3000원 이체 실패, 잔고 그대로
+     *          => 다시 3000원 이체시 2000원, 4000원
+     */
+    private void 받는_유저_저장_실패시_보낸_유저_복구(PointEngine pointEngine) {
+        // given
+        pointEngine.charge(1L, 5000L);
+        pointEngine.charge(2L, 1000L);
+        failingUserId.set(2L);
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> pointEngine.transfer(1L, 2L, 3000L));
+        long senderPoint = userPointTable.selectById(1L).getPoint();
+        long receiverPoint = userPointTable.selectById(2L).getPoint();
+        PointTransfer pointTransfer = pointEngine.transfer(1L, 2L, 3000L);
+
+        // then
+        Assertions.assertEquals(5000L, senderPoint);
+        Assertions.assertEquals(1000L, receiverPoint);
+        Assertions.assertEquals(2000L, pointTransfer.getFrom().getPoint());
+        Assertions.assertEquals(4000L, pointTransfer.getTo().getPoint());
+        Assertions.assertEquals(2000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(4000L, userPointTable.selectById(2L).getPoint());
+    }
+}
@@ -0,0 +1,260 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 샤드 엔진의 유닛 테스트이다.
+ * 동시성 검증을 위해 가짜 객체 대신 실제 table 객체를 사용한다.
+ * ring buffer 가 가득 차는 경우도 검증하기 위해 작은 ring 을 사용한다.
+ */
+public class ShardedPointEngineTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private UserPointTable userPointTable;
+    private PointHistoryRepository pointHistoryRepository;
+    private PointHistoryWriter pointHistoryWriter;
+    private ShardedPointEngine shardedPointEngine;
+
+    @BeforeEach
+    public void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        shardedPointEngine = new ShardedPointEngine(userPointTable, pointHistoryWriter, pointMetrics, 4, 8);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        shardedPointEngine.close();
+        pointHistoryWriter.close();
+    }
+
+    /**
+     * 작성 이유 : 충전 후 사용시 테이블에 잔고가 반영되는지 검증
+     */
+    @Test
+    @DisplayName("충전_사용_성공할경우")
+    public void 충전_사용_성공할경우() {
+        // when
+        shardedPointEngine.charge(1L, 5000L);
+        UserPoint userPoint = shardedPointEngine.use(1L, 3000L);
+
+        // then
+        Assertions.assertEquals(2000L, userPoint.getPoint());
+        Assertions.assertEquals(2000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(2, pointHistoryRepository.selectAllByUserId(1L).size());
+    }
+
+    /**
+     * 작성 이유 : 샤드 쓰레드에서 발생한 잔고 부족 예외가 요청 쓰레드로 전달되고 잔고와 내역이 변경되지 않는지 검증
+     */
+    @Test
+    @DisplayName("잔고_부족할경우")
+    public void 잔고_부족할경우() {
+        // given
+        shardedPointEngine.charge(1L, 1000L);
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> shardedPointEngine.use(1L, 2000L));
+
+        // then
+        Assertions.assertEquals(ErrorCode.POINT_SHORTAGE, customException.getErrorCode());
+        Assertions.assertEquals(1000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(1, pointHistoryRepository.selectAllByUserId(1L).size());
+    }
+
+    /**
+     * 작성 이유 : 동시에 사용 요청이 들어와도 잔고 이상으로 사용되지 않고, 내역 순서가 잔고 변경 순서와 일치하는지 검증
+     * 시나리오 : 5000원 충전 - 쓰레드 20개에서 (500원 사용) => 10건 성공, 10건 잔고 부족
+     */
+    @Test
+    @DisplayName("동시에_여러건_사용_요청시_성공_테스트")
+    public void 동시에_여러건_사용_요청시_성공_테스트() throws InterruptedException {
+        // given
+        int numThreads = 20;
+        AtomicInteger shortage = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        shardedPointEngine.charge(1L, 5000L);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    shardedPointEngine.use(1L, 500L);
+                } catch (CustomException e) {
+                    shortage.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        Assertions.assertEquals(10, shortage.get());
+        Assertions.assertEquals(0L, userPointTable.selectById(1L).getPoint());
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(1L);
+        Assertions.assertEquals(11, histories.size());
+        for (int i=1; i<histories.size(); i++) {
+            Assertions.assertEquals(histories.get(i-1).getAmount() - 500L, histories.get(i).getAmount());
+        }
+    }
+
+    /**
+     * 작성 이유 : 여러 샤드의 ring buffer 가 반복해서 가득 차도 모든 명령이 누락 없이 처리되는지 검증
+     * 시나리오 : 유저 16명 10000원 충전 - 쓰레드 16개에서 (유저를 돌아가며 1원 사용 1000회) => 유저별 잔고 9000원
+     */
+    @Test
+    @DisplayName("ring_buffer_가득_찬_상태에서_여러_샤드_동시_처리")
+    public void ring_buffer_가득_찬_상태에서_여러_샤드_동시_처리() throws InterruptedException {
+        // given
+        int numThreads = 16;
+        int users = 16;
+        for (long userId=0; userId<users; userId++) {
+            shardedPointEngine.charge(userId, 10_000L);
+        }
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            int offset = i;
+            executorService.submit(() -> {
+                try {
+                    for (int j=0; j<1_000; j++) {
+                        shardedPointEngine.use((long) ((offset + j) % users), 1L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        for (long userId=0; userId<users; userId++) {
+            Assertions.assertEquals(9_000L, userPointTable.selectById(userId).getPoint());
+            Assertions.assertEquals(1_001, pointHistoryRepository.selectAllByUserId(userId).size());
+        }
+        Assertions.assertEquals(0, shardedPointEngine.getQueueSize());
+    }
+
+    /**
+     * 작성 이유 : 이체시 두 유저의 잔고가 함께 변경되고 보낸 유저에는 사용, 받은 유저에는 충전 내역이 저장되는지 검증
+     * 시나리오 : 1번 유저 5000원, 2번 유저 1000원 충전 => 1번에서 2번으로 3000원 이체
+     */
+    @Test
+    @DisplayName("이체_성공할경우")
+    public void 이체_성공할경우() {
+        // given
+        shardedPointEngine.charge(1L, 5000L);
+        shardedPointEngine.charge(2L, 1000L);
+
+        // when
+        PointTransfer pointTransfer = shardedPointEngine.transfer(1L, 2L, 3000L);
+
+        // then
+        Assertions.assertEquals(2000L, pointTransfer.getFrom().getPoint());
+        Assertions.assertEquals(4000L, pointTransfer.getTo().getPoint());
+        Assertions.assertEquals(2000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(4000L, userPointTable.selectById(2L).getPoint());
+        Assertions.assertEquals(TransactionType.USE, pointHistoryRepository.selectAllByUserId(1L).get(1).getType());
+        Assertions.assertEquals(TransactionType.CHARGE, pointHistoryRepository.selectAllByUserId(2L).get(1).getType());
+    }
+
+    /**
+     * 작성 이유 : 보낸 유저의 잔고가 부족하면 두 유저 모두 잔고와 내역이 변경되지 않는지 검증
+     */
+    @Test
+    @DisplayName("잔고_부족시_이체_실패")
+    public void 잔고_부족시_이체_실패() {
+        // given
+        shardedPointEngine.charge(1L, 1000L);
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> shardedPointEngine.transfer(1L, 2L, 3000L));
+
+        // then
+        Assertions.assertEquals(ErrorCode.POINT_SHORTAGE, customException.getErrorCode());
+        Assertions.assertEquals(1000L, userPointTable.selectById(1L).getPoint());
+        Assertions.assertEquals(0L, userPointTable.selectById(2L).getPoint());
+        Assertions.assertTrue(pointHistoryRepository.selectAllByUserId(2L).isEmpty());
+    }
+
+    /**
+     * 작성 이유 : 기다리는 시간을 넘긴 요청 중 샤드 쓰레드가 시작하지 않은 명령은 취소되어 나중에도 반영되지 않는지 검증
+     * 시나리오 : 대기 시간 200ms, 샤드 1개 - 1번 유저 충전이 테이블 저장 중 대기 => 2번 유저 충전
+     *          => 1번 유저는 HISTORY_PENDING, 2번 유저는 ENGINE_TIMEOUT => 대기 해제 후 1번 유저만 반영
+     */
+    @Test
+    @DisplayName("시간_초과된_미처리_명령은_취소")
+    public void 시간_초과된_미처리_명령은_취소() throws Exception {
+        // given
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserPointTable slowTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (id == 1L) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        PointHistoryWriter slowWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0, 200, Optional.empty());
+        ShardedPointEngine slowEngine = new ShardedPointEngine(slowTable, slowWriter, pointMetrics, 1, 8);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<?> started = executorService.submit(() -> slowEngine.charge(1L, 1000L));
+        blocked.await();
+
+        // when
+        CustomException cancelled = Assertions.assertThrows(CustomException.class, () -> slowEngine.charge(2L, 500L));
+        ExecutionException pending = Assertions.assertThrows(ExecutionException.class, started::get);
+        release.countDown();
+        UserPoint after = slowEngine.charge(3L, 100L);
+        slowEngine.close();
+        slowWriter.close();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(ErrorCode.ENGINE_TIMEOUT, cancelled.getErrorCode());
+        Assertions.assertEquals(ErrorCode.HISTORY_PENDING, ((CustomException) pending.getCause()).getErrorCode());
+        Assertions.assertEquals(100L, after.getPoint());
+        Assertions.assertEquals(1000L, slowTable.selectById(1L).getPoint());
+        Assertions.assertEquals(0L, slowTable.selectById(2L).getPoint());
+    }
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 전역 synchronized 와 유저 단위 락의 경합 벤치마크이다.
+ * 기본 test 태스크에서는 제외되며 ./gradlew benchmark 로 실행한다.
+ * 쓰레드 수를 코어 수까지 늘려가며 초당 처리량을 출력한다.
+ */
+@Tag("benchmark")
+public class UserLockContentionBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+    private static final long DURATION_MILLIS = 2_000L;
+    // table 호출 지연을 흉내내기 위한 임계영역 안의 대기 시간
+    private static final long WORK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Object globalMonitor = new Object();
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("쓰레드_수에_따른_처리량_비교")
+    public void 쓰레드_수에_따른_처리량_비교() throws InterruptedException {
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%8s %18s %18s%n", "threads", "synchronized(op/s)", "userLock(op/s)");
+        for (int threads=1; threads<=cores; threads*=2) {
+            double global = run(threads, userId -> {
+                synchronized (globalMonitor) {
+                    return work();
+                }
+            });
+            double perUser = run(threads, userId -> userLockManager.executeWithLock(userId, this::work));
+            System.out.printf("%8d %18.0f %18.0f%n", threads, global, perUser);
+        }
+    }
+
+    private double run(int threads, Operation operation) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+
+        for (int i=0; i<threads; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.currentTimeMillis() < deadline) {
+                        operation.execute(random.nextLong(USER_COUNT));
+                        ops.increment();
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+        return ops.sum() * 1000.0 / DURATION_MILLIS;
+    }
+
+    private Long work() {
+        LockSupport.parkNanos(WORK_NANOS);
+        return WORK_NANOS;
+    }
+
+    private interface Operation {
+        Long execute(Long userId);
+    }
+}
@@ -0,0 +1,168 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 유저 단위 락 관리자의 유닛 테스트이다.
+ * 락 관리자는 의존하고 있는 계층이 없다.
+ */
+public class UserLockManagerTest {
+
+    private final UserLockManager userLockManager = new UserLockManager(new PointMetrics(new SimpleMeterRegistry()));
+
+    /**
+     * 작성 이유 : 같은 유저의 요청이 순차적으로 처리되는지 검증
+     * 시나리오 : 쓰레드 10개에서 같은 유저로 동시에 진입할 경우 임계영역에는 항상 1개의 쓰레드만 존재
+     */
+    @Test
+    @DisplayName("같은_유저_요청은_순차적으로_처리")
+    public void 같은_유저_요청은_순차적으로_처리() throws InterruptedException {
+        // given
+        int numThreads = 10;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    userLockManager.executeWithLock(1L, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        sleep(10);
+                        return running.decrementAndGet();
+                    });
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        Assertions.assertEquals(1, maxRunning.get());
+    }
+
+    /**
+     * 작성 이유 : 다른 유저의 요청은 서로를 기다리지 않고 병렬로 처리되는지 검증
+     * 시나리오 : 1번 유저가 락을 잡고 있는 동안 2번 유저의 요청이 완료
+     */
+    @Test
+    @DisplayName("다른_유저_요청은_병렬로_처리")
+    public void 다른_유저_요청은_병렬로_처리() throws InterruptedException {
+        // given
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        // when
+        executorService.submit(() -> userLockManager.executeWithLock(1L, () -> {
+            holding.countDown();
+            await(finished);
+            return null;
+        }));
+        holding.await();
+        userLockManager.executeWithLock(2L, () -> {
+            finished.countDown();
+            return null;
+        });
+        executorService.shutdown();
+
+        // then
+        Assertions.assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 작성 이유 : 두 유저의 락을 서로 반대 순서로 요청해도 교착 상태 없이 모두 처리되는지 검증
+     * 시나리오 : 쓰레드 10개에서 (1번, 2번) / (2번, 1번) 순서로 번갈아 1000회씩 두 유저의 락 요청
+     */
+    @Test
+    @DisplayName("반대_순서로_두_유저_락_요청시_교착_없음")
+    public void 반대_순서로_두_유저_락_요청시_교착_없음() throws InterruptedException {
+        // given
+        int numThreads = 10;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            long first = i % 2 == 0 ? 1L : 2L;
+            long second = i % 2 == 0 ? 2L : 1L;
+            executorService.submit(() -> {
+                for (int j=0; j<1_000; j++) {
+                    userLockManager.executeWithLocks(first, second, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        return running.decrementAndGet();
+                    });
+                }
+            });
+        }
+        executorService.shutdown();
+
+        // then
+        Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, maxRunning.get());
+        Assertions.assertEquals(0, userLockManager.size());
+    }
+
+    /**
+     * 작성 이유 : 사용이 끝난 유저의 락 엔트리가 정리되어 메모리가 무한히 늘어나지 않는지 검증
+     */
+    @Test
+    @DisplayName("사용이_끝난_락은_정리")
+    public void 사용이_끝난_락은_정리() {
+        // when
+        for (long userId=1; userId<=1000; userId++) {
+            userLockManager.executeWithLock(userId, () -> null);
+        }
+
+        // then
+        Assertions.assertEquals(0, userLockManager.size());
+    }
+
+    /**
+     * 작성 이유 : 임계영역에서 예외가 발생해도 락이 해제되고 엔트리가 정리되는지 검증
+     */
+    @Test
+    @DisplayName("예외_발생시_락_해제")
+    public void 예외_발생시_락_해제() {
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> userLockManager.executeWithLock(1L, () -> {
+            throw new IllegalStateException();
+        }));
+
+        // then
+        Assertions.assertEquals(0, userLockManager.size());
+        Integer result = userLockManager.executeWithLock(1L, () -> 1);
+        Assertions.assertEquals(1, result);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
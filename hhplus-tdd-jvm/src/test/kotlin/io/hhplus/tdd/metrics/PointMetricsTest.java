@@ -0,0 +1,81 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 메트릭 기록의 유닛 테스트이다.
+ * 실제 레지스트리 대신 메모리 기반 SimpleMeterRegistry 를 사용한다.
+ */
+public class PointMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    /**
+     * 작성 이유 : 서비스 기능 성공시 operation, outcome 태그로 지연 시간이 기록되는지 검증
+     */
+    @Test
+    @DisplayName("서비스_성공_기록")
+    public void 서비스_성공_기록() {
+        // when
+        pointMetrics.recordService("point", () -> 1L);
+
+        // then
+        Assertions.assertEquals(1L, meterRegistry.get("point.service").tag("operation", "point").tag("outcome", "success").timer().count());
+    }
+
+    /**
+     * 작성 이유 : CustomException 발생시 ErrorCode 별로 실패 건수가 집계되는지 검증
+     */
+    @Test
+    @DisplayName("ErrorCode_별_실패_집계")
+    public void ErrorCode_별_실패_집계() {
+        // when
+        for (int i=0; i<3; i++) {
+            Assertions.assertThrows(CustomException.class, () -> pointMetrics.recordService("use", () -> {
+                throw new CustomException(ErrorCode.POINT_SHORTAGE);
+            }));
+        }
+
+        // then
+        Assertions.assertEquals(3.0, meterRegistry.get("point.errors").tag("code", "POINT_SHORTAGE").counter().count());
+        Assertions.assertEquals(3L, meterRegistry.get("point.service").tag("outcome", "POINT_SHORTAGE").timer().count());
+    }
+
+    /**
+     * 작성 이유 : table 호출 지연 시간이 table, operation 태그로 기록되는지 검증
+     */
+    @Test
+    @DisplayName("table_호출_기록")
+    public void table_호출_기록() {
+        // when
+        pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> 1L);
+        pointMetrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> 1L);
+
+        // then
+        Assertions.assertEquals(2L, meterRegistry.get("point.table").tag("table", "user_point").tag("operation", "selectById").timer().count());
+    }
+
+    /**
+     * 작성 이유 : 락 대기 시간과 점유 시간이 따로 기록되는지 검증
+     */
+    @Test
+    @DisplayName("락_대기_점유_시간_기록")
+    public void 락_대기_점유_시간_기록() {
+        // given
+        UserLockManager userLockManager = new UserLockManager(pointMetrics);
+
+        // when
+        userLockManager.executeWithLock(1L, () -> null);
+
+        // then
+        Assertions.assertEquals(1L, meterRegistry.get("point.lock.wait").timer().count());
+        Assertions.assertEquals(1L, meterRegistry.get("point.lock.hold").timer().count());
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.support.KeyDistribution;
+import io.hhplus.tdd.support.LoadGenerator;
+import io.hhplus.tdd.support.LoadProfile;
+import io.hhplus.tdd.support.LoadTarget;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * MVC(/point) 와 reactive(/reactive/point) API 의 처리량/지연 시간 비교 벤치마크이다.
+ * 기본 test 태스크에서는 제외되며 ./gradlew benchmark 로 실행한다.
+ * /point 는 기본(서블릿, Tomcat) 애플리케이션에, /reactive/point 는 reactive 프로필(WebFlux, Netty)로 따로 띄운 애플리케이션에 보낸다.
+ * 두 API 에 같은 open model 부하(도착률, 요청 비율, 유저 분포)를 차례로 보낸다.
+ * 서버 요청 쓰레드 수보다 많은 요청이 동시에 처리중인 구간에서 두 방식의 차이를 확인한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PointApiLoadBenchmark {
+
+    private static final double[] RATES = {1_000, 5_000};
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("MVC_reactive_API_처리량_지연_시간_비교")
+    public void MVC_reactive_API_처리량_지연_시간_비교() throws InterruptedException {
+        try (ConfigurableApplicationContext reactiveContext = new SpringApplicationBuilder(TddApplication.class)
+                .profiles("reactive")
+                .properties("server.port=0")
+                .run()) {
+            int reactivePort = Integer.parseInt(reactiveContext.getEnvironment().getProperty("local.server.port"));
+            for (double rate : RATES) {
+                부하_실행(rate, "http://localhost:" + port + "/point", "/point");
+                부하_실행(rate, "http://localhost:" + reactivePort + "/reactive/point", "/reactive/point");
+            }
+        }
+    }
+
+    private void 부하_실행(double rate, String baseUrl, String name) throws InterruptedException {
+        LoadProfile loadProfile = new LoadProfile()
+                .rate(rate)
+                .warmup(2_000)
+                .duration(10_000)
+                .users(10_000, KeyDistribution.Type.ZIPFIAN)
+                .maxConcurrency(1_000);
+
+        new LoadGenerator(loadProfile, LoadTarget.http(baseUrl)).run().print(name);
+    }
+}
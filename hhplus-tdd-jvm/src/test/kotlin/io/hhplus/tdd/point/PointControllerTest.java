@@ -1,10 +1,24 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.converter.PointBinaryFormat;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.PointOperationDto;
+import io.hhplus.tdd.dto.PointOperationResultDto;
+import io.hhplus.tdd.dto.PointStatisticsBucketDto;
+import io.hhplus.tdd.dto.PointStatisticsDto;
+import io.hhplus.tdd.dto.PointTransferResultDto;
 import io.hhplus.tdd.dto.UserPointDto;
 import io.hhplus.tdd.exception.CustomException;
 import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.service.PointHistoryExporter;
 import io.hhplus.tdd.service.PointService;
+import io.hhplus.tdd.statistics.PointStatistics;
+import io.hhplus.tdd.statistics.StatisticsWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -13,14 +27,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -95,15 +114,95 @@ public class PointControllerTest {
         pointHistoryDtos.add(new PointHistoryDto(new PointHistory(3L, userId, TransactionType.USE, 3000L, System.currentTimeMillis())));
 
         // when
-        when(pointService.history(userId)).thenReturn(pointHistoryDtos);
+        when(pointService.history(userId, null, null)).thenReturn(new PointHistoryPageDto(pointHistoryDtos, null));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories")
                         .accept(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$").exists())
-                .andExpect(MockMvcResultMatchers.jsonPath("$").isArray());
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories").exists())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories.length()").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    /**
+     * 작성 이유 : cursor, size 파라미터로 포인트 내역 조회시 다음 cursor 반환 검증
+     */
+    @Test
+    @DisplayName("포인트_내역_페이지_조회_성공할경우")
+    public void 포인트_내역_페이지_조회() throws Exception {
+        // given
+        Long userId = 1L;
+        Long cursor = 3L;
+        Integer size = 2;
+        List<PointHistoryDto> pointHistoryDtos = new ArrayList<>();
+        pointHistoryDtos.add(new PointHistoryDto(new PointHistory(4L, userId, TransactionType.CHARGE, 10000L, System.currentTimeMillis())));
+        pointHistoryDtos.add(new PointHistoryDto(new PointHistory(5L, userId, TransactionType.USE, 2000L, System.currentTimeMillis())));
+
+        // when
+        when(pointService.history(userId, cursor, size)).thenReturn(new PointHistoryPageDto(pointHistoryDtos, 5L));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories")
+                        .param("cursor", String.valueOf(cursor))
+                        .param("size", String.valueOf(size))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.histories[0].id").value(4L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value(5L));
+    }
+
+    /**
+     * 작성 이유 : Accept 헤더에 바이너리 형식을 지정하면 포인트 조회 결과를 바이너리로 응답하는지 검증
+     */
+    @Test
+    @DisplayName("바이너리_형식으로_포인트_조회할경우")
+    public void 바이너리_형식으로_포인트_조회할경우() throws Exception {
+        // given
+        Long id = 1L;
+        UserPointDto userPointDto = new UserPointDto(new UserPoint(id, 10000L, 1_700_000_000_000L));
+
+        // when
+        when(pointService.point(id)).thenReturn(userPointDto);
+
+        // then
+        PointBinaryFormat.Writer writer = PointBinaryFormat.write(userPointDto);
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + id)
+                        .accept(PointBinaryFormat.MEDIA_TYPE))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryFormat.MEDIA_TYPE))
+                .andExpect(content().bytes(Arrays.copyOf(writer.getBuffer(), writer.getSize())));
+    }
+
+    /**
+     * 작성 이유 : Accept 헤더에 바이너리 형식을 지정하면 포인트 내역 페이지를 바이너리로 응답하는지 검증
+     */
+    @Test
+    @DisplayName("바이너리_형식으로_포인트_내역_조회할경우")
+    public void 바이너리_형식으로_포인트_내역_조회할경우() throws Exception {
+        // given
+        Long userId = 1L;
+        List<PointHistoryDto> pointHistoryDtos = new ArrayList<>();
+        pointHistoryDtos.add(new PointHistoryDto(new PointHistory(1L, userId, TransactionType.CHARGE, 10000L, 1_700_000_000_000L)));
+        pointHistoryDtos.add(new PointHistoryDto(new PointHistory(2L, userId, TransactionType.USE, 2000L, 1_700_000_000_100L)));
+        PointHistoryPageDto pointHistoryPageDto = new PointHistoryPageDto(pointHistoryDtos, 2L);
+
+        // when
+        when(pointService.history(userId, null, null)).thenReturn(pointHistoryPageDto);
+
+        // then
+        PointBinaryFormat.Writer writer = PointBinaryFormat.write(pointHistoryPageDto);
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories")
+                        .accept(PointBinaryFormat.MEDIA_TYPE, MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryFormat.MEDIA_TYPE))
+                .andExpect(content().bytes(Arrays.copyOf(writer.getBuffer(), writer.getSize())));
     }
 
     /**
@@ -116,7 +215,7 @@ public class PointControllerTest {
         Long userId = 1L;
 
         // when
-        when(pointService.history(userId)).thenThrow(NullPointerException.class);
+        when(pointService.history(userId, null, null)).thenThrow(NullPointerException.class);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories")
@@ -127,6 +226,55 @@ public class PointControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("에러가 발생했습니다."));
     }
 
+    /**
+     * 작성 이유 : 내역 내보내기시 비동기로 한 줄에 내역 1건씩 NDJSON 응답을 쓰는지 검증
+     */
+    @Test
+    @DisplayName("포인트_내역_내보내기")
+    public void 포인트_내역_내보내기() throws Exception {
+        // given
+        Long userId = 1L;
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), new PointMetrics(new SimpleMeterRegistry()));
+        pointHistoryRepository.insert(userId, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryRepository.insert(userId, 500L, TransactionType.USE, 2L);
+
+        // when
+        when(pointService.exportHistory(userId, null, null))
+                .thenReturn(new PointHistoryExporter(pointHistoryRepository, userId, Long.MIN_VALUE, Long.MAX_VALUE, PointService.EXPORT_CHUNK_SIZE));
+
+        // then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1,\"userId\":1,\"type\":\"CHARGE\",\"amount\":1000,\"timeMillis\":1}\n"
+                        + "{\"id\":2,\"userId\":1,\"type\":\"USE\",\"amount\":500,\"timeMillis\":2}\n"));
+    }
+
+    /**
+     * 작성 이유 : 내보내기 범위가 잘못된 경우 응답을 쓰기 전에 INVALID_PARAMETER 에러를 반환하는지 검증
+     */
+    @Test
+    @DisplayName("잘못된_범위로_포인트_내역_내보내기_실패할경우")
+    public void 잘못된_범위로_포인트_내역_내보내기_실패할경우() throws Exception {
+        // given
+        Long userId = 1L;
+
+        // when
+        when(pointService.exportHistory(userId, 2000L, 1000L)).thenThrow(new CustomException(ErrorCode.INVALID_PARAMETER));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/histories/export")
+                        .param("from", "2000")
+                        .param("to", "1000"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value(ErrorCode.INVALID_PARAMETER.getCode()));
+    }
+
     /**
      * 작성 이유 : 포인트 충전 성공할 경우 결과 검증
      */
@@ -138,7 +286,7 @@ public class PointControllerTest {
         Long amount = 10000L;
 
         // when
-        when(pointService.charge(userId, amount)).thenReturn(new UserPointDto(new UserPoint(userId, amount, System.currentTimeMillis())));
+        when(pointService.charge(userId, amount, null)).thenReturn(new UserPointDto(new UserPoint(userId, amount, System.currentTimeMillis())));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
@@ -162,7 +310,7 @@ public class PointControllerTest {
         Long amount = -10000L;
 
         // when
-        when(pointService.charge(userId, amount)).thenThrow(new CustomException(ErrorCode.INVALID_PARAMETER));
+        when(pointService.charge(userId, amount, null)).thenThrow(new CustomException(ErrorCode.INVALID_PARAMETER));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
@@ -187,7 +335,7 @@ public class PointControllerTest {
         Long usedAmount = 5000L;
 
         // when
-        when(pointService.use(userId, amount)).thenReturn(new UserPointDto(new UserPoint(userId, usedAmount, System.currentTimeMillis())));
+        when(pointService.use(userId, amount, null)).thenReturn(new UserPointDto(new UserPoint(userId, usedAmount, System.currentTimeMillis())));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/use")
@@ -211,7 +359,7 @@ public class PointControllerTest {
         Long amount = 10000L;
 
         // when
-        when(pointService.use(userId, amount)).thenThrow(new CustomException(ErrorCode.POINT_SHORTAGE));
+        when(pointService.use(userId, amount, null)).thenThrow(new CustomException(ErrorCode.POINT_SHORTAGE));
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/use")
@@ -223,4 +371,145 @@ public class PointControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.code").value(ErrorCode.POINT_SHORTAGE.getCode()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.message").value(ErrorCode.POINT_SHORTAGE.getMessage()));
     }
+
+    /**
+     * 작성 이유 : Idempotency-Key 헤더가 서비스로 전달되는지 검증
+     */
+    @Test
+    @DisplayName("멱등키와_함께_포인트_충전_성공할경우")
+    public void 멱등키와_함께_포인트_충전_성공할경우() throws Exception {
+        // given
+        Long userId = 1L;
+        Long amount = 10000L;
+        String idempotencyKey = "charge-1";
+
+        // when
+        when(pointService.charge(userId, amount, idempotencyKey)).thenReturn(new UserPointDto(new UserPoint(userId, amount, System.currentTimeMillis())));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/charge")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .content(String.valueOf(amount))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.point").value(amount));
+    }
+
+    /**
+     * 작성 이유 : 다른 요청에 사용된 멱등 키로 요청할 때 IDEMPOTENCY_KEY_MISMATCH 예외 발생할 경우 결과 검증
+     */
+    @Test
+    @DisplayName("다른_요청에_사용된_멱등키로_포인트_사용_실패할경우")
+    public void 다른_요청에_사용된_멱등키로_포인트_사용_실패할경우() throws Exception {
+        // given
+        Long userId = 1L;
+        Long amount = 10000L;
+        String idempotencyKey = "charge-1";
+
+        // when
+        when(pointService.use(userId, amount, idempotencyKey)).thenThrow(new CustomException(ErrorCode.IDEMPOTENCY_KEY_MISMATCH));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.patch("/point/" + userId + "/use")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .content(String.valueOf(amount))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.code").value(ErrorCode.IDEMPOTENCY_KEY_MISMATCH.getCode()));
+    }
+
+    /**
+     * 작성 이유 : 유저별 통계 조회시 전체 합계와 요청한 구간 단위의 구간별 합계를 반환하는지 검증
+     */
+    @Test
+    @DisplayName("포인트_통계_조회_성공할경우")
+    public void 포인트_통계_조회_성공할경우() throws Exception {
+        // given
+        Long userId = 1L;
+        PointStatistics pointStatistics = new PointStatistics(24, 7, () -> 0L);
+        pointStatistics.record(userId, TransactionType.CHARGE, 1000L, 0L);
+        pointStatistics.record(userId, TransactionType.USE, 300L, 0L);
+        List<PointStatisticsBucketDto> buckets = pointStatistics.buckets(userId, StatisticsWindow.HOUR).stream()
+                .map(PointStatisticsBucketDto::new)
+                .toList();
+
+        // when
+        when(pointService.statistics(userId, StatisticsWindow.HOUR)).thenReturn(new PointStatisticsDto(userId, pointStatistics.total(userId), buckets));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/point/" + userId + "/statistics")
+                        .param("window", "HOUR")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.chargeCount").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.chargeAmount").value(1000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.useAmount").value(300))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.buckets[0].startMillis").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.buckets[0].useCount").value(1));
+    }
+
+    /**
+     * 작성 이유 : 일괄 처리시 건별 결과가 요청 순서대로 반환되는지 검증
+     */
+    @Test
+    @DisplayName("포인트_일괄_처리할경우")
+    public void 포인트_일괄_처리할경우() throws Exception {
+        // given
+        Long userId = 1L;
+        PointOperationDto charge = new PointOperationDto(userId, TransactionType.CHARGE, 10000L);
+        PointOperationDto use = new PointOperationDto(userId, TransactionType.USE, 20000L);
+        List<PointOperationResultDto> results = new ArrayList<>();
+        results.add(PointOperationResultDto.success(charge, new UserPointDto(new UserPoint(userId, 10000L, System.currentTimeMillis()))));
+        results.add(PointOperationResultDto.failure(use, ErrorCode.POINT_SHORTAGE));
+
+        // when
+        when(pointService.bulk(anyList())).thenReturn(results);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/bulk")
+                        .content("[{\"userId\":1,\"type\":\"CHARGE\",\"amount\":10000},{\"userId\":1,\"type\":\"USE\",\"amount\":20000}]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].success").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].point.point").value(10000L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].success").value(false))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].code").value(ErrorCode.POINT_SHORTAGE.getCode()));
+    }
+
+    /**
+     * 작성 이유 : 이체 성공시 보낸 유저와 받은 유저의 포인트가 함께 반환되는지 검증
+     */
+    @Test
+    @DisplayName("포인트_이체_성공할경우")
+    public void 포인트_이체_성공할경우() throws Exception {
+        // given
+        Long fromId = 1L;
+        Long toId = 2L;
+        Long amount = 3000L;
+        PointTransferResultDto pointTransferResultDto = new PointTransferResultDto(
+                new UserPointDto(new UserPoint(fromId, 2000L, System.currentTimeMillis())),
+                new UserPointDto(new UserPoint(toId, 4000L, System.currentTimeMillis())));
+
+        // when
+        when(pointService.transfer(fromId, toId, amount)).thenReturn(pointTransferResultDto);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/point/" + fromId + "/transfer")
+                        .content("{\"toUserId\":2,\"amount\":3000}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.from.id").value(1L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.from.point").value(2000L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.to.id").value(2L))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.to.point").value(4000L));
+    }
 }
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.config.PointReactiveConfig;
+import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * reactive 컨트롤러 계층의 유닛 테스트이다.
+ * reactive 프로필과 같이 WebFlux 환경에서 컨트롤러와 ReactiveApiControllerAdvice 만 띄워 검증한다.
+ */
+@WebFluxTest(ReactivePointController.class)
+@Import(PointReactiveConfig.class)
+public class ReactivePointControllerTest {
+
+    // 가짜 객체 주입
+    @MockBean
+    private PointService pointService;
+
+    // bean 의존성 주입
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * 작성 이유 : 포인트 조회 성공시 결과 검증
+     */
+    @Test
+    @DisplayName("포인트_조회_성공할경우")
+    public void 포인트_조회_성공할경우() {
+        // given
+        Long id = 1L;
+        when(pointService.point(id)).thenReturn(new UserPointDto(new UserPoint(id, 1000L, System.currentTimeMillis())));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get()
+                .uri("/reactive/point/" + id)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        // then
+        responseSpec.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.point").isEqualTo(1000);
+    }
+
+    /**
+     * 작성 이유 : 여러 페이지에 걸친 내역을 다음 cursor 를 따라 모두 조회하여 순서대로 반환하는지 검증
+     */
+    @Test
+    @DisplayName("포인트_내역_전체_조회")
+    public void 포인트_내역_전체_조회() {
+        // given
+        Long userId = 1L;
+        PointHistoryDto first = new PointHistoryDto(new PointHistory(1L, userId, TransactionType.CHARGE, 10000L, System.currentTimeMillis()));
+        PointHistoryDto second = new PointHistoryDto(new PointHistory(2L, userId, TransactionType.USE, 2000L, System.currentTimeMillis()));
+        when(pointService.history(userId, null, PointService.MAX_HISTORY_PAGE_SIZE)).thenReturn(new PointHistoryPageDto(List.of(first), 1L));
+        when(pointService.history(userId, 1L, PointService.MAX_HISTORY_PAGE_SIZE)).thenReturn(new PointHistoryPageDto(List.of(second), null));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.get()
+                .uri("/reactive/point/" + userId + "/histories")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        // then
+        responseSpec.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[1].id").isEqualTo(2);
+    }
+
+    /**
+     * 작성 이유 : 포인트 충전 성공시 결과 검증
+     */
+    @Test
+    @DisplayName("포인트_충전_성공할경우")
+    public void 포인트_충전_성공할경우() {
+        // given
+        Long userId = 1L;
+        Long amount = 10000L;
+        when(pointService.charge(userId, amount, null)).thenReturn(new UserPointDto(new UserPoint(userId, amount, System.currentTimeMillis())));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.patch()
+                .uri("/reactive/point/" + userId + "/charge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(String.valueOf(amount))
+                .exchange();
+
+        // then
+        responseSpec.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.point").isEqualTo(10000);
+    }
+
+    /**
+     * 작성 이유 : 사용할 포인트가 부족할 때 MVC 컨트롤러와 같은 에러 응답을 반환하는지 검증
+     */
+    @Test
+    @DisplayName("사용할_포인트가_부족할때_포인트_사용_실패할경우")
+    public void 사용할_포인트가_부족할때_포인트_사용_실패할경우() {
+        // given
+        Long userId = 1L;
+        Long amount = 10000L;
+        when(pointService.use(userId, amount, null)).thenThrow(new CustomException(ErrorCode.POINT_SHORTAGE));
+
+        // when
+        WebTestClient.ResponseSpec responseSpec = webTestClient.patch()
+                .uri("/reactive/point/" + userId + "/use")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(String.valueOf(amount))
+                .exchange();
+
+        // then
+        responseSpec.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(ErrorCode.POINT_SHORTAGE.getCode());
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 내역 NDJSON 내보내기의 유닛 테스트이다.
+ * 실제 저장소에 내역을 저장하고 내보낸 결과를 검증한다.
+ */
+public class PointHistoryExporterTest {
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 작성 이유 : 여러 chunk 로 나눠 읽어도 유저의 내역이 한 줄에 1건씩 저장 순서대로 모두 내보내지는지 검증
+     * 시나리오 : 1번 유저 25건, 2번 유저 10건 저장 => chunk 10건으로 1번 유저 내보내기
+     */
+    @Test
+    @DisplayName("여러_chunk_로_나눠_모든_내역_내보내기")
+    public void 여러_chunk_로_나눠_모든_내역_내보내기() throws IOException {
+        // given
+        for (int i=0; i<25; i++) {
+            pointHistoryRepository.insert(1L, (long) i, TransactionType.CHARGE, 1000L + i);
+            if (i < 10) {
+                pointHistoryRepository.insert(2L, (long) i, TransactionType.USE, 1000L + i);
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        long exported = new PointHistoryExporter(pointHistoryRepository, 1L, Long.MIN_VALUE, Long.MAX_VALUE, 10).writeTo(outputStream, objectMapper);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.US_ASCII).split("\n");
+        Assertions.assertEquals(25, exported);
+        Assertions.assertEquals(25, lines.length);
+        Assertions.assertEquals("{\"id\":1,\"userId\":1,\"type\":\"CHARGE\",\"amount\":0,\"timeMillis\":1000}", lines[0]);
+        Assertions.assertTrue(lines[24].endsWith("\"amount\":24,\"timeMillis\":1024}"));
+    }
+
+    /**
+     * 작성 이유 : from 이상 to 미만 시각의 내역만 내보내지는지 검증
+     */
+    @Test
+    @DisplayName("시간_범위의_내역만_내보내기")
+    public void 시간_범위의_내역만_내보내기() throws IOException {
+        // given
+        for (int i=0; i<30; i++) {
+            pointHistoryRepository.insert(1L, (long) i, TransactionType.CHARGE, 1000L + i);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        long exported = new PointHistoryExporter(pointHistoryRepository, 1L, 1005L, 1015L, 4).writeTo(outputStream, objectMapper);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.US_ASCII).split("\n");
+        Assertions.assertEquals(10, exported);
+        Assertions.assertTrue(lines[0].endsWith("\"timeMillis\":1005}"));
+        Assertions.assertTrue(lines[9].endsWith("\"timeMillis\":1014}"));
+    }
+
+    /**
+     * 작성 이유 : chunk 마다 응답에 나눠서 쓰는지 검증 (전체를 모은 뒤 한 번에 쓰지 않음)
+     * 시나리오 : 내역 100건을 chunk 10건으로 내보내기 => flush 10회 이상
+     */
+    @Test
+    @DisplayName("chunk_마다_나눠서_쓰기")
+    public void chunk_마다_나눠서_쓰기() throws IOException {
+        // given
+        for (int i=0; i<100; i++) {
+            pointHistoryRepository.insert(1L, (long) i, TransactionType.CHARGE, 1000L + i);
+        }
+        AtomicInteger flushes = new AtomicInteger();
+        OutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // when
+        long exported = new PointHistoryExporter(pointHistoryRepository, 1L, Long.MIN_VALUE, Long.MAX_VALUE, 10).writeTo(outputStream, objectMapper);
+
+        // then
+        Assertions.assertEquals(100, exported);
+        Assertions.assertTrue(flushes.get() >= 10);
+    }
+
+    /**
+     * 작성 이유 : 내역이 없는 유저는 빈 응답을 내보내는지 검증
+     */
+    @Test
+    @DisplayName("내역이_없는_유저_내보내기")
+    public void 내역이_없는_유저_내보내기() throws IOException {
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        long exported = new PointHistoryExporter(pointHistoryRepository, 1L, Long.MIN_VALUE, Long.MAX_VALUE, 10).writeTo(outputStream, objectMapper);
+
+        // then
+        Assertions.assertEquals(0, exported);
+        Assertions.assertEquals(0, outputStream.size());
+    }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.support.KeyDistribution;
+import io.hhplus.tdd.support.LoadGenerator;
+import io.hhplus.tdd.support.LoadProfile;
+import io.hhplus.tdd.support.LoadTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * PointService 에 open model 부하를 주는 벤치마크이다.
+ * 기본 test 태스크에서는 제외되며 ./gradlew benchmark 로 실행한다.
+ * 도착률과 유저 id 분포별로 처리량, 보정된 응답 시간 백분위, ErrorCode 별 실패율을 출력한다.
+ */
+@Tag("benchmark")
+public class PointServiceLoadBenchmark {
+
+    private static final double[] RATES = {10_000, 50_000};
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("도착률_유저_분포별_부하")
+    public void 도착률_유저_분포별_부하() throws InterruptedException {
+        for (KeyDistribution.Type distribution : KeyDistribution.Type.values()) {
+            for (double rate : RATES) {
+                UserPointTable userPointTable = new UserPointTable();
+                PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+                PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+                PointService pointService = new PointService(
+                        new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics),
+                        userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1);
+                LoadProfile loadProfile = new LoadProfile()
+                        .rate(rate)
+                        .poisson(true)
+                        .warmup(2_000)
+                        .duration(10_000)
+                        .users(100_000, distribution);
+
+                new LoadGenerator(loadProfile, LoadTarget.service(pointService)).run().print("service");
+                pointHistoryWriter.close();
+            }
+        }
+    }
+}
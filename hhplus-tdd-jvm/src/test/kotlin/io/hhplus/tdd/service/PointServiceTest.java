@@ -1,25 +1,41 @@
 package io.hhplus.tdd.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryView;
+import io.hhplus.tdd.database.PointHistoryWriter;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.dto.PointHistoryDto;
+import io.hhplus.tdd.dto.PointHistoryPageDto;
+import io.hhplus.tdd.dto.PointOperationDto;
+import io.hhplus.tdd.dto.PointOperationResultDto;
+import io.hhplus.tdd.dto.PointTransferResultDto;
 import io.hhplus.tdd.dto.UserPointDto;
+import io.hhplus.tdd.engine.LockingPointEngine;
 import io.hhplus.tdd.exception.CustomException;
 import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 /**
@@ -33,11 +49,28 @@ public class PointServiceTest {
     private UserPointTable userPointTable;
     // 가짜 객체 주입
     @Mock
-    private PointHistoryTable pointHistoryTable;
-    // table 객체들 주입
-    @InjectMocks
+    private PointHistoryRepository pointHistoryRepository;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+    private final ExecutorService bulkExecutor = Executors.newFixedThreadPool(4);
+    private PointHistoryWriter pointHistoryWriter;
     private PointService pointService;
 
+    // 가짜 객체들과 실제 락 관리자, 내역 저장 파이프라인으로 엔진 및 서비스 생성
+    @BeforeEach
+    public void setUp() {
+        when(pointHistoryRepository.getPointMetrics()).thenReturn(pointMetrics);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        LockingPointEngine pointEngine = new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics);
+        pointService = new PointService(pointEngine, userPointTable, pointHistoryRepository, pointMetrics, bulkExecutor, 4);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+        bulkExecutor.shutdown();
+    }
+
     /**
      * 작성 이유 : 포인트 충전 성공시 결과값 검증
      */
@@ -113,6 +146,57 @@ public class PointServiceTest {
         Assertions.assertEquals(ErrorCode.POINT_SHORTAGE, customException.getErrorCode());
     }
 
+    /**
+     * 작성 이유 : 포인트 이체 성공할 경우 두 유저의 변경된 포인트 검증
+     */
+    @Test
+    @DisplayName("포인트_이체_성공할경우")
+    public void 포인트_이체_성공할경우() {
+        // given
+        Long fromId = 1L;
+        Long toId = 2L;
+        Long amount = 3000L;
+
+        // when
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 5000L, System.currentTimeMillis()));
+        when(userPointTable.selectById(toId)).thenReturn(new UserPoint(toId, 1000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(fromId, 2000L)).thenReturn(new UserPoint(fromId, 2000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(toId, 4000L)).thenReturn(new UserPoint(toId, 4000L, System.currentTimeMillis()));
+        PointTransferResultDto pointTransferResultDto = pointService.transfer(fromId, toId, amount);
+
+        // then
+        Assertions.assertEquals(2000L, pointTransferResultDto.getFrom().getPoint());
+        Assertions.assertEquals(4000L, pointTransferResultDto.getTo().getPoint());
+    }
+
+    /**
+     * 작성 이유 : 자기 자신에게 이체하거나 이체 금액이 0이하일 때 INVALID_PARAMETER 예외 발생할 경우 결과값 검증
+     */
+    @Test
+    @DisplayName("잘못된_이체_요청시_실패할경우")
+    public void 잘못된_이체_요청시_실패할경우() {
+        // when
+        CustomException sameUser = Assertions.assertThrows(CustomException.class, () -> pointService.transfer(1L, 1L, 1000L));
+        CustomException negative = Assertions.assertThrows(CustomException.class, () -> pointService.transfer(1L, 2L, -1000L));
+
+        // then
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, sameUser.getErrorCode());
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, negative.getErrorCode());
+    }
+
+    /**
+     * 작성 이유 : 내보내기 시작 시각이 끝 시각보다 늦을 때 INVALID_PARAMETER 예외 발생할 경우 결과값 검증
+     */
+    @Test
+    @DisplayName("잘못된_범위로_내역_내보내기_실패할경우")
+    public void 잘못된_범위로_내역_내보내기_실패할경우() {
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> pointService.exportHistory(1L, 2000L, 1000L));
+
+        // then
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, customException.getErrorCode());
+    }
+
     /**
      * 작성 이유 : 포인트 조회 성공할 경우 결과 검증
      */
@@ -146,7 +230,7 @@ public class PointServiceTest {
         pointHistoryList.add(new PointHistory(3L, userId, TransactionType.USE, 3000L, System.currentTimeMillis()));
 
         // when
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(pointHistoryList);
+        when(pointHistoryRepository.selectAllByUserId(userId)).thenReturn(pointHistoryList);
         List<PointHistoryDto> pointHistoryDtoList = pointService.history(userId);
 
         // then
@@ -157,4 +241,142 @@ public class PointServiceTest {
             Assertions.assertEquals(pointHistoryList.get(i).getType(), pointHistoryDtoList.get(i).getType());
         }
     }
+
+    /**
+     * 작성 이유 : 다음 페이지가 있을 경우 요청한 size 만큼만 반환하고 마지막 내역 id 를 다음 cursor 로 반환하는지 검증
+     */
+    @Test
+    @DisplayName("포인트_내역_페이지_조회")
+    public void 포인트_내역_페이지_조회() {
+        // given
+        Long userId = 1L;
+        List<PointHistory> pointHistoryList = new ArrayList<>();
+        pointHistoryList.add(new PointHistory(4L, userId, TransactionType.CHARGE, 10000L, System.currentTimeMillis()));
+        pointHistoryList.add(new PointHistory(5L, userId, TransactionType.USE, 2000L, System.currentTimeMillis()));
+        pointHistoryList.add(new PointHistory(6L, userId, TransactionType.USE, 3000L, System.currentTimeMillis()));
+
+        // when
+        givenHistoryPage(userId, 3L, 3, pointHistoryList);
+        PointHistoryPageDto pointHistoryPageDto = pointService.history(userId, 3L, 2);
+
+        // then
+        Assertions.assertEquals(2, pointHistoryPageDto.getHistories().size());
+        Assertions.assertEquals(4L, pointHistoryPageDto.getHistories().get(0).getId());
+        Assertions.assertEquals(5L, pointHistoryPageDto.getNextCursor());
+    }
+
+    /**
+     * 작성 이유 : 마지막 페이지인 경우 다음 cursor 가 없는지 검증
+     */
+    @Test
+    @DisplayName("포인트_내역_마지막_페이지_조회")
+    public void 포인트_내역_마지막_페이지_조회() {
+        // given
+        Long userId = 1L;
+        List<PointHistory> pointHistoryList = new ArrayList<>();
+        pointHistoryList.add(new PointHistory(1L, userId, TransactionType.CHARGE, 10000L, System.currentTimeMillis()));
+
+        // when
+        givenHistoryPage(userId, null, PointService.DEFAULT_HISTORY_PAGE_SIZE + 1, pointHistoryList);
+        PointHistoryPageDto pointHistoryPageDto = pointService.history(userId, null, null);
+
+        // then
+        Assertions.assertEquals(1, pointHistoryPageDto.getHistories().size());
+        Assertions.assertNull(pointHistoryPageDto.getNextCursor());
+    }
+
+    /**
+     * 작성 이유 : 최대 페이지 크기를 초과하여 요청할 경우 INVALID_PARAMETER 예외 발생 검증
+     */
+    @Test
+    @DisplayName("페이지_크기_초과시_포인트_내역_조회_실패할경우")
+    public void 페이지_크기_초과시_포인트_내역_조회_실패할경우() {
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class,
+                () -> pointService.history(1L, null, PointService.MAX_HISTORY_PAGE_SIZE + 1));
+
+        // then
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, customException.getErrorCode());
+    }
+
+    /**
+     * 작성 이유 : 일괄 처리시 한 건의 실패가 다른 건에 영향을 주지 않고 요청 순서대로 건별 결과를 반환하는지 검증
+     * 시나리오 : 1번 유저 충전 성공, 2번 유저 잔고 부족, 3번 유저 0이하 금액
+     */
+    @Test
+    @DisplayName("포인트_일괄_처리시_건별_결과_반환")
+    public void 포인트_일괄_처리시_건별_결과_반환() {
+        // given
+        List<PointOperationDto> operations = new ArrayList<>();
+        operations.add(new PointOperationDto(1L, TransactionType.CHARGE, 10000L));
+        operations.add(new PointOperationDto(2L, TransactionType.USE, 5000L));
+        operations.add(new PointOperationDto(3L, TransactionType.CHARGE, 0L));
+
+        // when
+        when(userPointTable.insertOrUpdate(1L, 10000L)).thenReturn(new UserPoint(1L, 10000L, System.currentTimeMillis()));
+        when(userPointTable.selectById(2L)).thenReturn(new UserPoint(2L, 1000L, System.currentTimeMillis()));
+        List<PointOperationResultDto> results = pointService.bulk(operations);
+
+        // then
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertTrue(results.get(0).isSuccess());
+        Assertions.assertEquals(10000L, results.get(0).getPoint().getPoint());
+        Assertions.assertFalse(results.get(1).isSuccess());
+        Assertions.assertEquals(ErrorCode.POINT_SHORTAGE.getCode(), results.get(1).getCode());
+        Assertions.assertFalse(results.get(2).isSuccess());
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER.getCode(), results.get(2).getCode());
+    }
+
+    /**
+     * 작성 이유 : 일괄 처리 중 예상하지 못한 예외가 발생해도 해당 건만 실패로 반환하고 나머지 건은 처리되는지 검증
+     * 시나리오 : 1번 유저 충전 중 테이블 예외, 2번 유저 충전 성공
+     */
+    @Test
+    @DisplayName("일괄_처리중_예외_발생시_해당_건만_실패")
+    public void 일괄_처리중_예외_발생시_해당_건만_실패() {
+        // given
+        List<PointOperationDto> operations = new ArrayList<>();
+        operations.add(new PointOperationDto(1L, TransactionType.CHARGE, 10000L));
+        operations.add(new PointOperationDto(2L, TransactionType.CHARGE, 5000L));
+
+        // when
+        when(userPointTable.insertOrUpdate(1L, 10000L)).thenThrow(new IllegalStateException("user point write failed"));
+        when(userPointTable.insertOrUpdate(2L, 5000L)).thenReturn(new UserPoint(2L, 5000L, System.currentTimeMillis()));
+        List<PointOperationResultDto> results = pointService.bulk(operations);
+
+        // then
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertFalse(results.get(0).isSuccess());
+        Assertions.assertEquals(ErrorCode.INTERNAL_ERROR.getCode(), results.get(0).getCode());
+        Assertions.assertTrue(results.get(1).isSuccess());
+        Assertions.assertEquals(5000L, results.get(1).getPoint().getPoint());
+    }
+
+    /**
+     * 작성 이유 : 일괄 처리 최대 건수를 초과할 때 INVALID_PARAMETER 예외 발생할 경우 결과 검증
+     */
+    @Test
+    @DisplayName("일괄_처리_최대_건수_초과할경우")
+    public void 일괄_처리_최대_건수_초과할경우() {
+        // given
+        List<PointOperationDto> operations = new ArrayList<>();
+        for (int i=0; i<=PointService.MAX_BULK_SIZE; i++) {
+            operations.add(new PointOperationDto((long) i, TransactionType.CHARGE, 1000L));
+        }
+
+        // when
+        CustomException customException = Assertions.assertThrows(CustomException.class, () -> pointService.bulk(operations));
+
+        // then
+        Assertions.assertEquals(ErrorCode.INVALID_PARAMETER, customException.getErrorCode());
+    }
+
+    // 페이지 조회는 view 를 visitor 로 전달하므로 주어진 내역을 view 로 감싸 전달한다.
+    private void givenHistoryPage(Long userId, Long cursor, int limit, List<PointHistory> pointHistoryList) {
+        when(pointHistoryRepository.visitPageWithSummaryByUserId(eq(userId), eq(cursor), eq(limit), any())).thenAnswer(invocation -> {
+            Consumer<PointHistoryView> visitor = invocation.getArgument(3);
+            pointHistoryList.forEach(pointHistory -> visitor.accept(PointHistoryView.of(pointHistory)));
+            return null;
+        });
+    }
 }
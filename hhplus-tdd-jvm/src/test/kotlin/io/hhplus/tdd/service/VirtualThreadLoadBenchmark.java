@@ -0,0 +1,123 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.LockingPointEngine;
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.lock.UserLockManager;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 플랫폼 쓰레드 풀과 가상 쓰레드의 동시 요청 처리량 비교 벤치마크이다.
+ * 기본 test 태스크에서는 제외되며 Java 21 이상에서 ./gradlew benchmark 로 실행한다.
+ * 플랫폼 쓰레드는 Tomcat 기본 최대 쓰레드 수(200)의 풀을 사용하고,
+ * 테이블 호출에는 블로킹 지연을 넣어 요청이 쓰레드를 점유하는 상황을 흉내낸다.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int[] CONCURRENCY = {200, 1_000, 5_000};
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int USER_COUNT = 10_000;
+    // 테이블 호출 1회당 블로킹 지연
+    private static final long TABLE_LATENCY_MILLIS = 5L;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("동시_요청수에_따른_처리량_비교")
+    public void 동시_요청수에_따른_처리량_비교() throws Exception {
+        System.out.printf("%12s %18s %18s%n", "concurrency", "platform(op/s)", "virtual(op/s)");
+        for (int concurrency : CONCURRENCY) {
+            double platform = run(concurrency, Executors.newFixedThreadPool(PLATFORM_THREADS));
+            double virtual = run(concurrency, newVirtualThreadPerTaskExecutor());
+            System.out.printf("%12d %18.0f %18.0f%n", concurrency, platform, virtual);
+        }
+    }
+
+    // 컴파일 타겟이 17 이므로 Java 21 API 는 리플렉션으로 호출
+    private ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    // 클라이언트 수만큼 동시에 요청을 보내고, 각 클라이언트는 응답을 받은 뒤 다음 요청을 보낸다.
+    private double run(int concurrency, ExecutorService executorService) throws InterruptedException {
+        UserPointTable userPointTable = new SlowUserPointTable();
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(new PointHistoryTable(), pointMetrics);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, 256, 0);
+        PointService pointService = new PointService(
+                new LockingPointEngine(userPointTable, pointHistoryWriter, new UserLockManager(pointMetrics), pointMetrics),
+                userPointTable, pointHistoryRepository, pointMetrics, Runnable::run, 1);
+
+        LongAdder ops = new LongAdder();
+        CountDownLatch latch = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        for (int i=0; i<concurrency; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j=0; j<REQUESTS_PER_CLIENT; j++) {
+                        long userId = random.nextLong(USER_COUNT);
+                        try {
+                            if (random.nextBoolean()) {
+                                pointService.charge(userId, 1000L);
+                            } else {
+                                pointService.use(userId, 100L);
+                            }
+                        } catch (CustomException e) {
+                            // 잔고 부족은 정상 응답으로 처리
+                        }
+                        ops.increment();
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+        pointHistoryWriter.close();
+        return ops.sum() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    private static class SlowUserPointTable extends UserPointTable {
+        @Override
+        public UserPoint selectById(long id) {
+            sleep();
+            return super.selectById(id);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            sleep();
+            return super.insertOrUpdate(id, amount);
+        }
+
+        private static void sleep() {
+            try {
+                Thread.sleep(TABLE_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
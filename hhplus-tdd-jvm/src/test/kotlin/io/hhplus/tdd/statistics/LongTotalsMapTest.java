@@ -0,0 +1,95 @@
+package io.hhplus.tdd.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * long 키 합계 저장소의 유닛 테스트이다.
+ */
+public class LongTotalsMapTest {
+
+    /**
+     * 작성 이유 : 거래 종류별로 건수와 금액이 더해지고, 기록이 없는 유저는 null 로 조회되는지 검증
+     */
+    @Test
+    @DisplayName("합계_기록후_조회")
+    public void 합계_기록후_조회() {
+        // given
+        LongTotalsMap longTotalsMap = new LongTotalsMap(2);
+
+        // when
+        longTotalsMap.add(1L, 0, 1000L);
+        longTotalsMap.add(1L, 0, 2000L);
+        longTotalsMap.add(1L, 1, 300L);
+        longTotalsMap.add(0L, 1, 500L);
+
+        // then
+        Assertions.assertArrayEquals(new long[]{2L, 3000L, 1L, 300L}, longTotalsMap.get(1L));
+        Assertions.assertArrayEquals(new long[]{0L, 0L, 1L, 500L}, longTotalsMap.get(0L));
+        Assertions.assertNull(longTotalsMap.get(2L));
+        Assertions.assertEquals(2, longTotalsMap.size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> longTotalsMap.add(1L, 2, 100L));
+    }
+
+    /**
+     * 작성 이유 : 크기 확장 이후에도 모든 유저의 합계가 유지되는지 검증
+     * 시나리오 : 유저 10만 명 기록 => 모든 유저 조회
+     */
+    @Test
+    @DisplayName("크기_확장후_합계_유지")
+    public void 크기_확장후_합계_유지() {
+        // given
+        LongTotalsMap longTotalsMap = new LongTotalsMap(2);
+        int users = 100_000;
+
+        // when
+        for (int i=1; i<=users; i++) {
+            longTotalsMap.add(i, 0, i);
+        }
+
+        // then
+        Assertions.assertEquals(users, longTotalsMap.size());
+        for (int i=1; i<=users; i++) {
+            Assertions.assertEquals(i, longTotalsMap.get(i)[1]);
+        }
+    }
+
+    /**
+     * 작성 이유 : 여러 쓰레드에서 같은 유저에 동시에 기록해도 건수와 금액이 누락되지 않는지 검증
+     * 시나리오 : 쓰레드 8개에서 유저 100명에게 각각 1000번씩 1원 기록
+     */
+    @Test
+    @DisplayName("동시_기록")
+    public void 동시_기록() throws InterruptedException {
+        // given
+        LongTotalsMap longTotalsMap = new LongTotalsMap(2);
+        int numThreads = 8;
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int j=0; j<100_000; j++) {
+                        longTotalsMap.add(j % 100, 0, 1L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        executorService.shutdown();
+        latch.await();
+
+        // then
+        for (long userId=0; userId<100; userId++) {
+            Assertions.assertArrayEquals(new long[]{8_000L, 8_000L, 0L, 0L}, longTotalsMap.get(userId));
+        }
+    }
+}
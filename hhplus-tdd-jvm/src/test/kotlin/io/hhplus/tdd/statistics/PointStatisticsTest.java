@@ -0,0 +1,170 @@
+package io.hhplus.tdd.statistics;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 유저별 충전/사용 통계의 유닛 테스트이다.
+ */
+public class PointStatisticsTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final AtomicLong now = new AtomicLong(DAY * 100);
+    private final PointStatistics pointStatistics = new PointStatistics(24, 7, now::get);
+
+    /**
+     * 작성 이유 : 거래 종류별 건수와 금액 합계가 유저별로 집계되는지 검증
+     * 시나리오 : 1번 유저 1000원, 2000원 충전 / 300원 사용, 2번 유저 500원 충전
+     */
+    @Test
+    @DisplayName("유저별_전체_합계_조회")
+    public void 유저별_전체_합계_조회() {
+        // given
+        pointStatistics.record(1L, TransactionType.CHARGE, 1000L, now.get());
+        pointStatistics.record(1L, TransactionType.CHARGE, 2000L, now.get());
+        pointStatistics.record(1L, TransactionType.USE, 300L, now.get());
+        pointStatistics.record(2L, TransactionType.CHARGE, 500L, now.get());
+
+        // when
+        PointStatistics.Totals total = pointStatistics.total(1L);
+
+        // then
+        Assertions.assertEquals(2, total.getCount(TransactionType.CHARGE));
+        Assertions.assertEquals(3000L, total.getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(1, total.getCount(TransactionType.USE));
+        Assertions.assertEquals(300L, total.getAmount(TransactionType.USE));
+        Assertions.assertEquals(500L, pointStatistics.total(2L).getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(0, pointStatistics.total(3L).getCount(TransactionType.CHARGE));
+    }
+
+    /**
+     * 작성 이유 : 시간/일 단위 구간별 합계가 구간 시작 시각과 함께 오래된 순서로 조회되는지 검증
+     * 시나리오 : 2시간 전 1000원 충전, 1시간 전 200원 사용, 현재 300원 사용
+     */
+    @Test
+    @DisplayName("구간별_합계_조회")
+    public void 구간별_합계_조회() {
+        // given
+        long current = now.get();
+        pointStatistics.record(1L, TransactionType.CHARGE, 1000L, current - 2 * HOUR);
+        pointStatistics.record(1L, TransactionType.USE, 200L, current - HOUR);
+        pointStatistics.record(1L, TransactionType.USE, 300L, current);
+
+        // when
+        List<PointStatistics.Totals> hours = pointStatistics.buckets(1L, StatisticsWindow.HOUR);
+        List<PointStatistics.Totals> days = pointStatistics.buckets(1L, StatisticsWindow.DAY);
+
+        // then
+        Assertions.assertEquals(3, hours.size());
+        Assertions.assertEquals(current - 2 * HOUR, hours.get(0).getStartMillis());
+        Assertions.assertEquals(1000L, hours.get(0).getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(200L, hours.get(1).getAmount(TransactionType.USE));
+        Assertions.assertEquals(300L, hours.get(2).getAmount(TransactionType.USE));
+        // 현재 시각이 자정이므로 2시간 전, 1시간 전은 전날 구간
+        Assertions.assertEquals(2, days.size());
+        Assertions.assertEquals(1000L, days.get(0).getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(200L, days.get(0).getAmount(TransactionType.USE));
+        Assertions.assertEquals(1, days.get(1).getCount(TransactionType.USE));
+        Assertions.assertEquals(300L, days.get(1).getAmount(TransactionType.USE));
+    }
+
+    /**
+     * 작성 이유 : 유지하는 구간 수를 넘긴 구간은 조회되지 않고, 그 칸이 새 구간으로 재사용되는지 검증
+     * 시나리오 : 현재 1000원 충전 => 24시간 경과 => 500원 충전 => 보관 범위를 벗어난 시각의 충전 기록
+     */
+    @Test
+    @DisplayName("지난_구간은_제외하고_칸_재사용")
+    public void 지난_구간은_제외하고_칸_재사용() {
+        // given
+        long start = now.get();
+        pointStatistics.record(1L, TransactionType.CHARGE, 1000L, start);
+
+        // when
+        now.addAndGet(24 * HOUR);
+        List<PointStatistics.Totals> expired = pointStatistics.buckets(1L, StatisticsWindow.HOUR);
+        pointStatistics.record(1L, TransactionType.CHARGE, 500L, now.get());
+        pointStatistics.record(1L, TransactionType.CHARGE, 700L, start);
+        List<PointStatistics.Totals> reused = pointStatistics.buckets(1L, StatisticsWindow.HOUR);
+
+        // then
+        Assertions.assertTrue(expired.isEmpty());
+        Assertions.assertEquals(1, reused.size());
+        Assertions.assertEquals(500L, reused.get(0).getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(2200L, pointStatistics.total(1L).getAmount(TransactionType.CHARGE));
+    }
+
+    /**
+     * 작성 이유 : 기록/조회가 없는 유저의 구간별 합계는 만료되어 메모리에서 제거되고, 전체 합계는 유지되는지 검증
+     * 시나리오 : 만료 시간 1일 - 1번, 2번 유저 충전 => 12시간 후 1번 유저 조회 => 다시 12시간 후 2번 유저 구간별 합계만 만료 => 2번 유저 500원 충전
+     */
+    @Test
+    @DisplayName("기록_조회가_없으면_구간별_합계만_만료")
+    public void 기록_조회가_없으면_구간별_합계만_만료() {
+        // given
+        PointStatistics expiringStatistics = new PointStatistics(24, 7, PointStatistics.DEFAULT_MAXIMUM_SIZE, DAY, now::get);
+        expiringStatistics.record(1L, TransactionType.CHARGE, 1000L, now.get());
+        expiringStatistics.record(2L, TransactionType.CHARGE, 2000L, now.get());
+
+        // when
+        now.addAndGet(12 * HOUR);
+        expiringStatistics.buckets(1L, StatisticsWindow.DAY);
+        now.addAndGet(12 * HOUR);
+        expiringStatistics.cleanUp();
+        long bucketUserCount = expiringStatistics.bucketUserCount();
+        expiringStatistics.record(2L, TransactionType.CHARGE, 500L, now.get());
+        List<PointStatistics.Totals> days = expiringStatistics.buckets(2L, StatisticsWindow.DAY);
+
+        // then
+        Assertions.assertEquals(1L, bucketUserCount);
+        Assertions.assertEquals(2L, expiringStatistics.userCount());
+        Assertions.assertEquals(1000L, expiringStatistics.total(1L).getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(2, expiringStatistics.total(2L).getCount(TransactionType.CHARGE));
+        Assertions.assertEquals(2500L, expiringStatistics.total(2L).getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(1, days.size());
+        Assertions.assertEquals(500L, days.get(0).getAmount(TransactionType.CHARGE));
+    }
+
+    /**
+     * 작성 이유 : 같은 유저에 동시에 기록해도 건수와 금액이 누락되지 않는지 검증
+     * 시나리오 : 쓰레드 8개가 1번 유저에 1원 충전을 각 10000회 기록
+     */
+    @Test
+    @DisplayName("동시_기록")
+    public void 동시_기록() throws InterruptedException {
+        // given
+        int numThreads = 8;
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        // when
+        for (int i=0; i<numThreads; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int j=0; j<10_000; j++) {
+                        pointStatistics.record(1L, TransactionType.CHARGE, 1L, now.get());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        Assertions.assertEquals(80_000, pointStatistics.total(1L).getCount(TransactionType.CHARGE));
+        Assertions.assertEquals(80_000L, pointStatistics.total(1L).getAmount(TransactionType.CHARGE));
+        Assertions.assertEquals(80_000L, pointStatistics.buckets(1L, StatisticsWindow.HOUR).get(0).getAmount(TransactionType.CHARGE));
+    }
+}
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.support;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 테스트와 벤치마크에서 사용할 유저 id 분포.
+ * - UNIFORM : 모든 유저가 같은 확률
+ * - ZIPFIAN : 소수의 hot key 에 요청이 몰리는 분포 (YCSB 의 ZipfianGenerator 방식)
+ * 생성 후에는 상태가 없으므로 여러 쓰레드에서 공유해도 된다.
+ */
+public abstract class KeyDistribution {
+
+    public static final double DEFAULT_ZIPFIAN_THETA = 0.99;
+
+    public enum Type {
+        UNIFORM, ZIPFIAN
+    }
+
+    // 0 이상 keyCount 미만의 유저 id 반환
+    public abstract long next();
+
+    public static KeyDistribution of(Type type, long keyCount) {
+        return type == Type.UNIFORM ? uniform(keyCount) : zipfian(keyCount, DEFAULT_ZIPFIAN_THETA);
+    }
+
+    public static KeyDistribution uniform(long keyCount) {
+        return new KeyDistribution() {
+            @Override
+            public long next() {
+                return ThreadLocalRandom.current().nextLong(keyCount);
+            }
+        };
+    }
+
+    public static KeyDistribution zipfian(long keyCount, double theta) {
+        return new Zipfian(keyCount, theta);
+    }
+
+    private static class Zipfian extends KeyDistribution {
+        private final long keyCount;
+        private final double theta;
+        private final double alpha;
+        private final double zetan;
+        private final double eta;
+
+        private Zipfian(long keyCount, double theta) {
+            this.keyCount = keyCount;
+            this.theta = theta;
+            this.alpha = 1.0 / (1.0 - theta);
+            this.zetan = zeta(keyCount, theta);
+            this.eta = (1 - Math.pow(2.0 / keyCount, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+        }
+
+        @Override
+        public long next() {
+            double u = ThreadLocalRandom.current().nextDouble();
+            double uz = u * zetan;
+            if (uz < 1.0) {
+                return 0;
+            }
+            if (uz < 1.0 + Math.pow(0.5, theta)) {
+                return Math.min(1, keyCount - 1);
+            }
+            return Math.min((long) (keyCount * Math.pow(eta * u - eta + 1, alpha)), keyCount - 1);
+        }
+
+        private static double zeta(long n, double theta) {
+            double sum = 0;
+            for (long i=1; i<=n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.support;
+
+import io.hhplus.tdd.exception.CustomException;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * open model 부하 발생기.
+ * 요청마다 보낼 시각을 도착률로 미리 정해두고, 이전 요청의 응답과 무관하게 그 시각에 요청을 보낸다.
+ * 응답 시간은 실제로 보낸 시각이 아닌 보내기로 한 시각부터 측정하므로,
+ * 대상이 느려져 요청이 밀리는 동안의 대기 시간도 포함된다 (coordinated omission 보정).
+ * 대기 시간을 뺀 처리 시간(service time)도 함께 기록하여 비교할 수 있게 한다.
+ */
+public class LoadGenerator {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private LoadProfile profile;
+    private LoadTarget target;
+
+    public LoadGenerator(LoadProfile profile, LoadTarget target) {
+        this.profile = profile;
+        this.target = target;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        Recorder responseTime = new Recorder(3);
+        Recorder serviceTime = new Recorder(3);
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        LongAdder sent = new LongAdder();
+        LongAdder completed = new LongAdder();
+        LongAccumulator lastCompletion = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        KeyDistribution keys = KeyDistribution.of(profile.getDistribution(), profile.getUserCount());
+        ExecutorService workers = newWorkers(profile.getMaxConcurrency());
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(profile.getWarmupMillis());
+        long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(profile.getDurationMillis());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.getRatePerSecond();
+        double intended = start;
+        while (intended < end) {
+            long scheduled = (long) intended;
+            waitUntil(scheduled);
+            LoadProfile.Operation operation = profile.nextOperation();
+            long userId = keys.next();
+            boolean measured = scheduled >= measureFrom;
+            if (measured) {
+                sent.increment();
+            }
+            workers.execute(() -> {
+                long actualStart = System.nanoTime();
+                String error = call(operation, userId);
+                long done = System.nanoTime();
+                if (measured) {
+                    responseTime.recordValue(done - scheduled);
+                    serviceTime.recordValue(done - actualStart);
+                    completed.increment();
+                    lastCompletion.accumulate(done);
+                    if (error != null) {
+                        errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+                    }
+                }
+            });
+            intended += profile.isPoisson()
+                    ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+
+        long elapsed = Math.max(end, lastCompletion.get()) - measureFrom;
+        return new LoadReport(profile, sent.sum(), completed.sum(), elapsed,
+                responseTime.getIntervalHistogram(), serviceTime.getIntervalHistogram(), errors);
+    }
+
+    // 실패한 요청은 ErrorCode 또는 예외 이름을 반환
+    private String call(LoadProfile.Operation operation, long userId) {
+        try {
+            target.execute(operation, userId, profile.amountOf(operation));
+            return null;
+        } catch (CustomException e) {
+            return e.getErrorCode().name();
+        } catch (LoadTarget.UnexpectedStatusException e) {
+            return "HTTP_" + e.getStatus();
+        } catch (Exception e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    // 보낼 시각까지 대기, 시각이 지났으면 바로 반환하여 밀린 요청을 따라잡는다.
+    private static void waitUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            if (remaining > TimeUnit.MICROSECONDS.toNanos(100)) {
+                LockSupport.parkNanos(remaining - TimeUnit.MICROSECONDS.toNanos(50));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    // 쓰레드 생성 시간이 처음 요청들의 지연 시간에 포함되지 않도록 미리 생성
+    private static ExecutorService newWorkers(int maxConcurrency) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "load-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.prestartAllCoreThreads();
+        return workers;
+    }
+}
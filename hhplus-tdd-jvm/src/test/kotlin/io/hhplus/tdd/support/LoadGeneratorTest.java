@@ -0,0 +1,84 @@
+package io.hhplus.tdd.support;
+
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 부하 발생기의 유닛 테스트이다.
+ * 실제 서비스 대신 지연/실패를 직접 만드는 대상으로 1초 이내만 실행한다.
+ */
+public class LoadGeneratorTest {
+
+    /**
+     * 작성 이유 : 응답과 무관하게 설정한 도착률만큼 요청을 보내는지 검증
+     */
+    @Test
+    @DisplayName("설정한_도착률로_요청")
+    public void 설정한_도착률로_요청() throws InterruptedException {
+        // given
+        LoadProfile loadProfile = new LoadProfile().rate(2000).duration(1000);
+
+        // when
+        LoadReport loadReport = new LoadGenerator(loadProfile, (operation, userId, amount) -> {}).run();
+
+        // then
+        Assertions.assertEquals(2000, loadReport.getSent(), 20);
+        Assertions.assertEquals(loadReport.getSent(), loadReport.getCompleted());
+        Assertions.assertEquals(0, loadReport.errorCount());
+    }
+
+    /**
+     * 작성 이유 : 대상이 멈춘 동안 밀린 요청의 대기 시간이 응답 시간에 포함되는지 검증 (coordinated omission 보정)
+     * 시나리오 : 동시 처리 1건, 초당 100건 요청 중 첫 요청이 300ms 지연 => 이후 약 30건이 밀림
+     */
+    @Test
+    @DisplayName("밀린_요청의_대기_시간_포함")
+    public void 밀린_요청의_대기_시간_포함() throws InterruptedException {
+        // given
+        AtomicBoolean stalled = new AtomicBoolean();
+        LoadProfile loadProfile = new LoadProfile().rate(100).duration(1000).maxConcurrency(1);
+
+        // when
+        LoadReport loadReport = new LoadGenerator(loadProfile, (operation, userId, amount) -> {
+            if (stalled.compareAndSet(false, true)) {
+                Thread.sleep(300);
+            }
+        }).run();
+
+        // then
+        Assertions.assertTrue(loadReport.responseTimeAt(90) >= TimeUnit.MILLISECONDS.toNanos(100));
+        Assertions.assertTrue(loadReport.serviceTimeAt(90) < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    /**
+     * 작성 이유 : 실패한 요청이 ErrorCode 별로 집계되는지 검증
+     * 시나리오 : 충전은 성공, 사용은 항상 잔고 부족으로 실패 (비율 1 : 1)
+     */
+    @Test
+    @DisplayName("ErrorCode별_실패_집계")
+    public void ErrorCode별_실패_집계() throws InterruptedException {
+        // given
+        LoadProfile loadProfile = new LoadProfile()
+                .mix(Map.of(LoadProfile.Operation.CHARGE, 1, LoadProfile.Operation.USE, 1))
+                .rate(1000)
+                .duration(500);
+
+        // when
+        LoadReport loadReport = new LoadGenerator(loadProfile, (operation, userId, amount) -> {
+            if (operation == LoadProfile.Operation.USE) {
+                throw new CustomException(ErrorCode.POINT_SHORTAGE);
+            }
+        }).run();
+
+        // then
+        Assertions.assertEquals(loadReport.errorCount(), loadReport.getErrors().get(ErrorCode.POINT_SHORTAGE.name()));
+        Assertions.assertEquals(0.5, loadReport.errorRate(ErrorCode.POINT_SHORTAGE.name()), 0.1);
+    }
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.support;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 부하 발생기 설정.
+ * - 요청 비율(mix) : 기능별 가중치
+ * - 도착률(ratePerSecond) : 응답과 무관하게 초당 보낼 요청 수 (open model), poisson 이면 도착 간격이 지수 분포
+ * - 유저 수와 id 분포(userCount, distribution)
+ * warmupMillis 동안 보낸 요청은 결과에서 제외한다.
+ */
+public class LoadProfile {
+
+    public enum Operation {
+        CHARGE, USE, POINT, HISTORY
+    }
+
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private double ratePerSecond = 1000;
+    private boolean poisson = false;
+    private long warmupMillis = 0;
+    private long durationMillis = 10_000;
+    private long userCount = 10_000;
+    private KeyDistribution.Type distribution = KeyDistribution.Type.UNIFORM;
+    private long chargeAmount = 1000;
+    private long useAmount = 100;
+    private int maxConcurrency = 256;
+
+    private Operation[] operations;
+    private int[] cumulativeWeights;
+
+    // 기본 비율 충전 : 사용 : 조회 : 내역 조회 = 1 : 1 : 2 : 1
+    public LoadProfile() {
+        mix.put(Operation.CHARGE, 1);
+        mix.put(Operation.USE, 1);
+        mix.put(Operation.POINT, 2);
+        mix.put(Operation.HISTORY, 1);
+    }
+
+    // 지정한 기능만 주어진 가중치로 요청
+    public LoadProfile mix(Map<Operation, Integer> weights) {
+        mix.clear();
+        mix.putAll(weights);
+        operations = null;
+        return this;
+    }
+
+    public LoadProfile rate(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+        return this;
+    }
+
+    public LoadProfile poisson(boolean poisson) {
+        this.poisson = poisson;
+        return this;
+    }
+
+    public LoadProfile warmup(long warmupMillis) {
+        this.warmupMillis = warmupMillis;
+        return this;
+    }
+
+    public LoadProfile duration(long durationMillis) {
+        this.durationMillis = durationMillis;
+        return this;
+    }
+
+    public LoadProfile users(long userCount, KeyDistribution.Type distribution) {
+        this.userCount = userCount;
+        this.distribution = distribution;
+        return this;
+    }
+
+    public LoadProfile amounts(long chargeAmount, long useAmount) {
+        this.chargeAmount = chargeAmount;
+        this.useAmount = useAmount;
+        return this;
+    }
+
+    // 동시에 처리중인 요청 수 상한, 넘는 요청은 대기하며 대기 시간도 지연 시간에 포함된다.
+    public LoadProfile maxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public boolean isPoisson() {
+        return poisson;
+    }
+
+    public long getWarmupMillis() {
+        return warmupMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getUserCount() {
+        return userCount;
+    }
+
+    public KeyDistribution.Type getDistribution() {
+        return distribution;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public long amountOf(Operation operation) {
+        return operation == Operation.CHARGE ? chargeAmount : useAmount;
+    }
+
+    // 가중치 비율에 따라 다음 요청할 기능 반환, 발생기의 단일 쓰레드에서만 호출
+    public Operation nextOperation() {
+        if (operations == null) {
+            operations = mix.keySet().toArray(new Operation[0]);
+            cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i=0; i<operations.length; i++) {
+                sum += mix.get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i=0; i<operations.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rate=%.0f/s%s users=%d(%s) mix=%s duration=%dms concurrency=%d",
+                ratePerSecond, poisson ? "(poisson)" : "", userCount, distribution, mix, durationMillis, maxConcurrency);
+    }
+}
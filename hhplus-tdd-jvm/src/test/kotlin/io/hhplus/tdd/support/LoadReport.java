@@ -0,0 +1,83 @@
+package io.hhplus.tdd.support;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 발생 결과.
+ * 응답 시간(responseTime)은 coordinated omission 이 보정된 값이고, 처리 시간(serviceTime)은 실제 보낸 시각부터의 값이다.
+ * 시간 단위는 nanosecond 이다.
+ */
+public class LoadReport {
+
+    private LoadProfile profile;
+    private long sent;
+    private long completed;
+    private long elapsedNanos;
+    private Histogram responseTime;
+    private Histogram serviceTime;
+    private Map<String, Long> errors = new TreeMap<>();
+
+    public LoadReport(LoadProfile profile, long sent, long completed, long elapsedNanos,
+                      Histogram responseTime, Histogram serviceTime, Map<String, LongAdder> errors) {
+        this.profile = profile;
+        this.sent = sent;
+        this.completed = completed;
+        this.elapsedNanos = elapsedNanos;
+        this.responseTime = responseTime;
+        this.serviceTime = serviceTime;
+        errors.forEach((error, count) -> this.errors.put(error, count.sum()));
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public double throughput() {
+        return elapsedNanos <= 0 ? 0.0 : completed * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public long responseTimeAt(double percentile) {
+        return responseTime.getValueAtPercentile(percentile);
+    }
+
+    public long serviceTimeAt(double percentile) {
+        return serviceTime.getValueAtPercentile(percentile);
+    }
+
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+
+    public long errorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // 전체 완료 요청 중 해당 ErrorCode(또는 예외 이름)로 실패한 비율
+    public double errorRate(String error) {
+        return completed == 0 ? 0.0 : errors.getOrDefault(error, 0L) / (double) completed;
+    }
+
+    public void print(String label) {
+        System.out.printf("[%s] %s%n", label, profile);
+        System.out.printf("  sent %d, completed %d, throughput %.1f req/s%n", sent, completed, throughput());
+        System.out.printf("  %-14s %10s %10s %10s %10s%n", "latency(ms)", "p50", "p99", "p999", "max");
+        System.out.printf("  %-14s %10.2f %10.2f %10.2f %10.2f%n", "response",
+                millis(responseTimeAt(50)), millis(responseTimeAt(99)), millis(responseTimeAt(99.9)), millis(responseTime.getMaxValue()));
+        System.out.printf("  %-14s %10.2f %10.2f %10.2f %10.2f%n", "service",
+                millis(serviceTimeAt(50)), millis(serviceTimeAt(99)), millis(serviceTimeAt(99.9)), millis(serviceTime.getMaxValue()));
+        errors.forEach((error, count) -> System.out.printf("  error %-20s %8d (%.2f%%)%n", error, count, errorRate(error) * 100));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
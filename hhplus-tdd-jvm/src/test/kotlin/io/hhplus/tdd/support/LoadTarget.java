@@ -0,0 +1,102 @@
+package io.hhplus.tdd.support;
+
+import io.hhplus.tdd.exception.CustomException;
+import io.hhplus.tdd.exception.ErrorCode;
+import io.hhplus.tdd.service.PointService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 발생기가 요청을 보내는 대상.
+ * 실패는 예외로 알리며, ErrorCode 가 있는 실패는 CustomException 으로 던져 ErrorCode 별로 집계되도록 한다.
+ */
+@FunctionalInterface
+public interface LoadTarget {
+
+    void execute(LoadProfile.Operation operation, long userId, long amount) throws Exception;
+
+    static LoadTarget service(PointService pointService) {
+        return (operation, userId, amount) -> {
+            switch (operation) {
+                case CHARGE -> pointService.charge(userId, amount);
+                case USE -> pointService.use(userId, amount);
+                case POINT -> pointService.point(userId);
+                case HISTORY -> pointService.history(userId, null, null);
+            }
+        };
+    }
+
+    // baseUrl 예) http://localhost:8080/point
+    static LoadTarget http(String baseUrl) {
+        return new Http(baseUrl);
+    }
+
+    class Http implements LoadTarget {
+        private static final Pattern CODE = Pattern.compile("\"code\"\\s*:\\s*\"?(\\w+)\"?");
+
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final String baseUrl;
+
+        private Http(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        @Override
+        public void execute(LoadProfile.Operation operation, long userId, long amount) throws Exception {
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30));
+            HttpRequest request = switch (operation) {
+                case CHARGE -> builder.uri(URI.create(baseUrl + "/" + userId + "/charge"))
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount))).build();
+                case USE -> builder.uri(URI.create(baseUrl + "/" + userId + "/use"))
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount))).build();
+                case POINT -> builder.uri(URI.create(baseUrl + "/" + userId)).GET().build();
+                case HISTORY -> builder.uri(URI.create(baseUrl + "/" + userId + "/histories")).GET().build();
+            };
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                return;
+            }
+            ErrorCode errorCode = errorCodeOf(response.body());
+            if (errorCode != null) {
+                throw new CustomException(errorCode);
+            }
+            throw new UnexpectedStatusException(response.statusCode());
+        }
+
+        private static ErrorCode errorCodeOf(String body) {
+            Matcher matcher = CODE.matcher(body == null ? "" : body);
+            if (!matcher.find()) {
+                return null;
+            }
+            for (ErrorCode errorCode : ErrorCode.values()) {
+                if (errorCode.getCode().equals(matcher.group(1))) {
+                    return errorCode;
+                }
+            }
+            return null;
+        }
+    }
+
+    class UnexpectedStatusException extends RuntimeException {
+        private final int status;
+
+        public UnexpectedStatusException(int status) {
+            super("HTTP " + status);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}